@@ -0,0 +1,36 @@
+package com.br.code.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Ponto de entrada do {@code benchmarks.jar}.
+ * <p>
+ * Aceita as mesmas opções do JMH e completa o que não foi informado:
+ * resultado em JSON ({@code jmh-result.json}, para comparar entre commits),
+ * profiler {@code gc} (taxa de alocação) e a Vector API habilitada nos forks.
+ */
+public class BenchmarkRunner {
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        ChainedOptionsBuilder opts = new OptionsBuilder()
+                .parent(cli)
+                .addProfiler(GCProfiler.class)
+                .jvmArgsAppend("--add-modules", "jdk.incubator.vector");
+
+        if (cli.getIncludes().isEmpty()) opts.include("com\\.br\\.code\\.benchmark\\..*");
+        if (!cli.getResultFormat().hasValue()) opts.resultFormat(ResultFormatType.JSON);
+        if (!cli.getResult().hasValue()) opts.result("jmh-result.json");
+        if (!cli.getForkCount().hasValue()) opts.forks(1);
+        if (!cli.getWarmupIterations().hasValue()) opts.warmupIterations(3);
+        if (!cli.getMeasurementIterations().hasValue()) opts.measurementIterations(5);
+
+        new Runner(opts.build()).run();
+    }
+}
@@ -0,0 +1,84 @@
+package com.br.code.benchmark;
+
+import com.br.code.simulation.RandomKernels;
+import com.br.code.util.MathUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo por chamada dos kernels de {@link MathUtils} e por lote dos
+ * {@link RandomKernels} (escalar x melhor disponível).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class MathKernelsBenchmark {
+
+    private static final int LOTE = 4_096;
+
+    private SplittableRandom rng;
+    private double z;
+    private long[] estados;
+    private double[] destino;
+    private RandomKernels escalar;
+    private RandomKernels melhor;
+
+    /** Só dos benchmarks de maior lance entre N: os demais não se repetem por número de concorrentes. */
+    @State(Scope.Thread)
+    public static class Concorrencia {
+        @Param({"0", "20"})
+        public int concorrentes;
+    }
+
+    @Setup
+    public void preparar() {
+        rng = new SplittableRandom(42);
+        z = 0.37;
+        estados = new long[LOTE];
+        for (int i = 0; i < LOTE; i++) estados[i] = rng.nextLong();
+        destino = new double[LOTE];
+        escalar = RandomKernels.escalar();
+        melhor = RandomKernels.melhorDisponivel();
+    }
+
+    @Benchmark
+    public double normalCDF() {
+        return MathUtils.normalCDF(z);
+    }
+
+    @Benchmark
+    public double simularLanceConcorrente() {
+        return MathUtils.simularLanceConcorrente(rng);
+    }
+
+    @Benchmark
+    public double simularMaiorLanceConcorrente(Concorrencia c) {
+        return MathUtils.simularMaiorLanceConcorrente(rng, c.concorrentes);
+    }
+
+    @Benchmark
+    public double gerarLanceBimodal() {
+        return MathUtils.gerarLanceBimodal(rng);
+    }
+
+    @Benchmark
+    public double gerarMaiorLanceBimodal(Concorrencia c) {
+        return MathUtils.gerarMaiorLanceBimodal(rng, c.concorrentes, 0.15);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public double[] normaisEmLoteEscalar() {
+        escalar.preencherNormais(estados, destino, LOTE);
+        return destino;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public double[] normaisEmLoteMelhorDisponivel() {
+        melhor.preencherNormais(estados, destino, LOTE);
+        return destino;
+    }
+}
@@ -0,0 +1,45 @@
+package com.br.code.benchmark;
+
+import com.br.code.model.CenarioProjecao;
+import com.br.code.service.ProjectionEngine;
+import com.br.code.service.ProjectionSeries;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Uma passada do {@link ProjectionEngine} pelo plano inteiro (84 parcelas),
+ * com os cenários padrão e com dezenas de cenários extras.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class ProjectionBenchmark {
+
+    private static final int MESES = 84;
+
+    @Param({"0", "48"})
+    public int extras;
+
+    private List<CenarioProjecao> cenarios;
+    private double[] ativosRelativos;
+
+    @Setup
+    public void preparar() {
+        cenarios = new ArrayList<>(CenarioProjecao.PADRAO);
+        for (int i = 0; i < extras; i++) {
+            cenarios.add(new CenarioProjecao("c" + i, 0.5 + i * 0.05, 0.5 + i * 0.02, i % 4 == 0));
+        }
+        ativosRelativos = new double[MESES + 1];
+        ativosRelativos[0] = 1;
+        for (int m = 1; m <= MESES; m++) ativosRelativos[m] = ativosRelativos[m - 1] * (1 - 0.008);
+    }
+
+    @Benchmark
+    public ProjectionSeries projetar() {
+        return ProjectionEngine.projetar(YearMonth.of(2025, 11), MESES, 12.0 / 252, 0.35, ativosRelativos, cenarios);
+    }
+}
@@ -0,0 +1,58 @@
+package com.br.code.benchmark;
+
+import com.br.code.service.CalculationService;
+import com.br.code.simulation.DoubleHistogram;
+import com.br.code.simulation.IntHistogram;
+import com.br.code.simulation.MonteCarloSimulator;
+import com.br.code.simulation.ParallelTrialEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * As três entradas do {@link MonteCarloSimulator} (básica, avançada e
+ * profissional), por número de ensaios e de threads do motor paralelo.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class SimulationBenchmark {
+
+    private static final long SEMENTE = 20251028L;
+
+    @Param({"10000", "100000", "1000000"})
+    public long ensaios;
+
+    @Param({"1", "2", "4"})
+    public int threads;
+
+    private CalculationService calcService;
+    private MonteCarloSimulator simulator;
+    private double pSorteio;
+    private double pLance;
+    private double seuLance;
+
+    @Setup
+    public void preparar() {
+        calcService = new CalculationService();
+        simulator = new MonteCarloSimulator(calcService, new ParallelTrialEngine(threads), SEMENTE);
+        pSorteio = calcService.calculateTaxaGrupo();
+        pLance = calcService.calculateChanceLanceMensal();
+        seuLance = 40_000;
+    }
+
+    @Benchmark
+    public IntHistogram simulacaoBasica() {
+        return simulator.simulate(pSorteio, pLance, ensaios);
+    }
+
+    @Benchmark
+    public DoubleHistogram monteCarloAvancado() {
+        return simulator.simularCenario(0.008, 0.045, 0.3, ensaios, SEMENTE);
+    }
+
+    @Benchmark
+    public long simulacaoProfissional() {
+        return simulator.contarVitorias12Meses(seuLance, ensaios);
+    }
+}
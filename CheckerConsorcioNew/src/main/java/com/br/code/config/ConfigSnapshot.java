@@ -0,0 +1,185 @@
+package com.br.code.config;
+
+import com.br.code.model.CenarioProjecao;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Retrato imutável e tipado do {@code config.properties}.
+ * <p>
+ * Todas as conversões e validações acontecem uma única vez em
+ * {@link #de(Properties)}; os laços de simulação leem apenas campos
+ * primitivos finais.
+ */
+public record ConfigSnapshot(
+        int userConsortiumNumber,
+        LocalDate suaEntrada,
+        int totalParcelas,
+        int parcelasPagas,
+        String baseApiUrl,
+        String cacheFile,
+        String assembleiasFile,
+        String grupo,
+        String pdfOutputPrefix,
+        String chartOutput,
+        long cacheValidityHours,
+        String historicoStoreFile,
+        String historicoStoreFormato,
+        String historicoSincronizacao,
+        int ativos,
+        int contemplados,
+        int desistentes,
+        YearMonth limiteProjecao,
+        double valorCredito,
+        double percentualLanceEmbutido,
+        double recursosVinculados,
+        double mediaLanceVencedorEstimada,
+        double desvioPadraoLances,
+        double taxaDesistenciaMensal,
+        long sementeSimulacao,
+        int threadsSimulacao,
+        String modoSimulacao,
+        String ensaiosSimulacao,
+        long ensaiosMaximos,
+        double precisaoMeses,
+        double precisaoRelativa,
+        double precisaoProporcao,
+        int cacheSimulacaoEntradas,
+        String cacheSimulacaoDir,
+        List<CenarioProjecao> cenariosProjecao) {
+
+    public static ConfigSnapshot de(Properties props) {
+        List<String> erros = new ArrayList<>();
+        Leitor l = new Leitor(props, erros);
+
+        ConfigSnapshot cfg = new ConfigSnapshot(
+                l.inteiro("user.consortium.number", "74"),
+                l.data("sua.entrada", "2025-10-28"),
+                l.inteiro("total.parcelas", "84"),
+                l.inteiro("parcelas.pagas", "2"),
+                props.getProperty("base.api.url"),
+                props.getProperty("cache.file"),
+                props.getProperty("assembleias.file"),
+                props.getProperty("grupo", "").trim(),
+                props.getProperty("pdf.output"),
+                props.getProperty("chart.output"),
+                l.longo("cache.validity.hours", "24"),
+                props.getProperty("historico.store.file", "historico_sorteios.bin"),
+                props.getProperty("historico.store.formato", "binario"),
+                props.getProperty("historico.sincronizacao", "incremental"),
+                l.inteiro("ativos", "252"),
+                l.inteiro("contemplados", "12"),
+                l.inteiro("desistentes", "148"),
+                l.mes("limite.projecao", "2026-12"),
+                l.real("valor.credito", "160000.00"),
+                l.real("percentual.lance.embutido", "0.25"),
+                l.real("recursos.vinculados", "397751.88"),
+                l.real("media.lance.vencedor.estimada", "38000.00"),
+                l.real("desvio.padrao.lances", "8000.00"),
+                l.real("taxa.desistencia.mensal", "0.008"),
+                l.longo("simulacao.semente", "20251028"),
+                l.inteiro("simulacao.threads", String.valueOf(Runtime.getRuntime().availableProcessors())),
+                props.getProperty("simulacao.modo", "estocastico"),
+                props.getProperty("simulacao.ensaios", "fixo").trim(),
+                l.longo("simulacao.ensaios.max", "163840"),
+                l.real("simulacao.precisao.meses", "0.5"),
+                l.real("simulacao.precisao.relativa", "0.01"),
+                l.real("simulacao.precisao.proporcao", "0.005"),
+                l.inteiro("simulacao.cache.entradas", "64"),
+                props.getProperty("simulacao.cache.dir", "").trim(),
+                l.cenarios("projecao.cenarios"));
+
+        if (erros.isEmpty()) cfg.validar(erros);
+        if (!erros.isEmpty()) {
+            throw new IllegalStateException("config.properties inválido: " + String.join("; ", erros));
+        }
+        return cfg;
+    }
+
+    private void validar(List<String> erros) {
+        if (userConsortiumNumber < 0 || userConsortiumNumber > 999) erros.add("user.consortium.number fora de 0..999");
+        if (parcelasPagas < 0 || parcelasPagas > totalParcelas) erros.add("parcelas.pagas fora de 0..total.parcelas");
+        if (ativos <= 0) erros.add("ativos deve ser positivo");
+        if (contemplados < 0 || contemplados > ativos) erros.add("contemplados fora de 0..ativos");
+        if (desistentes < 0) erros.add("desistentes não pode ser negativo");
+        if (valorCredito <= 0) erros.add("valor.credito deve ser positivo");
+        if (percentualLanceEmbutido < 0 || percentualLanceEmbutido > 1) erros.add("percentual.lance.embutido fora de 0..1");
+        if (desvioPadraoLances <= 0) erros.add("desvio.padrao.lances deve ser positivo");
+        if (taxaDesistenciaMensal < 0 || taxaDesistenciaMensal >= 1) erros.add("taxa.desistencia.mensal fora de [0, 1)");
+        if (threadsSimulacao <= 0) erros.add("simulacao.threads deve ser positivo");
+        if (!List.of("fixo", "adaptativo").contains(ensaiosSimulacao)) {
+            erros.add("simulacao.ensaios deve ser fixo ou adaptativo");
+        }
+        if (ensaiosMaximos <= 0) erros.add("simulacao.ensaios.max deve ser positivo");
+        if (precisaoMeses <= 0 || precisaoRelativa <= 0 || precisaoProporcao <= 0) {
+            erros.add("simulacao.precisao.* deve ser positivo");
+        }
+        if (cacheSimulacaoEntradas < 0) erros.add("simulacao.cache.entradas não pode ser negativo");
+        if (!List.of("binario", "jsonl").contains(historicoStoreFormato)) {
+            erros.add("historico.store.formato deve ser binario ou jsonl");
+        }
+        if (!List.of("incremental", "completa").contains(historicoSincronizacao)) {
+            erros.add("historico.sincronizacao deve ser incremental ou completa");
+        }
+        if (!List.of("estocastico", "exato", "validacao").contains(modoSimulacao)) {
+            erros.add("simulacao.modo deve ser estocastico, exato ou validacao");
+        }
+    }
+
+    public double valorLance() {
+        return valorCredito * percentualLanceEmbutido;
+    }
+
+    /** PDF do perfil: prefixo + cota com três dígitos, precedida do grupo quando houver. */
+    public String pdfOutput() {
+        return pdfOutputPrefix + (grupo.isEmpty() ? "" : grupo + "_") + String.format("%03d", userConsortiumNumber) + ".pdf";
+    }
+
+    private record Leitor(Properties props, List<String> erros) {
+        /** Chave ausente ou vazia ({@code simulacao.threads=}) fica com o padrão. */
+        String valor(String chave, String padrao) {
+            String v = props.getProperty(chave);
+            return v == null || v.isBlank() ? padrao : v.trim();
+        }
+
+        int inteiro(String chave, String padrao) {
+            try { return Integer.parseInt(valor(chave, padrao)); }
+            catch (NumberFormatException e) { erros.add(chave + " não é inteiro"); return 0; }
+        }
+
+        long longo(String chave, String padrao) {
+            try { return Long.parseLong(valor(chave, padrao)); }
+            catch (NumberFormatException e) { erros.add(chave + " não é inteiro"); return 0; }
+        }
+
+        double real(String chave, String padrao) {
+            try { return Double.parseDouble(valor(chave, padrao)); }
+            catch (NumberFormatException e) { erros.add(chave + " não é número"); return 0; }
+        }
+
+        LocalDate data(String chave, String padrao) {
+            try { return LocalDate.parse(valor(chave, padrao)); }
+            catch (RuntimeException e) { erros.add(chave + " não é data yyyy-MM-dd"); return null; }
+        }
+
+        YearMonth mes(String chave, String padrao) {
+            try { return YearMonth.parse(valor(chave, padrao)); }
+            catch (RuntimeException e) { erros.add(chave + " não é mês yyyy-MM"); return null; }
+        }
+
+        /** Lista separada por {@code ;}; vazia quando a chave não existe. */
+        List<CenarioProjecao> cenarios(String chave) {
+            List<CenarioProjecao> cenarios = new ArrayList<>();
+            for (String item : props.getProperty(chave, "").split(";")) {
+                if (item.isBlank()) continue;
+                try { cenarios.add(CenarioProjecao.parse(item)); }
+                catch (IllegalArgumentException e) { erros.add(chave + ": " + e.getMessage()); }
+            }
+            return List.copyOf(cenarios);
+        }
+    }
+}
@@ -2,48 +2,127 @@ package com.br.code.config;
 
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.util.Properties;
 
+/**
+ * Acesso estático à configuração corrente.
+ * <p>
+ * O arquivo é lido e validado uma vez em um {@link ConfigSnapshot}; os getters
+ * só leem campos dele. {@link #recarregarSeAlterado()} troca o retrato quando
+ * o arquivo muda, para execuções longas.
+ * <p>
+ * Sem {@code config.properties} no diretório corrente vale o que vem no
+ * classpath (o do próprio jar), como nos benchmarks do CheckerConsorcioJmh.
+ */
 public class ConsorcioConfig {
-    private static final Properties props = new Properties();
+    private static final Path ARQUIVO = Paths.get("config.properties");
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
     private static final DateTimeFormatter YYYYMMDD_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
     private static final DateTimeFormatter MES_ANO = DateTimeFormatter.ofPattern("MMM/yy");
 
+    private static volatile ConfigSnapshot atual;
+    private static volatile FileTime modificadoEm;
+    private static volatile Properties propriedades;
+
     static {
-        try (FileInputStream is = new FileInputStream("config.properties")) {
-            props.load(is);
+        try {
+            carregar();
         } catch (IOException e) {
             throw new RuntimeException("Erro ao carregar config.properties", e);
         }
     }
 
-    public static int getUserConsortiumNumber() { return Integer.parseInt(props.getProperty("user.consortium.number", "74")); }
-    public static LocalDate getSuaEntrada() { return LocalDate.parse(props.getProperty("sua.entrada", "2025-10-28")); }
-    public static int getTotalParcelas() { return Integer.parseInt(props.getProperty("total.parcelas", "84")); }
-    public static int getParcelasPagas() { return Integer.parseInt(props.getProperty("parcelas.pagas", "2")); }
-    public static String getBaseApiUrl() { return props.getProperty("base.api.url"); }
-    public static String getCacheFile() { return props.getProperty("cache.file"); }
-    public static String getAssembleiasFile() { return props.getProperty("assembleias.file"); }
-    public static String getPdfOutput() { return props.getProperty("pdf.output") + String.format("%03d", getUserConsortiumNumber()) + ".pdf"; }
-    public static String getChartOutput() { return props.getProperty("chart.output"); }
-    public static long getCacheValidityHours() { return Long.parseLong(props.getProperty("cache.validity.hours", "24")); }
-    public static int getAtivos() { return Integer.parseInt(props.getProperty("ativos", "252")); }
-    public static int getContemplados() { return Integer.parseInt(props.getProperty("contemplados", "12")); }
-    public static int getDesistentes() { return Integer.parseInt(props.getProperty("desistentes", "148")); }
+    private static synchronized void carregar() throws IOException {
+        Properties props = new Properties();
+        FileTime m = null;
+        if (Files.exists(ARQUIVO)) {
+            m = Files.getLastModifiedTime(ARQUIVO);
+            try (FileInputStream is = new FileInputStream(ARQUIVO.toFile())) {
+                props.load(is);
+            }
+        } else {
+            try (InputStream is = ConsorcioConfig.class.getResourceAsStream("/" + ARQUIVO)) {
+                if (is == null) throw new NoSuchFileException(ARQUIVO.toAbsolutePath().toString());
+                props.load(is);
+            }
+        }
+        atual = ConfigSnapshot.de(props);
+        propriedades = props;
+        modificadoEm = m;
+    }
+
+    public static ConfigSnapshot snapshot() { return atual; }
+
+    /**
+     * Cópia das propriedades do retrato corrente, para derivar outros retratos
+     * (os perfis do modo lote) com {@link ConfigSnapshot#de(Properties)}.
+     */
+    public static Properties propriedades() {
+        Properties copia = new Properties();
+        copia.putAll(propriedades);
+        return copia;
+    }
+
+    /**
+     * Recarrega o arquivo se a data de modificação mudou. Um arquivo inválido
+     * é rejeitado e o retrato anterior continua valendo.
+     *
+     * @return {@code true} se um novo retrato passou a valer
+     */
+    public static synchronized boolean recarregarSeAlterado() {
+        try {
+            if (!Files.exists(ARQUIVO) || Files.getLastModifiedTime(ARQUIVO).equals(modificadoEm)) return false;
+            carregar();
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            System.err.println("Configuração não recarregada: " + e.getMessage());
+            return false;
+        }
+    }
+
+    public static int getUserConsortiumNumber() { return atual.userConsortiumNumber(); }
+    public static LocalDate getSuaEntrada() { return atual.suaEntrada(); }
+    public static int getTotalParcelas() { return atual.totalParcelas(); }
+    public static int getParcelasPagas() { return atual.parcelasPagas(); }
+    public static String getBaseApiUrl() { return atual.baseApiUrl(); }
+    public static String getCacheFile() { return atual.cacheFile(); }
+    public static String getAssembleiasFile() { return atual.assembleiasFile(); }
+    /** Grupo a filtrar em arquivos de assembleias com vários grupos; vazio lê todas as linhas. */
+    public static String getGrupo() { return atual.grupo(); }
+    public static String getPdfOutput() { return atual.pdfOutput(); }
+    public static String getChartOutput() { return atual.chartOutput(); }
+    public static long getCacheValidityHours() { return atual.cacheValidityHours(); }
+    public static String getHistoricoStoreFile() { return atual.historicoStoreFile(); }
+    public static String getHistoricoStoreFormato() { return atual.historicoStoreFormato(); }
+    public static String getHistoricoSincronizacao() { return atual.historicoSincronizacao(); }
+    public static int getAtivos() { return atual.ativos(); }
+    public static int getContemplados() { return atual.contemplados(); }
+    public static int getDesistentes() { return atual.desistentes(); }
     public static YearMonth getProximoMes() { return YearMonth.now().plusMonths(1); }
-    public static YearMonth getLimiteProjecao() { return YearMonth.parse(props.getProperty("limite.projecao", "2026-12")); }
-    public static double getValorCredito() { return Double.parseDouble(props.getProperty("valor.credito", "160000.00")); }
-    public static double getPercentualLanceEmbutido() { return Double.parseDouble(props.getProperty("percentual.lance.embutido", "0.25")); }
-    public static double getRecursosVinculados() { return Double.parseDouble(props.getProperty("recursos.vinculados", "397751.88")); }
-    public static double getMediaLanceVencedorEstimada() { return Double.parseDouble(props.getProperty("media.lance.vencedor.estimada", "38000.00")); }
-    public static double getDesvioPadraoLances() { return Double.parseDouble(props.getProperty("desvio.padrao.lances", "8000.00")); }
-    public static double getTaxaDesistenciaMensal() { return Double.parseDouble(props.getProperty("taxa.desistencia.mensal", "0.008")); }
+    public static YearMonth getLimiteProjecao() { return atual.limiteProjecao(); }
+    public static double getValorCredito() { return atual.valorCredito(); }
+    public static double getPercentualLanceEmbutido() { return atual.percentualLanceEmbutido(); }
+    public static double getRecursosVinculados() { return atual.recursosVinculados(); }
+    public static double getMediaLanceVencedorEstimada() { return atual.mediaLanceVencedorEstimada(); }
+    public static double getDesvioPadraoLances() { return atual.desvioPadraoLances(); }
+    public static double getTaxaDesistenciaMensal() { return atual.taxaDesistenciaMensal(); }
+    public static long getSementeSimulacao() { return atual.sementeSimulacao(); }
+    public static String getModoSimulacao() { return atual.modoSimulacao(); }
+    public static int getThreadsSimulacao() { return atual.threadsSimulacao(); }
+    public static String getEnsaiosSimulacao() { return atual.ensaiosSimulacao(); }
+    public static int getCacheSimulacaoEntradas() { return atual.cacheSimulacaoEntradas(); }
+    public static String getCacheSimulacaoDir() { return atual.cacheSimulacaoDir(); }
 
     public static DateTimeFormatter getDateFormatter() { return DATE_FORMATTER; }
     public static DateTimeFormatter getYyyyMmDdFormatter() { return YYYYMMDD_FORMATTER; }
     public static DateTimeFormatter getMesAnoFormatter() { return MES_ANO; }
-}
\ No newline at end of file
+}
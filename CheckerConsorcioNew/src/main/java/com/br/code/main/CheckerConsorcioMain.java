@@ -1,14 +1,105 @@
 package com.br.code.main;
 
+import com.br.code.metrics.Metrics;
+import com.br.code.metrics.MetricsReport;
+import com.br.code.orchestrator.ConsorcioBatchOrchestrator;
 import com.br.code.orchestrator.ConsorcioOrchestrator;
+import com.br.code.report.NdjsonReportWriter;
+import com.br.code.report.sink.ReportSink;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 public class CheckerConsorcioMain {
+    private static final String USO = """
+            Uso: CheckerConsorcioMain [opções]
+              --metrics                  tabela de métricas ao final
+              --metrics-prom <arquivo>   métricas no formato Prometheus
+              --backtest [arquivo]       backtest do grupo (padrão backtest_cotas.csv)
+              --lote <manifesto>         modo lote: grupo;cota;credito;lance
+              --saida <pasta>            pasta dos relatórios do lote (padrão relatorios)
+              --paralelo <n>             perfis em paralelo no lote
+              --formato txt|html|json    formato dos relatórios do lote
+              --json <arquivo|->         um RelatorioCota por linha (NDJSON)
+              --sem-texto                só o NDJSON (exige --json)""";
+
     public static void main(String[] args) {
+        Path prometheus = null;
+        Path backtest = null;
+        Path lote = null;
+        Path saidaLote = Paths.get("relatorios");
+        int paralelo = Math.min(4, Runtime.getRuntime().availableProcessors());
+        String formato = "txt";
+        String json = null;
+        boolean texto = true;
+        boolean formatoInformado = false;
         try {
-            new ConsorcioOrchestrator().executar();
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--metrics" -> Metrics.habilitar();
+                    case "--metrics-prom" -> {
+                        Metrics.habilitar();
+                        prometheus = Paths.get(valor(args, ++i, "--metrics-prom"));
+                    }
+                    case "--backtest" -> backtest = Paths.get(i + 1 < args.length && !args[i + 1].startsWith("--")
+                            ? args[++i] : "backtest_cotas.csv");
+                    case "--lote" -> lote = Paths.get(valor(args, ++i, "--lote"));
+                    case "--saida" -> saidaLote = Paths.get(valor(args, ++i, "--saida"));
+                    case "--paralelo" -> paralelo = inteiroPositivo(valor(args, ++i, "--paralelo"), "--paralelo");
+                    case "--formato" -> {
+                        formato = valor(args, ++i, "--formato");
+                        formatoInformado = true;
+                    }
+                    case "--json" -> json = valor(args, ++i, "--json");
+                    case "--sem-texto" -> texto = false;
+                    default -> System.err.println("Argumento ignorado: " + args[i]);
+                }
+            }
+            if (formatoInformado && lote == null) {
+                throw new IllegalArgumentException("--formato só vale com --lote (o relatório de uma cota vai para o console)");
+            }
+            if (!ReportSink.FORMATOS.contains(formato)) {
+                throw new IllegalArgumentException("--formato deve ser um de " + ReportSink.FORMATOS);
+            }
+            if ("-".equals(json)) texto = false; // o stdout fica só com o NDJSON
+            if (!texto && json == null) throw new IllegalArgumentException("--sem-texto exige --json <arquivo|->");
+        } catch (IllegalArgumentException e) {
+            System.err.println("Erro: " + e.getMessage());
+            System.err.println(USO);
+            return;
+        }
+
+        try (NdjsonReportWriter ndjson = json == null ? null : NdjsonReportWriter.abrir(json)) {
+            // com --json -, avisos e mensagens de progresso vão para o stderr
+            if ("-".equals(json)) System.setOut(System.err);
+            if (lote != null) new ConsorcioBatchOrchestrator(saidaLote, paralelo, formato, ndjson, texto).executar(lote);
+            else if (backtest != null) new ConsorcioOrchestrator().executarBacktest(backtest);
+            else new ConsorcioOrchestrator(ndjson, texto).executar();
+            if (Metrics.habilitado()) MetricsReport.imprimirTabela(System.out);
+            if (prometheus != null) {
+                MetricsReport.escreverPrometheus(prometheus);
+                System.out.println("Métricas (Prometheus) gravadas em: " + prometheus);
+            }
         } catch (Exception e) {
             System.err.println("Falha crítica: " + e.getMessage());
             e.printStackTrace();
         }
     }
-}
\ No newline at end of file
+
+    /** Valor da opção na posição {@code i}; outra opção ou o fim da linha de comando é erro de uso. */
+    private static String valor(String[] args, int i, String opcao) {
+        if (i >= args.length || (args[i].startsWith("--") && !"-".equals(args[i]))) {
+            throw new IllegalArgumentException(opcao + " exige um valor");
+        }
+        return args[i];
+    }
+
+    private static int inteiroPositivo(String valor, String opcao) {
+        try {
+            int n = Integer.parseInt(valor);
+            if (n > 0) return n;
+        } catch (NumberFormatException ignored) {
+        }
+        throw new IllegalArgumentException(opcao + " deve ser um inteiro positivo: " + valor);
+    }
+}
@@ -0,0 +1,116 @@
+package com.br.code.metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Registro estático de timers e contadores, no espírito do Micrometer mas sem
+ * dependência: cada medição custa dois {@code System.nanoTime()} e somas em
+ * {@link LongAdder}, então a coleta fica sempre ligada; só a exibição
+ * ({@code --metrics}) é opcional.
+ * <p>
+ * Os nomes usam pontos ({@code api.latest}); {@link MetricsReport} os converte
+ * para o formato do Prometheus.
+ */
+public final class Metrics {
+    private static final Map<String, Timer> TIMERS = new ConcurrentHashMap<>();
+    private static final Map<String, Counter> COUNTERS = new ConcurrentHashMap<>();
+    private static volatile boolean habilitado;
+
+    private Metrics() {
+    }
+
+    public static Timer timer(String nome) {
+        return TIMERS.computeIfAbsent(nome, Timer::new);
+    }
+
+    public static Counter counter(String nome) {
+        return COUNTERS.computeIfAbsent(nome, Counter::new);
+    }
+
+    /** Liga a exibição de métricas e da linha do tempo das etapas ({@code --metrics}). */
+    public static void habilitar() {
+        habilitado = true;
+    }
+
+    public static boolean habilitado() {
+        return habilitado;
+    }
+
+    public static List<Timer> timers() {
+        List<Timer> l = new ArrayList<>(TIMERS.values());
+        l.sort(Comparator.comparing(Timer::nome));
+        return l;
+    }
+
+    public static List<Counter> counters() {
+        List<Counter> l = new ArrayList<>(COUNTERS.values());
+        l.sort(Comparator.comparing(Counter::nome));
+        return l;
+    }
+
+    public static final class Timer {
+        private final String nome;
+        private final LongAdder contagem = new LongAdder();
+        private final LongAdder totalNs = new LongAdder();
+        private final AtomicLong maxNs = new AtomicLong();
+
+        private Timer(String nome) {
+            this.nome = nome;
+        }
+
+        public String nome() { return nome; }
+        public long contagem() { return contagem.sum(); }
+        public long totalNs() { return totalNs.sum(); }
+        public long maxNs() { return maxNs.get(); }
+
+        public void registrar(long ns) {
+            contagem.increment();
+            totalNs.add(ns);
+            maxNs.accumulateAndGet(ns, Math::max);
+        }
+
+        /** Registra o tempo decorrido desde {@code inicioNs} (um {@code System.nanoTime()} anterior). */
+        public void registrarDesde(long inicioNs) {
+            registrar(System.nanoTime() - inicioNs);
+        }
+
+        public <T> T medir(Supplier<T> s) {
+            long t0 = System.nanoTime();
+            try {
+                return s.get();
+            } finally {
+                registrarDesde(t0);
+            }
+        }
+
+        public void medir(Runnable r) {
+            long t0 = System.nanoTime();
+            try {
+                r.run();
+            } finally {
+                registrarDesde(t0);
+            }
+        }
+    }
+
+    public static final class Counter {
+        private final String nome;
+        private final LongAdder valor = new LongAdder();
+
+        private Counter(String nome) {
+            this.nome = nome;
+        }
+
+        public String nome() { return nome; }
+        public long valor() { return valor.sum(); }
+        public void incrementar() { valor.increment(); }
+        public void incrementar(long n) { valor.add(n); }
+    }
+}
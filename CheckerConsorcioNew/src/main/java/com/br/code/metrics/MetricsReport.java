@@ -0,0 +1,70 @@
+package com.br.code.metrics;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.Normalizer;
+import java.util.Locale;
+
+/**
+ * Saídas do {@link Metrics}: tabela no console e arquivo no formato de texto
+ * do Prometheus (para o node_exporter textfile collector ou comparação entre
+ * execuções).
+ */
+public class MetricsReport {
+    private static final String PREFIXO = "consorcio_";
+
+    public static void imprimirTabela(PrintStream out) {
+        out.println("\nMÉTRICAS DA EXECUÇÃO");
+        out.println("-".repeat(78));
+        out.printf("  %-34s %8s %12s %10s %10s%n", "Timer", "Chamadas", "Total (ms)", "Média", "Máx");
+        out.println("-".repeat(78));
+        for (Metrics.Timer t : Metrics.timers()) {
+            long n = t.contagem();
+            if (n == 0) continue;
+            out.printf(Locale.ROOT, "  %-34s %8d %12.1f %10.3f %10.3f%n", t.nome(), n,
+                    t.totalNs() / 1e6, t.totalNs() / 1e6 / n, t.maxNs() / 1e6);
+        }
+        out.println("-".repeat(78));
+        out.printf("  %-34s %8s%n", "Contador", "Valor");
+        out.println("-".repeat(78));
+        for (Metrics.Counter c : Metrics.counters()) {
+            out.printf("  %-34s %8d%n", c.nome(), c.valor());
+        }
+        out.println("-".repeat(78));
+    }
+
+    public static String paraPrometheus() {
+        StringBuilder sb = new StringBuilder();
+        for (Metrics.Timer t : Metrics.timers()) {
+            String n = PREFIXO + nomePrometheus(t.nome()) + "_seconds";
+            sb.append("# TYPE ").append(n).append(" summary\n");
+            sb.append(n).append("_count ").append(t.contagem()).append('\n');
+            sb.append(n).append("_sum ").append(segundos(t.totalNs())).append('\n');
+            sb.append("# TYPE ").append(n).append("_max gauge\n");
+            sb.append(n).append("_max ").append(segundos(t.maxNs())).append('\n');
+        }
+        for (Metrics.Counter c : Metrics.counters()) {
+            String n = PREFIXO + nomePrometheus(c.nome()) + "_total";
+            sb.append("# TYPE ").append(n).append(" counter\n");
+            sb.append(n).append(' ').append(c.valor()).append('\n');
+        }
+        return sb.toString();
+    }
+
+    public static void escreverPrometheus(Path arquivo) throws IOException {
+        Files.writeString(arquivo, paraPrometheus(), StandardCharsets.UTF_8);
+    }
+
+    /** {@code etapa.simulação} → {@code etapa_simulacao}: sem acentos, só [a-zA-Z0-9_]. */
+    static String nomePrometheus(String nome) {
+        String semAcento = Normalizer.normalize(nome, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return semAcento.replaceAll("[^A-Za-z0-9_]", "_");
+    }
+
+    private static String segundos(long ns) {
+        return String.format(Locale.ROOT, "%.9f", ns / 1e9);
+    }
+}
@@ -3,6 +3,11 @@ package com.br.code.model;
 import java.time.LocalDate;
 import java.util.Objects;
 
-public record AssemblyData(LocalDate date, Integer sorteada, Integer vencedora) {
+/** Uma linha do arquivo de assembleias; {@code grupo} é {@code null} em arquivos de um só grupo. */
+public record AssemblyData(LocalDate date, Integer sorteada, Integer vencedora, String grupo) {
     public AssemblyData { Objects.requireNonNull(date); }
-}
\ No newline at end of file
+
+    public AssemblyData(LocalDate date, Integer sorteada, Integer vencedora) {
+        this(date, sorteada, vencedora, null);
+    }
+}
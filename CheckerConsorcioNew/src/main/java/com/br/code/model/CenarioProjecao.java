@@ -0,0 +1,44 @@
+package com.br.code.model;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Cenário da projeção acumulada: multiplicadores sobre a taxa de sorteio do
+ * grupo e sobre a chance mensal de lance.
+ *
+ * @param acompanhaDesistencia a taxa de sorteio de cada mês cresce com a queda
+ *                             dos ativos projetados, com a sazonalidade dez/jan
+ *                             (limitada a 10%)
+ */
+public record CenarioProjecao(String nome, double fatorSorteio, double fatorLance, boolean acompanhaDesistencia) {
+    public CenarioProjecao { Objects.requireNonNull(nome); }
+
+    public static final CenarioProjecao SORTEIO = new CenarioProjecao("Sorteio", 1.0, 0.0, false);
+    public static final CenarioProjecao SORTEIO_E_LANCE = new CenarioProjecao("Sorteio + Lance", 1.0, 1.0, false);
+    public static final CenarioProjecao CONSERVADOR = new CenarioProjecao("Conservador", 1.0, 0.8, false);
+    public static final CenarioProjecao REALISTA = new CenarioProjecao("Realista", 1.0, 1.0, true);
+    public static final CenarioProjecao OTIMISTA = new CenarioProjecao("Otimista", 1.5, 1.1, false);
+
+    /** Os que o relatório sempre imprime, nesta ordem. */
+    public static final List<CenarioProjecao> PADRAO = List.of(SORTEIO, SORTEIO_E_LANCE, CONSERVADOR, REALISTA, OTIMISTA);
+
+    /** {@code nome:fatorSorteio:fatorLance[:desistencia]}, como em {@code projecao.cenarios}. */
+    public static CenarioProjecao parse(String texto) {
+        String[] p = texto.trim().split(":");
+        if (p.length < 3 || p.length > 4 || p[0].isBlank() || (p.length == 4 && !"desistencia".equals(p[3].trim()))) {
+            throw new IllegalArgumentException("cenário '" + texto.trim() + "' não é nome:fatorSorteio:fatorLance[:desistencia]");
+        }
+        double sorteio, lance;
+        try {
+            sorteio = Double.parseDouble(p[1].trim());
+            lance = Double.parseDouble(p[2].trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("cenário '" + p[0].trim() + "' com fator não numérico");
+        }
+        if (sorteio < 0 || lance < 0) {
+            throw new IllegalArgumentException("cenário '" + p[0].trim() + "' com fator negativo");
+        }
+        return new CenarioProjecao(p[0].trim(), sorteio, lance, p.length == 4);
+    }
+}
@@ -0,0 +1,12 @@
+package com.br.code.model;
+
+import java.time.YearMonth;
+
+/**
+ * Resultado do backtest de uma cota: em quantas assembleias teria sido
+ * contemplada, separando direta e ajuste, e a primeira delas
+ * ({@code primeira == null} se nunca).
+ */
+public record CotaBacktest(int cota, int diretas, int ajustes, YearMonth primeira, boolean primeiraDireta) {
+    public int contemplacoes() { return diretas + ajustes; }
+}
@@ -0,0 +1,44 @@
+package com.br.code.model;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Sorteio da Loteria Federal já convertido para tipos primitivos.
+ * <p>
+ * As centenas seguem a regra de {@code CalculationService.extractHundreds}:
+ * para cada prêmio de 6 dígitos, os dígitos 1-3, 3-5 e 4-6, nessa ordem.
+ * Os arrays não são copiados; trate-os como somente leitura.
+ */
+public record Draw(int concurso, long epochDay, int[] premios, short[] centenas) {
+
+    public static Draw de(int concurso, long epochDay, int[] premios) {
+        return new Draw(concurso, epochDay, premios, calcularCentenas(premios));
+    }
+
+    public LocalDate data() {
+        return LocalDate.ofEpochDay(epochDay);
+    }
+
+    /** Prêmio com zeros à esquerda (6 dígitos), como exibido no relatório. */
+    public String premio(int i) {
+        return comZeros(premios[i], 6);
+    }
+
+    public static short[] calcularCentenas(int[] premios) {
+        short[] c = new short[premios.length * 3];
+        int n = 0;
+        for (int p : premios) {
+            if (p < 0 || p > 999_999) continue;
+            c[n++] = (short) (p / 1000);
+            c[n++] = (short) ((p / 10) % 1000);
+            c[n++] = (short) (p % 1000);
+        }
+        return n == c.length ? c : Arrays.copyOf(c, n);
+    }
+
+    public static String comZeros(int valor, int digitos) {
+        String s = Integer.toString(valor);
+        return s.length() >= digitos ? s : "0".repeat(digitos - s.length()) + s;
+    }
+}
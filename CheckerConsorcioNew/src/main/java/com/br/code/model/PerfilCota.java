@@ -0,0 +1,13 @@
+package com.br.code.model;
+
+import java.util.Objects;
+
+/** Uma linha do manifesto do modo lote; {@code lance} é a fração do crédito (0.25 = 25%). */
+public record PerfilCota(String grupo, int cota, double credito, double lance) {
+    public PerfilCota { Objects.requireNonNull(grupo); }
+
+    /** Nome de arquivo do relatório do perfil, ex.: {@code G7_074} ou {@code 074} sem grupo. */
+    public String identificador() {
+        return (grupo.isEmpty() ? "" : grupo + "_") + String.format("%03d", cota);
+    }
+}
@@ -0,0 +1,55 @@
+package com.br.code.model;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tudo o que o relatório de uma cota calcula, sem formatação: o que o
+ * {@code ReportPrinter} imprime como texto e o {@code NdjsonReportWriter}
+ * grava como uma linha JSON.
+ *
+ * @param ultimoSorteio {@code null} se o {@code latest} não chegou
+ * @param simulacao     {@code null} se as simulações não foram executadas
+ * @param temposMs      duração de cada etapa da execução, em milissegundos
+ */
+public record RelatorioCota(String grupo, int cota, LocalDate entrada, EstatisticaGrupo estatisticaGrupo,
+                           Sorteio ultimoSorteio, List<Assembleia> assembleias, double taxaMensalGrupo,
+                           double chanceLanceMensal, List<Projecao> projecao, Simulacao simulacao,
+                           Map<String, Double> temposMs) {
+
+    public record EstatisticaGrupo(int totalCotas, int ativos, int desistentes, int contemplados) {
+    }
+
+    /** Conferência da cota em um sorteio; {@code posicao} é 0 quando não contemplada. */
+    public record Sorteio(LocalDate data, String status, int posicao) {
+    }
+
+    public record Assembleia(LocalDate data, Sorteio sorteio) {
+    }
+
+    /** Chance acumulada de contemplação até o mês, em cada modelo de projeção. */
+    public record Projecao(YearMonth mes, double sorteio, double sorteioELance,
+                           double conservador, double realista, double otimista) {
+    }
+
+    /** Os campos {@code erro*} são a semi-amplitude do IC de 95% de cada percentil. */
+    public record Cenario(String nome, long ensaios, double p10, double p50, double p90,
+                          double erroP10, double erroP50, double erroP90) {
+    }
+
+    /**
+     * Os campos {@code erro*} são a semi-amplitude do IC de 95% do número ao
+     * lado, o mesmo {@code [±erro | n ensaios]} do relatório em texto; zero
+     * quando a distribuição é exata.
+     */
+    public record Simulacao(String modo, long ensaiosMeses, int mesesP10, int mesesP50, int mesesP90,
+                            double erroMesesP10, double erroMesesP50, double erroMesesP90,
+                            List<Cenario> cenarios, double lance, long ensaiosProfissional,
+                            double chance12Meses, double erroChance12Meses,
+                            double lanceP10, double lanceP25, double lanceP50, double lanceP75, double lanceP90,
+                            double erroLanceP10, double erroLanceP25, double erroLanceP50,
+                            double erroLanceP75, double erroLanceP90) {
+    }
+}
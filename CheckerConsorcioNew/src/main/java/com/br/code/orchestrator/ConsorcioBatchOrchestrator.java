@@ -0,0 +1,211 @@
+package com.br.code.orchestrator;
+
+import com.br.code.config.ConfigSnapshot;
+import com.br.code.config.ConsorcioConfig;
+import com.br.code.metrics.Metrics;
+import com.br.code.model.AssemblyData;
+import com.br.code.model.Draw;
+import com.br.code.model.PerfilCota;
+import com.br.code.report.NdjsonReportWriter;
+import com.br.code.report.ReportDataBuilder;
+import com.br.code.report.ReportPrinter;
+import com.br.code.report.sink.ConsoleReportSink;
+import com.br.code.report.sink.ReportSink;
+import com.br.code.service.ApiService;
+import com.br.code.service.AssemblyService;
+import com.br.code.service.CalculationService;
+import com.br.code.service.HistorySyncService;
+import com.br.code.simulation.MonteCarloSimulator;
+import com.br.code.simulation.ParallelTrialEngine;
+import com.br.code.util.DrawIndex;
+import com.br.code.util.FileUtils;
+import com.br.code.util.JsonUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Modo lote ({@code --lote manifesto.csv}): um relatório por perfil
+ * {@code grupo;cota;credito;lance} em um único processo.
+ * <p>
+ * O que não depende do perfil é feito uma vez — {@code latest}, histórico
+ * (um único {@link DrawIndex}, pelo mesmo cliente HTTP) e a leitura do arquivo
+ * de assembleias, já separado por grupo. Cada perfil ganha um
+ * {@link ConfigSnapshot} próprio, derivado das propriedades correntes, e roda
+ * análise e simulações em um executor limitado a {@code paralelo} perfis; as
+ * simulações de todos dividem um único {@link ParallelTrialEngine}, então o
+ * total de threads de CPU não cresce com o número de perfis.
+ * <p>
+ * Cada relatório é montado em memória e gravado com uma única escrita ao
+ * final ({@code txt}, {@code html} ou {@code json}), de modo que o tempo do
+ * lote fica no cálculo, não em I/O de console. Com {@code --json}, cada
+ * perfil vira também uma linha NDJSON em um único arquivo; com
+ * {@code --sem-texto}, só ela.
+ */
+public class ConsorcioBatchOrchestrator {
+    private static final Metrics.Timer PERFIL = Metrics.timer("lote.perfil");
+    private static final Metrics.Counter FALHAS = Metrics.counter("lote.falhas");
+
+    private final ApiService apiService = new ApiService();
+    private final Path saida;
+    private final int paralelo;
+    private final String formato;
+    private final NdjsonReportWriter json;
+    private final boolean texto;
+
+    public ConsorcioBatchOrchestrator(Path saida, int paralelo) {
+        this(saida, paralelo, "txt", null, true);
+    }
+
+    /**
+     * @param formato {@code txt}, {@code html} ou {@code json}
+     * @param json    destino do relatório estruturado de todos os perfis, ou {@code null}
+     * @param texto   {@code false} para não gerar os arquivos de relatório
+     */
+    public ConsorcioBatchOrchestrator(Path saida, int paralelo, String formato, NdjsonReportWriter json, boolean texto) {
+        this.saida = saida;
+        this.paralelo = Math.max(1, paralelo);
+        if (!ReportSink.FORMATOS.contains(formato)) {
+            throw new IllegalArgumentException("Formato de relatório desconhecido: " + formato + " (use " + ReportSink.FORMATOS + ")");
+        }
+        this.formato = formato;
+        this.json = json;
+        this.texto = texto;
+    }
+
+    public void executar(Path manifesto) {
+        ExecutorService perfisPool = Executors.newFixedThreadPool(paralelo, novaThread());
+        try {
+            long t0 = System.nanoTime();
+            ConsorcioConfig.recarregarSeAlterado();
+            ConfigSnapshot base = ConsorcioConfig.snapshot();
+            Properties propriedades = ConsorcioConfig.propriedades();
+
+            List<PerfilCota> perfis = FileUtils.lerPerfis(manifesto);
+            if (perfis.isEmpty()) {
+                System.out.println("ERRO: nenhum perfil válido em '" + manifesto + "'.");
+                return;
+            }
+            if (texto) Files.createDirectories(saida);
+
+            // entradas comuns a todos os perfis: uma vez só, em paralelo
+            CompletableFuture<Map<String, List<AssemblyData>>> assembleias = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return AssemblyService.lerPorGrupo(Paths.get(base.assembleiasFile()), base.suaEntrada());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, perfisPool);
+            Draw ultimo = apiService.fetchLatestAsync()
+                    .thenApply(json -> json == null ? null : JsonUtils.parseDraw(json))
+                    .get(30, TimeUnit.SECONDS);
+            List<Draw> historico = "incremental".equals(base.historicoSincronizacao())
+                    ? new HistorySyncService(apiService).sincronizar(ultimo)
+                    : JsonUtils.parseDrawsSafely(apiService.fetchHistorical());
+            DrawIndex indice = DrawIndex.de(historico);
+            Map<String, List<AssemblyData>> porGrupo = assembleias.join();
+
+            ParallelTrialEngine engine = new ParallelTrialEngine(base.threadsSimulacao());
+            List<CompletableFuture<Boolean>> tarefas = new ArrayList<>(perfis.size());
+            Map<String, Integer> repeticoes = new HashMap<>();
+            for (PerfilCota perfil : perfis) {
+                // a mesma cota pode aparecer com créditos/lances diferentes: um arquivo para cada linha
+                int n = repeticoes.merge(perfil.identificador(), 1, Integer::sum);
+                String nome = perfil.identificador() + (n > 1 ? "_" + n : "");
+                Path arquivo = saida.resolve("relatorio_" + nome + ReportSink.extensao(formato));
+                Properties doPerfil = propriedadesDoPerfil(propriedades, perfil, nome);
+                tarefas.add(CompletableFuture.supplyAsync(
+                        () -> gerarRelatorio(perfil, arquivo, doPerfil, ultimo, indice, porGrupo, engine), perfisPool));
+            }
+            long gerados = tarefas.stream().filter(CompletableFuture::join).count();
+
+            System.out.printf("LOTE CONCLUÍDO: %d de %d relatório(s) em %s (%.1f s)%n",
+                    gerados, perfis.size(), texto ? saida : "NDJSON", (System.nanoTime() - t0) / 1e9);
+        } catch (Exception e) {
+            System.err.println("Erro crítico: " + e.getMessage());
+        } finally {
+            perfisPool.shutdownNow();
+        }
+    }
+
+    /** Relatório de um perfil; {@code false} se ele não tem assembleias ou falhou. */
+    private boolean gerarRelatorio(PerfilCota perfil, Path arquivo, Properties propriedades, Draw ultimo, DrawIndex indice,
+                                   Map<String, List<AssemblyData>> porGrupo, ParallelTrialEngine engine) {
+        long t0 = System.nanoTime();
+        try {
+            CalculationService calcService = new CalculationService(ConfigSnapshot.de(propriedades));
+            // sem assembleias não há relatório: o erro vai para o stderr e nenhum arquivo é criado
+            List<AssemblyData> minhas = new AssemblyService(calcService.getConfig(), new ConsoleReportSink(System.err))
+                    .getMinhasAssembleias(porGrupo);
+            if (minhas.isEmpty()) return false;
+            try (ReportSink out = texto ? ReportSink.arquivo(arquivo, formato) : ReportSink.console()) {
+                imprimirRelatorio(calcService, minhas, out, ultimo, indice, engine, t0);
+            }
+            return true;
+        } catch (Exception e) {
+            FALHAS.incrementar();
+            System.err.println("Erro no perfil " + perfil.identificador() + ": " + e.getMessage());
+            return false;
+        } finally {
+            PERFIL.registrarDesde(t0);
+        }
+    }
+
+    /** Relatório completo, na mesma ordem do modo de cota única. */
+    private void imprimirRelatorio(CalculationService calcService, List<AssemblyData> minhas, ReportSink out, Draw ultimo,
+                                   DrawIndex indice, ParallelTrialEngine engine, long t0) {
+        MonteCarloSimulator simulator = new MonteCarloSimulator(calcService, engine,
+                calcService.getConfig().sementeSimulacao(), out);
+        ReportPrinter printer = new ReportPrinter(calcService, out);
+        if (texto) {
+            printer.imprimirCabecalho();
+            CompletableFuture<Void> arquivos = printer.gerarArquivos(minhas, indice, calcService, simulator);
+            printer.imprimirUltimoSorteio(ultimo, calcService);
+            printer.imprimirRelatorioCompleto(minhas, indice, calcService);
+            printer.imprimirAnalisesAdicionais(minhas, indice, calcService, simulator);
+            arquivos.join();
+            printer.imprimirRodape();
+        }
+        if (json != null) {
+            json.escrever(ReportDataBuilder.montar(calcService, ultimo, minhas, indice, simulator,
+                    Map.of("relatorio", (System.nanoTime() - t0) / 1e6)));
+        }
+    }
+
+    /** Propriedades correntes com os campos do perfil; PDF e gráfico vão para {@code saida}, com o nome do relatório. */
+    private Properties propriedadesDoPerfil(Properties base, PerfilCota perfil, String nome) {
+        Properties props = new Properties();
+        props.putAll(base);
+        props.setProperty("grupo", perfil.grupo());
+        props.setProperty("user.consortium.number", String.valueOf(perfil.cota()));
+        props.setProperty("valor.credito", String.valueOf(perfil.credito()));
+        props.setProperty("percentual.lance.embutido", String.valueOf(perfil.lance()));
+        props.setProperty("pdf.output", saida.resolve(base.getProperty("pdf.output", "Relatorio_Consorcio_")).toString()
+                + (nome.equals(perfil.identificador()) ? "" : nome.substring(perfil.identificador().length() + 1) + "_"));
+        props.setProperty("chart.output", saida.resolve("grafico_" + nome + ".png").toString());
+        return props;
+    }
+
+    private static ThreadFactory novaThread() {
+        AtomicInteger n = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, "lote-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
@@ -1,36 +1,215 @@
 package com.br.code.orchestrator;
 
+import com.br.code.config.ConfigSnapshot;
+import com.br.code.config.ConsorcioConfig;
+import com.br.code.model.AssemblyData;
+import com.br.code.model.Draw;
+import com.br.code.report.BacktestWriter;
+import com.br.code.report.NdjsonReportWriter;
+import com.br.code.report.ReportDataBuilder;
 import com.br.code.report.ReportPrinter;
+import com.br.code.report.sink.OrderedReportSink;
+import com.br.code.report.sink.ReportSink;
 import com.br.code.service.ApiService;
 import com.br.code.service.AssemblyService;
+import com.br.code.service.BacktestService;
 import com.br.code.service.CalculationService;
+import com.br.code.service.HistorySyncService;
 import com.br.code.simulation.MonteCarloSimulator;
+import com.br.code.util.DrawIndex;
+import com.br.code.util.JsonUtils;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Monta a execução como um grafo de dependências.
+ * <p>
+ * As entradas independentes — arquivo de assembleias, {@code latest},
+ * histórico e as simulações, que só dependem da configuração — começam
+ * juntas; cada etapa de CPU (parse, índice) começa assim que a sua entrada
+ * chega. Cada seção do relatório tem a sua vaga reservada em um
+ * {@link OrderedReportSink} e é montada assim que a etapa de que precisa
+ * termina, em qualquer thread; o console recebe as seções na ordem de
+ * sempre. O tempo total tende ao da entrada mais lenta, e a linha do tempo
+ * das etapas vai para o stderr.
+ * <p>
+ * Com {@code --json}, o mesmo resultado também sai como uma linha NDJSON
+ * (ver {@link NdjsonReportWriter}); com {@code --sem-texto}, as seções de
+ * texto nem são montadas.
+ */
 public class ConsorcioOrchestrator {
+    private static final int THREADS_IO = 4;
+    private static final long TIMEOUT_LATEST_S = 30;
+
     private final ApiService apiService = new ApiService();
-    private final AssemblyService assemblyService = new AssemblyService();
-    private final CalculationService calcService = new CalculationService();
-    private final MonteCarloSimulator simulator = new MonteCarloSimulator(calcService);
-    private final ReportPrinter printer = new ReportPrinter(calcService);
+    private final NdjsonReportWriter json;
+    private final boolean texto;
+
+    public ConsorcioOrchestrator() {
+        this(null, true);
+    }
+
+    /**
+     * @param json  destino do relatório estruturado, ou {@code null}
+     * @param texto {@code false} para pular o relatório em texto
+     */
+    public ConsorcioOrchestrator(NdjsonReportWriter json, boolean texto) {
+        this.json = json;
+        this.texto = texto;
+    }
 
     public void executar() {
-        try {
-            printer.imprimirCabecalho();
-            var minhas = assemblyService.getMinhasAssembleias();
+        StageTimer etapas = new StageTimer();
+        ExecutorService io = Executors.newFixedThreadPool(THREADS_IO, novaThread());
+        try (OrderedReportSink relatorio = new OrderedReportSink(ReportSink.console())) {
+            // serviços montados por execução sobre o retrato corrente da configuração
+            etapas.medir("config", ConsorcioConfig::recarregarSeAlterado);
+            CalculationService calcService = new CalculationService(ConsorcioConfig.snapshot());
+            ReportPrinter printer = new ReportPrinter(calcService, relatorio);
+
+            // vagas na ordem do relatório, preenchidas à medida que as etapas terminam
+            ReportSink cabecalho = relatorio.reservar();
+            ReportSink avisos = relatorio.reservar();
+            ReportSink mensagensHistorico = relatorio.reservar();
+            ReportSink secaoUltimo = relatorio.reservar();
+            ReportSink secaoCompleto = relatorio.reservar();
+            ReportSink secaoAdicionais = relatorio.reservar();
+            MonteCarloSimulator simulator = new MonteCarloSimulator(calcService);
+
+            if (texto) printer.em(cabecalho).imprimirCabecalho();
+            cabecalho.close();
+
+            // o prazo vale para a consulta do latest (com as novas tentativas); vencido, segue sem ele
+            CompletableFuture<Draw> ultimo = etapas.iniciarAssincrona("latest",
+                            () -> apiService.fetchLatestAsync().completeOnTimeout(null, TIMEOUT_LATEST_S, TimeUnit.SECONDS), io)
+                    .thenApplyAsync(etapas.etapa("parse latest", json -> json == null ? null : JsonUtils.parseDraw(json)), io);
+            // leitura local e rápida: sem assembleias, nem a simulação nem a sincronização começam,
+            // e o shutdown do pool não interrompe uma gravação da store no meio
+            List<AssemblyData> minhas = etapas.medir("assembleias", () -> {
+                try {
+                    return new AssemblyService(calcService.getConfig(), avisos).getMinhasAssembleias();
+                } finally {
+                    avisos.close();
+                }
+            });
             if (minhas.isEmpty()) return;
 
-            var latest = CompletableFuture.supplyAsync(apiService::fetchLatest).get(30, TimeUnit.SECONDS);
-            var historical = CompletableFuture.supplyAsync(apiService::fetchHistorical).get(30, TimeUnit.SECONDS);
+            CompletableFuture<Void> simulacao = etapas.iniciar("simulação", () -> {
+                simulator.precalcular();
+                return null;
+            }, io);
+
+            // o histórico começa junto com as outras entradas; suas mensagens têm vaga própria
+            CompletableFuture<List<Draw>> historico;
+            if ("incremental".equals(calcService.getConfig().historicoSincronizacao())) {
+                historico = ultimo.thenApplyAsync(etapas.etapa("sincronização", u -> {
+                    try {
+                        return new HistorySyncService(apiService, mensagensHistorico).sincronizar(u);
+                    } finally {
+                        mensagensHistorico.close();
+                    }
+                }), io);
+            } else {
+                historico = etapas.iniciar("historical", () -> {
+                            try {
+                                return apiService.fetchHistorical(mensagensHistorico);
+                            } finally {
+                                mensagensHistorico.close();
+                            }
+                        }, io)
+                        .thenApplyAsync(etapas.etapa("parse histórico", JsonUtils::parseDrawsSafely), io);
+            }
+            CompletableFuture<DrawIndex> indice = historico.thenApplyAsync(etapas.etapa("índice", DrawIndex::de), io);
+
+            CompletableFuture<Void> secoes = !texto ? simulacao : CompletableFuture.allOf(
+                    ultimo.thenAcceptAsync(u -> preencher(secaoUltimo,
+                            () -> printer.em(secaoUltimo).imprimirUltimoSorteio(u, calcService)), io),
+                    indice.thenAcceptAsync(i -> preencher(secaoCompleto,
+                            () -> printer.em(secaoCompleto).imprimirRelatorioCompleto(minhas, i, calcService)), io),
+                    indice.thenAcceptBothAsync(simulacao, (i, s) -> preencher(secaoAdicionais,
+                            () -> printer.em(secaoAdicionais).imprimirAnalisesAdicionais(minhas, i, calcService, simulator)), io));
+            // gráfico e PDF no pool de relatórios, em paralelo com as seções de texto
+            CompletableFuture<Void> arquivos = !texto ? CompletableFuture.completedFuture(null)
+                    : indice.thenCombine(simulacao, (i, s) -> i)
+                    .thenCompose(i -> printer.gerarArquivos(minhas, i, calcService, simulator));
+            // sem prazo global: cada requisição já tem o seu (NetworkUtils)
+            indice.join();
+            secoes.join();
+            arquivos.join();
+            if (texto) printer.imprimirRodape();
+            relatorio.close();
+            if (json != null) {
+                json.escrever(ReportDataBuilder.montar(calcService, ultimo.join(), minhas, indice.join(),
+                        simulator, etapas.temposMs()));
+            }
+            etapas.imprimir();
+        } catch (Exception e) {
+            System.err.println("Erro crítico: " + e.getMessage());
+        } finally {
+            io.shutdownNow();
+        }
+    }
+
+    /**
+     * Modo {@code --backtest}: sincroniza o histórico, confere todas as cotas do
+     * grupo em todas as assembleias e grava a tabela por cota em {@code saida}.
+     */
+    public void executarBacktest(Path saida) {
+        try {
+            ConsorcioConfig.recarregarSeAlterado();
+            CalculationService calcService = new CalculationService(ConsorcioConfig.snapshot());
+            ReportPrinter printer = new ReportPrinter(calcService);
+
+            String latest = apiService.fetchLatestAsync().get(30, TimeUnit.SECONDS);
+            Draw ultimo = latest == null ? null : JsonUtils.parseDraw(latest);
+            List<Draw> historico = "incremental".equals(calcService.getConfig().historicoSincronizacao())
+                    ? new HistorySyncService(apiService).sincronizar(ultimo)
+                    : JsonUtils.parseDrawsSafely(apiService.fetchHistorical());
+            if (historico.isEmpty()) {
+                System.out.println("ERRO: histórico de sorteios indisponível.");
+                return;
+            }
 
-            printer.imprimirUltimoSorteio(latest, calcService);
-            printer.imprimirRelatorioCompleto(minhas, historical, calcService);
-            printer.imprimirAnalisesAdicionais(calcService, simulator);
-            printer.imprimirRodape();
+            ConfigSnapshot cfg = calcService.getConfig();
+            List<LocalDate> datas = AssemblyService.datasDoGrupo(
+                    AssemblyService.lerPorGrupo(Paths.get(cfg.assembleiasFile()), null), cfg.grupo());
+            if (datas.isEmpty()) {
+                System.out.println("AVISO: sem assembleias em '" + cfg.assembleiasFile()
+                        + "'; backtest com uma assembleia por mês (último sorteio do mês).");
+            }
+            BacktestService.Resultado r = new BacktestService().executar(historico, datas);
+            BacktestWriter.escrever(r, saida);
+            printer.imprimirResumoBacktest(r, calcService);
+            System.out.println("BACKTEST GRAVADO: " + saida);
         } catch (Exception e) {
             System.err.println("Erro crítico: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    /** Monta a seção e fecha a vaga, mesmo em erro, para não prender as seguintes. */
+    private static void preencher(ReportSink vaga, Runnable secao) {
+        try {
+            secao.run();
+        } finally {
+            vaga.close();
+        }
+    }
+
+    private static ThreadFactory novaThread() {
+        AtomicInteger n = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, "orquestrador-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
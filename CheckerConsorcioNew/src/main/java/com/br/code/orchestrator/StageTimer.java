@@ -0,0 +1,115 @@
+package com.br.code.orchestrator;
+
+import com.br.code.metrics.Metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Cronometra as etapas do grafo de execução do orquestrador: cada etapa
+ * registra início e fim relativos ao começo da execução, de qualquer thread,
+ * e alimenta o timer {@code etapa.<nome>} do {@link Metrics}.
+ */
+class StageTimer {
+    private final long inicio = System.nanoTime();
+    private final ConcurrentLinkedQueue<Etapa> etapas = new ConcurrentLinkedQueue<>();
+
+    record Etapa(String nome, long inicioNs, long fimNs, String thread) {
+        double duracaoMs() { return (fimNs - inicioNs) / 1e6; }
+    }
+
+    void medir(String nome, Runnable r) {
+        long t0 = System.nanoTime();
+        try {
+            r.run();
+        } finally {
+            registrar(nome, t0);
+        }
+    }
+
+    <T> T medir(String nome, Supplier<T> s) {
+        long t0 = System.nanoTime();
+        try {
+            return s.get();
+        } finally {
+            registrar(nome, t0);
+        }
+    }
+
+    <T> CompletableFuture<T> iniciar(String nome, Supplier<T> s, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> {
+            long t0 = System.nanoTime();
+            try {
+                return s.get();
+            } finally {
+                registrar(nome, t0);
+            }
+        }, executor);
+    }
+
+    /**
+     * Etapa assíncrona por natureza (p.ex. {@code HttpClient.sendAsync}): é disparada no
+     * executor, para que nem a montagem da requisição segure a thread chamadora, e
+     * termina quando o futuro devolvido completa.
+     */
+    <T> CompletableFuture<T> iniciarAssincrona(String nome, Supplier<CompletableFuture<T>> s, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> {
+            long t0 = System.nanoTime();
+            return s.get().whenComplete((v, e) -> registrar(nome, t0));
+        }, executor).thenCompose(f -> f);
+    }
+
+    <T, R> Function<T, R> etapa(String nome, Function<T, R> f) {
+        return t -> {
+            long t0 = System.nanoTime();
+            try {
+                return f.apply(t);
+            } finally {
+                registrar(nome, t0);
+            }
+        };
+    }
+
+    List<Etapa> etapas() {
+        List<Etapa> l = new ArrayList<>(etapas);
+        l.sort(Comparator.comparingLong(Etapa::inicioNs));
+        return l;
+    }
+
+    /** Duração de cada etapa, em ordem de início, mais o {@code total} até agora. */
+    Map<String, Double> temposMs() {
+        Map<String, Double> tempos = new LinkedHashMap<>();
+        for (Etapa e : etapas()) tempos.put(e.nome(), e.duracaoMs());
+        tempos.put("total", totalNs() / 1e6);
+        return tempos;
+    }
+
+    long totalNs() {
+        return System.nanoTime() - inicio;
+    }
+
+    /** Linha do tempo no stderr, para não misturar com o relatório; só com {@code --metrics}. */
+    void imprimir() {
+        if (!Metrics.habilitado()) return;
+        System.err.println("Etapas (ms desde o início):");
+        for (Etapa e : etapas()) {
+            System.err.printf("  %-18s %8.1f → %8.1f  (%7.1f ms)  [%s]%n", e.nome(),
+                    (e.inicioNs() - inicio) / 1e6, (e.fimNs() - inicio) / 1e6, e.duracaoMs(), e.thread());
+        }
+        System.err.printf("  %-18s %8.1f ms%n", "total", totalNs() / 1e6);
+    }
+
+    private void registrar(String nome, long t0) {
+        Etapa e = new Etapa(nome, t0, System.nanoTime(), Thread.currentThread().getName());
+        etapas.add(e);
+        Metrics.timer("etapa." + nome).registrar(e.fimNs() - e.inicioNs());
+    }
+}
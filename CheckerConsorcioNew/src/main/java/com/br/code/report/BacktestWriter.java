@@ -0,0 +1,61 @@
+package com.br.code.report;
+
+import com.br.code.model.CotaBacktest;
+import com.br.code.service.BacktestService;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Grava o backtest do grupo: CSV com {@code ;} (como o arquivo de assembleias)
+ * ou, se o arquivo terminar em {@code .bin}, uma tabela binária big-endian:
+ * <pre>
+ * int MAGIC ("BTST"), short VERSAO, short reservado, int assembleias, int cotas
+ * por cota (20 bytes): int cota, int diretas, int ajustes,
+ *                      int primeira (ano × 12 + mês − 1, ou −1), int primeiraDireta (0/1)
+ * </pre>
+ */
+public class BacktestWriter {
+    public static final int MAGIC = 0x42545354;
+    public static final short VERSAO = 1;
+
+    public static void escrever(BacktestService.Resultado r, Path arquivo) throws IOException {
+        if (arquivo.getFileName().toString().endsWith(".bin")) escreverBinario(r, arquivo);
+        else escreverCsv(r, arquivo);
+    }
+
+    public static void escreverCsv(BacktestService.Resultado r, Path arquivo) throws IOException {
+        try (BufferedWriter w = Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8)) {
+            w.write("cota;contemplacoes;diretas;ajustes;primeira_contemplacao;primeira_tipo");
+            w.newLine();
+            for (CotaBacktest c : r.cotas()) {
+                w.write(String.format("%03d", c.cota()) + ';' + c.contemplacoes() + ';' + c.diretas() + ';' + c.ajustes() + ';'
+                        + (c.primeira() == null ? "" : c.primeira().toString()) + ';'
+                        + (c.primeira() == null ? "" : c.primeiraDireta() ? "direta" : "ajuste"));
+                w.newLine();
+            }
+        }
+    }
+
+    public static void escreverBinario(BacktestService.Resultado r, Path arquivo) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(arquivo)))) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSAO);
+            out.writeShort(0);
+            out.writeInt(r.assembleias());
+            out.writeInt(r.cotas().size());
+            for (CotaBacktest c : r.cotas()) {
+                out.writeInt(c.cota());
+                out.writeInt(c.diretas());
+                out.writeInt(c.ajustes());
+                out.writeInt(c.primeira() == null ? -1 : c.primeira().getYear() * 12 + c.primeira().getMonthValue() - 1);
+                out.writeInt(c.primeiraDireta() ? 1 : 0);
+            }
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.br.code.report;
+
+import com.br.code.model.RelatorioCota;
+import org.json.JSONWriter;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Grava um {@link RelatorioCota} por linha (NDJSON) em um arquivo ou no stdout.
+ * <p>
+ * Cada objeto é escrito campo a campo por um {@link JSONWriter} direto no
+ * {@link Writer} bufferizado, sem montar um {@code JSONObject} intermediário.
+ * Datas vão em ISO ({@code 2025-10-28}, {@code 2026-01}), probabilidades como
+ * fração (0..1), cada percentil simulado com o seu {@code erro*} (semi-amplitude
+ * do IC de 95%) e números não finitos como {@code null}. Pode ser chamado de
+ * várias threads: as linhas nunca se misturam.
+ */
+public final class NdjsonReportWriter implements Closeable {
+    private final Writer out;
+    private final boolean fecharDestino;
+
+    private NdjsonReportWriter(Writer out, boolean fecharDestino) {
+        this.out = out;
+        this.fecharDestino = fecharDestino;
+    }
+
+    /** {@code "-"} para o stdout; qualquer outro valor é o caminho do arquivo (sobrescrito). */
+    public static NdjsonReportWriter abrir(String destino) throws IOException {
+        if ("-".equals(destino)) {
+            return new NdjsonReportWriter(new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8)), false);
+        }
+        return new NdjsonReportWriter(Files.newBufferedWriter(Path.of(destino), StandardCharsets.UTF_8), true);
+    }
+
+    public synchronized void escrever(RelatorioCota r) {
+        try {
+            JSONWriter w = new JSONWriter(out).object()
+                    .key("grupo").value(r.grupo().isEmpty() ? null : r.grupo())
+                    .key("cota").value(r.cota())
+                    .key("entrada").value(r.entrada().toString());
+
+            RelatorioCota.EstatisticaGrupo e = r.estatisticaGrupo();
+            w.key("estatisticaGrupo").object()
+                    .key("totalCotas").value(e.totalCotas())
+                    .key("ativos").value(e.ativos())
+                    .key("desistentes").value(e.desistentes())
+                    .key("contemplados").value(e.contemplados())
+                    .endObject();
+
+            w.key("ultimoSorteio");
+            sorteio(w, r.ultimoSorteio());
+
+            w.key("assembleias").array();
+            for (RelatorioCota.Assembleia a : r.assembleias()) {
+                w.object().key("data").value(a.data().toString()).key("sorteio");
+                sorteio(w, a.sorteio());
+                w.endObject();
+            }
+            w.endArray();
+
+            w.key("taxaMensalGrupo").value(numero(r.taxaMensalGrupo()))
+                    .key("chanceLanceMensal").value(numero(r.chanceLanceMensal()));
+
+            w.key("projecao").array();
+            for (RelatorioCota.Projecao p : r.projecao()) {
+                w.object()
+                        .key("mes").value(p.mes().toString())
+                        .key("sorteio").value(numero(p.sorteio()))
+                        .key("sorteioELance").value(numero(p.sorteioELance()))
+                        .key("conservador").value(numero(p.conservador()))
+                        .key("realista").value(numero(p.realista()))
+                        .key("otimista").value(numero(p.otimista()))
+                        .endObject();
+            }
+            w.endArray();
+
+            w.key("simulacao");
+            simulacao(w, r.simulacao());
+
+            w.key("temposMs").object();
+            for (Map.Entry<String, Double> t : r.temposMs().entrySet()) {
+                w.key(t.getKey()).value(numero(t.getValue()));
+            }
+            w.endObject();
+
+            w.endObject();
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao gravar NDJSON: " + e.getMessage(), e);
+        }
+    }
+
+    private static void sorteio(JSONWriter w, RelatorioCota.Sorteio s) {
+        if (s == null) {
+            w.value(null);
+            return;
+        }
+        w.object()
+                .key("data").value(s.data().toString())
+                .key("status").value(s.status())
+                .key("posicao").value(s.posicao())
+                .endObject();
+    }
+
+    private static void simulacao(JSONWriter w, RelatorioCota.Simulacao s) {
+        if (s == null) {
+            w.value(null);
+            return;
+        }
+        w.object()
+                .key("modo").value(s.modo())
+                .key("meses").object()
+                .key("ensaios").value(s.ensaiosMeses())
+                .key("p10").value(s.mesesP10())
+                .key("p50").value(s.mesesP50())
+                .key("p90").value(s.mesesP90())
+                .key("erroP10").value(numero(s.erroMesesP10()))
+                .key("erroP50").value(numero(s.erroMesesP50()))
+                .key("erroP90").value(numero(s.erroMesesP90()))
+                .endObject();
+        w.key("cenarios").array();
+        for (RelatorioCota.Cenario c : s.cenarios()) {
+            w.object()
+                    .key("nome").value(c.nome())
+                    .key("ensaios").value(c.ensaios())
+                    .key("p10").value(numero(c.p10()))
+                    .key("p50").value(numero(c.p50()))
+                    .key("p90").value(numero(c.p90()))
+                    .key("erroP10").value(numero(c.erroP10()))
+                    .key("erroP50").value(numero(c.erroP50()))
+                    .key("erroP90").value(numero(c.erroP90()))
+                    .endObject();
+        }
+        w.endArray();
+        w.key("profissional").object()
+                .key("lance").value(numero(s.lance()))
+                .key("ensaios").value(s.ensaiosProfissional())
+                .key("chance12Meses").value(numero(s.chance12Meses()))
+                .key("erroChance12Meses").value(numero(s.erroChance12Meses()))
+                .key("lances").object()
+                .key("p10").value(numero(s.lanceP10()))
+                .key("p25").value(numero(s.lanceP25()))
+                .key("p50").value(numero(s.lanceP50()))
+                .key("p75").value(numero(s.lanceP75()))
+                .key("p90").value(numero(s.lanceP90()))
+                .key("erroP10").value(numero(s.erroLanceP10()))
+                .key("erroP25").value(numero(s.erroLanceP25()))
+                .key("erroP50").value(numero(s.erroLanceP50()))
+                .key("erroP75").value(numero(s.erroLanceP75()))
+                .key("erroP90").value(numero(s.erroLanceP90()))
+                .endObject()
+                .endObject();
+        w.endObject();
+    }
+
+    /** {@link JSONWriter} recusa NaN e infinitos. */
+    private static Object numero(double v) {
+        return Double.isFinite(v) ? v : null;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (fecharDestino) out.close();
+        else out.flush();
+    }
+}
@@ -0,0 +1,87 @@
+package com.br.code.report;
+
+import com.br.code.config.ConfigSnapshot;
+import com.br.code.model.AssemblyData;
+import com.br.code.model.CenarioProjecao;
+import com.br.code.model.ContemplationResult;
+import com.br.code.model.Draw;
+import com.br.code.model.RelatorioCota;
+import com.br.code.service.CalculationService;
+import com.br.code.service.ProjectionSeries;
+import com.br.code.service.ProjectionTable;
+import com.br.code.simulation.MonteCarloSimulator;
+import com.br.code.util.DrawIndex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Monta o {@link RelatorioCota} com os mesmos cálculos do {@link ReportPrinter},
+ * sem passar por texto. Usado pela saída NDJSON ({@code --json}); com
+ * {@code --sem-texto} é a única coisa feita por cota.
+ */
+public final class ReportDataBuilder {
+
+    private ReportDataBuilder() {
+    }
+
+    /**
+     * @param ultimo    último sorteio, ou {@code null}
+     * @param historico histórico completo; as assembleias são conferidas a partir de 30 dias antes da entrada
+     * @param simulator {@code null} para não incluir as simulações
+     */
+    public static RelatorioCota montar(CalculationService calcService, Draw ultimo, List<AssemblyData> minhas,
+                                       DrawIndex historico, MonteCarloSimulator simulator, Map<String, Double> temposMs) {
+        ConfigSnapshot cfg = calcService.getConfig();
+        RelatorioCota.EstatisticaGrupo estatistica = new RelatorioCota.EstatisticaGrupo(
+                cfg.ativos() + cfg.desistentes(), cfg.ativos(), cfg.desistentes(), cfg.contemplados());
+
+        RelatorioCota.Sorteio ultimoSorteio = ultimo == null ? null : conferir(calcService, ultimo);
+
+        List<RelatorioCota.Assembleia> assembleias = conferirAssembleias(calcService, minhas, historico);
+
+        ProjectionTable t = calcService.getProjecao();
+        return new RelatorioCota(cfg.grupo(), cfg.userConsortiumNumber(), cfg.suaEntrada(), estatistica,
+                ultimoSorteio, assembleias, t.taxaBase(), calcService.calculateChanceLanceMensal(),
+                projecao(t, calcService.getCenarios()),
+                simulator == null ? null : simulator.resumo(), temposMs);
+    }
+
+    /**
+     * Cada assembleia com a conferência do último sorteio antes dela
+     * ({@code sorteio} {@code null} quando não há); vazia sem histórico.
+     */
+    public static List<RelatorioCota.Assembleia> conferirAssembleias(CalculationService calcService,
+                                                                     List<AssemblyData> minhas, DrawIndex historico) {
+        List<RelatorioCota.Assembleia> assembleias = new ArrayList<>(minhas.size());
+        if (historico == null || historico.tamanho() == 0) return assembleias;
+        DrawIndex relevantes = historico.aPartirDe(calcService.getConfig().suaEntrada().minusDays(30));
+        for (AssemblyData ass : minhas) {
+            Draw draw = relevantes.ultimoSorteioAntesDe(ass.date());
+            assembleias.add(new RelatorioCota.Assembleia(ass.date(), draw == null ? null : conferir(calcService, draw)));
+        }
+        return assembleias;
+    }
+
+    private static RelatorioCota.Sorteio conferir(CalculationService calcService, Draw draw) {
+        ContemplationResult r = calcService.checkContemplation(calcService.extractHundreds(draw));
+        String status = r.isDirect() ? "DIRETA" : r.isAdjusted() ? "AJUSTE" : "NAO";
+        return new RelatorioCota.Sorteio(draw.data(), status, r.isContemplated() ? r.position() : 0);
+    }
+
+    /** As mesmas séries das seções de projeção do {@link ReportPrinter}, mês a mês até o limite. */
+    private static List<RelatorioCota.Projecao> projecao(ProjectionTable t, ProjectionSeries serie) {
+        int sorteio = serie.indice(CenarioProjecao.SORTEIO);
+        int comLance = serie.indice(CenarioProjecao.SORTEIO_E_LANCE);
+        int cons = serie.indice(CenarioProjecao.CONSERVADOR);
+        int real = serie.indice(CenarioProjecao.REALISTA);
+        int otim = serie.indice(CenarioProjecao.OTIMISTA);
+        List<RelatorioCota.Projecao> meses = new ArrayList<>(t.mesesAteLimite());
+        for (int m = 1; m <= t.mesesAteLimite(); m++) {
+            meses.add(new RelatorioCota.Projecao(serie.mes(m), serie.chance(sorteio, m), serie.chance(comLance, m),
+                    serie.chance(cons, m), serie.chance(real, m), serie.chance(otim, m)));
+        }
+        return meses;
+    }
+}
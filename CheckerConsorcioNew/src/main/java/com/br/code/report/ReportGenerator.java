@@ -1,9 +1,12 @@
 package com.br.code.report;
 
+import com.br.code.config.ConfigSnapshot;
 import com.br.code.config.ConsorcioConfig;
-import com.br.code.model.AssemblyData;
-import com.br.code.model.ContemplationResult;
+import com.br.code.metrics.Metrics;
+import com.br.code.model.Draw;
+import com.br.code.model.RelatorioCota;
 import com.br.code.service.CalculationService;
+import com.br.code.util.DrawIndex;
 import com.itextpdf.text.*;
 import com.itextpdf.text.pdf.PdfWriter;
 import org.jfree.chart.*;
@@ -12,31 +15,247 @@ import org.jfree.chart.plot.CategoryPlot;
 import org.jfree.chart.plot.PlotOrientation;
 import org.jfree.chart.renderer.category.LineAndShapeRenderer;
 import org.jfree.data.category.DefaultCategoryDataset;
-import org.json.JSONObject;
 
-import java.awt.*;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Shape;
+import java.awt.Stroke;
 import java.awt.geom.Ellipse2D;
-import java.io.FileOutputStream;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.Files;
-import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.time.YearMonth;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
+/**
+ * Gráfico de evolução (PNG) e relatório em PDF de uma cota.
+ * <p>
+ * A geração roda fora da thread do relatório, em um pool pequeno e limitado
+ * compartilhado pelo processo — no modo lote, centenas de PDFs disputam as
+ * mesmas {@value #THREADS_MAXIMO} threads, no máximo, em vez de uma por perfil.
+ * O gráfico é codificado uma vez em memória: os mesmos bytes vão para o
+ * arquivo PNG e para dentro do PDF, sem reler o arquivo. Fontes, cores e
+ * traços são montados uma única vez.
+ */
 public class ReportGenerator {
-    private final CalculationService calcService;
+    private static final Metrics.Timer GRAFICO = Metrics.timer("report.grafico");
+    private static final Metrics.Timer PDF = Metrics.timer("report.pdf");
+
+    private static final int THREADS_MAXIMO = 4;
+    private static final ExecutorService POOL = Executors.newFixedThreadPool(
+            Math.max(1, Math.min(THREADS_MAXIMO, Runtime.getRuntime().availableProcessors() / 2)), novaThread());
+
+    private static final int LARGURA_GRAFICO = 800;
+    private static final int ALTURA_GRAFICO = 400;
+    private static final Color COR_SERIE = new Color(24, 47, 94);
+    private static final Stroke TRACO_SERIE = new BasicStroke(3.0f);
+    private static final Shape PONTO_SERIE = new Ellipse2D.Double(-5, -5, 10, 10);
+
+    /** Fontes do PDF, criadas no primeiro uso (o {@code FontFactory} é caro) e só lidas depois. */
+    private static final class Estilos {
+        static final Font TITULO = FontFactory.getFont(FontFactory.HELVETICA, 18, Font.BOLD, BaseColor.BLUE);
+        static final Font SUBTITULO = FontFactory.getFont(FontFactory.HELVETICA, 12, Font.BOLD, BaseColor.BLACK);
+        static final Font NORMAL = FontFactory.getFont(FontFactory.HELVETICA, 10, Font.NORMAL, BaseColor.BLACK);
+        static final Font DESTAQUE = FontFactory.getFont(FontFactory.HELVETICA, 10, Font.BOLD, BaseColor.RED);
+        static final Font ALERTA = FontFactory.getFont(FontFactory.HELVETICA, 10, Font.BOLD, BaseColor.BLUE);
+        static final Font SUCESSO = FontFactory.getFont(FontFactory.HELVETICA, 10, Font.BOLD, BaseColor.GREEN);
+    }
+
+    private final ConfigSnapshot cfg;
 
     public ReportGenerator(CalculationService calcService) {
-        this.calcService = calcService;
+        this.cfg = calcService.getConfig();
     }
 
-    public void gerarGraficoEvolucao(DefaultCategoryDataset dataset) {
-        // ... (mesmo código de antes)
+    /**
+     * Monta os dados, o gráfico e o PDF no pool de relatórios. O futuro
+     * completa quando os dois arquivos estão gravados; falhas vão para o
+     * stderr e não interrompem o relatório em texto.
+     */
+    public CompletableFuture<Void> gerarAsync(Supplier<RelatorioCota> dados, DrawIndex sorteios) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                RelatorioCota r = dados.get();
+                byte[] grafico = gerarGraficoEvolucao(r);
+                gerarPDF(r, sorteios, grafico);
+            } catch (RuntimeException e) {
+                System.err.println("Erro ao gerar PDF: " + e.getMessage());
+            }
+        }, POOL);
     }
 
-    public void gerarPDF(List<AssemblyData> minhas, List<ContemplationResult> resultados, List<JSONObject> sorteios, double taxaGrupo, List<YearMonth> mesesProjetados) {
-        // ... (mesmo código de antes)
+    /** PNG do gráfico em memória; também gravado em {@code chart.output}. {@code null} se não houver assembleias. */
+    public byte[] gerarGraficoEvolucao(RelatorioCota r) {
+        if (r.assembleias().isEmpty()) return null;
+        long t0 = System.nanoTime();
+        try {
+            DefaultCategoryDataset dataset = new DefaultCategoryDataset();
+            int acumulado = 0;
+            for (RelatorioCota.Assembleia a : r.assembleias()) {
+                if (a.sorteio() != null && !"NAO".equals(a.sorteio().status())) acumulado++;
+                dataset.addValue(acumulado, "Contemplações", a.data().format(ConsorcioConfig.getMesAnoFormatter()));
+            }
+
+            JFreeChart chart = ChartFactory.createLineChart(
+                    "Evolução das Contemplações (Cota " + String.format("%03d", r.cota()) + ")",
+                    "Mês", "Contemplações Acumuladas", dataset,
+                    PlotOrientation.VERTICAL, true, true, false);
+            chart.setBackgroundPaint(Color.WHITE);
+            CategoryPlot plot = chart.getCategoryPlot();
+            NumberAxis rangeAxis = (NumberAxis) plot.getRangeAxis();
+            rangeAxis.setStandardTickUnits(NumberAxis.createIntegerTickUnits());
+            rangeAxis.setAutoRangeIncludesZero(true);
+
+            LineAndShapeRenderer renderer = new LineAndShapeRenderer();
+            renderer.setSeriesPaint(0, COR_SERIE);
+            renderer.setSeriesStroke(0, TRACO_SERIE);
+            renderer.setSeriesShape(0, PONTO_SERIE);
+            plot.setRenderer(renderer);
+
+            byte[] png = ChartUtils.encodeAsPNG(chart.createBufferedImage(LARGURA_GRAFICO, ALTURA_GRAFICO));
+            Files.write(Paths.get(cfg.chartOutput()), png);
+            return png;
+        } catch (IOException e) {
+            System.err.println("Erro ao salvar gráfico: " + e.getMessage());
+            return null;
+        } finally {
+            GRAFICO.registrarDesde(t0);
+        }
+    }
+
+    /**
+     * @param sorteios para os prêmios e centenas de cada assembleia
+     * @param grafico  PNG a embutir, ou {@code null}
+     */
+    public void gerarPDF(RelatorioCota r, DrawIndex sorteios, byte[] grafico) {
+        long t0 = System.nanoTime();
+        Document doc = new Document(PageSize.A4);
+        try (OutputStream os = new BufferedOutputStream(Files.newOutputStream(Paths.get(cfg.pdfOutput())))) {
+            PdfWriter.getInstance(doc, os);
+            doc.open();
+
+            Paragraph pTitle = new Paragraph("RELATÓRIO DE CONSÓRCIO - COTA " + String.format("%03d", r.cota()), Estilos.TITULO);
+            pTitle.setAlignment(Element.ALIGN_CENTER);
+            doc.add(pTitle);
+
+            doc.add(new Paragraph("Entrada: " + r.entrada().format(ConsorcioConfig.getDateFormatter()), Estilos.SUBTITULO));
+            doc.add(new Paragraph("Plano: " + cfg.totalParcelas() + " parcelas | Pagas: " + cfg.parcelasPagas()
+                    + " | Restantes: " + (cfg.totalParcelas() - cfg.parcelasPagas()), Estilos.SUBTITULO));
+            doc.add(new Paragraph("Projeção limitada até: "
+                    + cfg.limiteProjecao().format(ConsorcioConfig.getMesAnoFormatter()), Estilos.SUBTITULO));
+            doc.add(Chunk.NEWLINE);
+
+            adicionarHistorico(doc, r, sorteios);
+            adicionarProjecoes(doc, r);
+            adicionarEstatisticas(doc, r);
+
+            if (grafico != null) {
+                Image img = Image.getInstance(grafico);
+                img.scaleToFit(500, 300);
+                img.setAlignment(Element.ALIGN_CENTER);
+                doc.add(img);
+            }
+            doc.close();
+        } catch (IOException | DocumentException e) {
+            System.err.println("Erro ao gerar PDF: " + e.getMessage());
+        } finally {
+            PDF.registrarDesde(t0);
+        }
+    }
+
+    private void adicionarHistorico(Document doc, RelatorioCota r, DrawIndex sorteios) throws DocumentException {
+        for (RelatorioCota.Assembleia a : r.assembleias()) {
+            RelatorioCota.Sorteio s = a.sorteio();
+            if (s == null) continue;
+            Draw draw = sorteios.naData(s.data());
+            if (draw == null) continue;
+
+            doc.add(new Paragraph("Assembleia: " + a.data().format(ConsorcioConfig.getDateFormatter()), Estilos.SUBTITULO));
+            doc.add(new Paragraph("Sorteio: " + s.data().format(ConsorcioConfig.getDateFormatter()), Estilos.NORMAL));
+            StringBuilder premios = new StringBuilder();
+            for (int i = 0; i < draw.premios().length; i++) {
+                if (i > 0) premios.append(" | ");
+                premios.append(draw.premio(i));
+            }
+            doc.add(new Paragraph("Prêmios: " + premios, Estilos.NORMAL));
+            StringBuilder centenas = new StringBuilder();
+            for (short c : draw.centenas()) {
+                if (centenas.length() > 0) centenas.append(" | ");
+                centenas.append(Draw.comZeros(c, 3));
+                if (c == r.cota()) centenas.append(" << SUA COTA");
+            }
+            doc.add(new Paragraph("Centenas: " + centenas, Estilos.NORMAL));
+            boolean contemplada = !"NAO".equals(s.status());
+            doc.add(new Paragraph("→ " + (contemplada ? s.status() : "NÃO"), contemplada ? Estilos.SUCESSO : Estilos.NORMAL));
+            doc.add(Chunk.NEWLINE);
+        }
+    }
+
+    private void adicionarProjecoes(Document doc, RelatorioCota r) throws DocumentException {
+        List<RelatorioCota.Projecao> projecao = r.projecao();
+        doc.add(new Paragraph("PROJEÇÃO APENAS SORTEIO", Estilos.SUBTITULO));
+        for (int i = 0; i < projecao.size(); i++) {
+            RelatorioCota.Projecao p = projecao.get(i);
+            String linha = p.mes().format(ConsorcioConfig.getMesAnoFormatter()) + " → " + String.format("%.1f%%", p.sorteio() * 100);
+            doc.add(new Paragraph(linha, i == projecao.size() - 1 ? Estilos.DESTAQUE : Estilos.NORMAL));
+        }
+
+        doc.add(Chunk.NEWLINE);
+        doc.add(new Paragraph(String.format("PROJEÇÃO COM LANCE %.0f%% (R$ %.2f)",
+                cfg.percentualLanceEmbutido() * 100, cfg.valorLance()), Estilos.SUBTITULO));
+        doc.add(new Paragraph("Chance mensal de vencer lance: " + String.format("%.1f%%", r.chanceLanceMensal() * 100)
+                + " (simulação realista)", Estilos.NORMAL));
+        for (RelatorioCota.Projecao p : projecao) {
+            doc.add(new Paragraph(String.format("  %s → %-31s  %.1f%%", p.mes().format(ConsorcioConfig.getMesAnoFormatter()),
+                    gerarBarra(p.sorteioELance(), 30), p.sorteioELance() * 100), Estilos.NORMAL));
+        }
+    }
+
+    private void adicionarEstatisticas(Document doc, RelatorioCota r) throws DocumentException {
+        doc.add(Chunk.NEWLINE);
+        doc.add(new Paragraph("ESTATÍSTICAS AVANÇADAS", Estilos.SUBTITULO));
+
+        int diretas = 0, ajustes = 0;
+        for (RelatorioCota.Assembleia a : r.assembleias()) {
+            if (a.sorteio() == null) continue;
+            if ("DIRETA".equals(a.sorteio().status())) diretas++;
+            if ("AJUSTE".equals(a.sorteio().status())) ajustes++;
+        }
+        doc.add(new Paragraph("Diretas: " + diretas + " | Ajustes: " + ajustes, Estilos.NORMAL));
+
+        RelatorioCota.Simulacao sim = r.simulacao();
+        if (sim != null) {
+            doc.add(new Paragraph("Mediana de contemplação (Monte Carlo): " + sim.mesesP50() + " meses", Estilos.NORMAL));
+        }
+        doc.add(new Paragraph("Chance mensal real de lance: " + String.format("%.1f%%", r.chanceLanceMensal() * 100), Estilos.NORMAL));
+
+        if (!r.projecao().isEmpty()) {
+            double chanceMaxima = r.projecao().get(r.projecao().size() - 1).sorteioELance();
+            doc.add(new Paragraph("Chance máxima até " + cfg.limiteProjecao().format(ConsorcioConfig.getMesAnoFormatter())
+                    + " (sorteio + lance): " + String.format("%.1f%%", chanceMaxima * 100), Estilos.DESTAQUE));
+        }
+        if (sim == null) return;
+
+        double valorFuturoBem = cfg.valorCredito() * Math.pow(1.045, sim.mesesP50() / 12.0);
+        double ganhoReal = valorFuturoBem - cfg.valorCredito() - cfg.valorLance();
+        Font estilo = ganhoReal > 0 ? Estilos.SUCESSO : Estilos.ALERTA;
+        doc.add(new Paragraph("GANHO LÍQUIDO REAL (com lance): R$ " + String.format("%.2f", ganhoReal), estilo));
+        doc.add(new Paragraph("RECOMENDAÇÃO: " + (ganhoReal > 0 ? "USE LANCE AGORA!" : "AGUARDE SORTEIO"), estilo));
+
+        doc.add(Chunk.NEWLINE);
+        doc.add(new Paragraph("SIMULAÇÃO PROFISSIONAL (12 meses)", Estilos.SUBTITULO));
+        doc.add(new Paragraph(String.format("Chance de vencer com R$ %.0f em 12 meses: %.1f%%",
+                sim.lance(), sim.chance12Meses() * 100), Estilos.NORMAL));
+        doc.add(new Paragraph(String.format("P10: %.0fk | P25: %.0fk | P50: %.0fk | P75: %.0fk | P90: %.0fk",
+                sim.lanceP10() / 1000, sim.lanceP25() / 1000, sim.lanceP50() / 1000,
+                sim.lanceP75() / 1000, sim.lanceP90() / 1000), Estilos.NORMAL));
     }
 
     private String gerarBarra(double chance, int tamanho) {
@@ -46,4 +265,13 @@ public class ReportGenerator {
         if (preenchido < tamanho) b.append("░");
         return String.format("%-" + (tamanho + 1) + "s", b);
     }
-}
\ No newline at end of file
+
+    private static ThreadFactory novaThread() {
+        AtomicInteger n = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, "relatorio-pdf-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
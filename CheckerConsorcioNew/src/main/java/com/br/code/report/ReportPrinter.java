@@ -1,308 +1,453 @@
 package com.br.code.report;
 
+import com.br.code.config.ConfigSnapshot;
 import com.br.code.config.ConsorcioConfig;
 import com.br.code.model.AssemblyData;
+import com.br.code.model.CenarioProjecao;
 import com.br.code.model.ContemplationResult;
+import com.br.code.model.CotaBacktest;
+import com.br.code.model.Draw;
+import com.br.code.model.RelatorioCota;
+import com.br.code.report.sink.ReportSink;
+import com.br.code.report.sink.Secao;
+import com.br.code.service.BacktestService;
 import com.br.code.service.CalculationService;
+import com.br.code.service.ProjectionSeries;
+import com.br.code.service.ProjectionTable;
 import com.br.code.simulation.MonteCarloSimulator;
 import com.br.code.util.DateUtils;
-import com.br.code.util.JsonUtils;
-import org.json.JSONObject;
+import com.br.code.util.DrawIndex;
+import com.br.code.util.MathUtils;
 
 import java.time.LocalDate;
-import java.time.YearMonth;
-import java.time.temporal.ChronoUnit;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Classe responsável por **imprimir** todas as saídas no console.
  * <p>
- * Centraliza todo o {@code System.out.println} em um único lugar,
- * mantendo a lógica de negócio livre de I/O.
+ * Centraliza toda a saída em um único lugar, mantendo a lógica de negócio
+ * livre de I/O. Cada seção é montada em uma {@link Secao} e entregue inteira
+ * ao {@link ReportSink} (console por padrão; arquivo texto, HTML ou JSON no
+ * modo lote).
  * <p>
  * Recebe {@link CalculationService} por injeção para reutilizar cálculos.
  */
 public class ReportPrinter {
+    /** Margem conservadora da projeção simples (IC 95%). */
+    private static final double MARGEM_ERRO = 0.02;
+    private static final int HORIZONTE_CURVAS = 24;
+    private static final double FRACAO_ATIVOS_COM_LANCE = 0.30;
+    private static final double IPCA_ANUAL = 0.045;
+    private static final double RENDIMENTO_POUPANCA = 0.07;
 
     private final ReportGenerator pdfGenerator;
+    private final ConfigSnapshot cfg;
+    private final ReportSink sink;
 
     public ReportPrinter(CalculationService calcService) {
-        this.pdfGenerator = new ReportGenerator(calcService);
+        this(calcService, ReportSink.console());
+    }
+
+    /** Escreve em {@code sink} com a configuração do {@code calcService} — um relatório por perfil no modo lote. */
+    public ReportPrinter(CalculationService calcService, ReportSink sink) {
+        this(new ReportGenerator(calcService), calcService.getConfig(), sink);
+    }
+
+    private ReportPrinter(ReportGenerator pdfGenerator, ConfigSnapshot cfg, ReportSink sink) {
+        this.pdfGenerator = pdfGenerator;
+        this.cfg = cfg;
+        this.sink = sink;
+    }
+
+    /**
+     * O mesmo relatório escrevendo em outro destino — tipicamente uma vaga de
+     * um {@link com.br.code.report.sink.OrderedReportSink}, para montar uma
+     * seção em outra thread sem perder a ordem.
+     */
+    public ReportPrinter em(ReportSink destino) {
+        return new ReportPrinter(pdfGenerator, cfg, destino);
     }
 
     /* ==============================================================
        1. CABEÇALHO
        ============================================================== */
     public void imprimirCabecalho() {
-        System.out.println("INICIANDO ANÁLISE v8.2 PARA A COTA: " + String.format("%03d", ConsorcioConfig.getUserConsortiumNumber()));
-        System.out.println("=".repeat(90));
-        imprimirEstatisticaGrupo();
-        System.out.println("SUA ENTRADA: " + ConsorcioConfig.getSuaEntrada().format(ConsorcioConfig.getDateFormatter()));
-        System.out.printf("Participou de %d assembleia(s).\n\n", 0); // será atualizado depois
+        Secao s = new Secao("Cabeçalho");
+        s.linha("INICIANDO ANÁLISE v8.2 PARA A COTA: " + String.format("%03d", cfg.userConsortiumNumber()));
+        s.linha("=".repeat(90));
+        imprimirEstatisticaGrupo(s);
+        s.linha("SUA ENTRADA: " + cfg.suaEntrada().format(ConsorcioConfig.getDateFormatter()));
+        s.printf("Participou de %d assembleia(s).\n\n", 0); // será atualizado depois
+        sink.escrever(s);
     }
 
-    private void imprimirEstatisticaGrupo() {
-        System.out.println("\nEstatística do Grupo:");
-        System.out.println("--------------------");
-        int totalCotas = ConsorcioConfig.getAtivos() + ConsorcioConfig.getDesistentes();
-        double propAtivos = (double) ConsorcioConfig.getAtivos() / totalCotas * 100;
-        double propDesist = (double) ConsorcioConfig.getDesistentes() / totalCotas * 100;
-        double propContemp = (double) ConsorcioConfig.getContemplados() / ConsorcioConfig.getAtivos() * 100;
-        System.out.printf("Total de cotas: %d%n", totalCotas);
-        System.out.printf("Ativos: %d (%.2f%% do total)%n", ConsorcioConfig.getAtivos(), propAtivos);
-        System.out.printf("Desistentes: %d (%.2f%% do total)%n", ConsorcioConfig.getDesistentes(), propDesist);
-        System.out.printf("Contemplados: %d (%.2f%% dos ativos)%n", ConsorcioConfig.getContemplados(), propContemp);
+    private void imprimirEstatisticaGrupo(Secao s) {
+        s.linha("\nEstatística do Grupo:");
+        s.linha("--------------------");
+        int totalCotas = cfg.ativos() + cfg.desistentes();
+        double propAtivos = (double) cfg.ativos() / totalCotas * 100;
+        double propDesist = (double) cfg.desistentes() / totalCotas * 100;
+        double propContemp = (double) cfg.contemplados() / cfg.ativos() * 100;
+        s.printf("Total de cotas: %d%n", totalCotas);
+        s.printf("Ativos: %d (%.2f%% do total)%n", cfg.ativos(), propAtivos);
+        s.printf("Desistentes: %d (%.2f%% do total)%n", cfg.desistentes(), propDesist);
+        s.printf("Contemplados: %d (%.2f%% dos ativos)%n", cfg.contemplados(), propContemp);
     }
 
     /* ==============================================================
        2. ÚLTIMO SORTEIO
        ============================================================== */
-    public void imprimirUltimoSorteio(String latestJson, CalculationService calcService) {
-        if (latestJson == null) return;
+    public void imprimirUltimoSorteio(Draw ultimo, CalculationService calcService) {
+        if (ultimo == null) return;
 
-        JSONObject ultimo = new JSONObject(latestJson);
-        System.out.println("ÚLTIMO SORTEIO:");
-        System.out.println("Data: " + ultimo.getString("data"));
-        List<String> premios = JsonUtils.parsePrizes(ultimo);
-        System.out.println("Prêmios: " + String.join(" | ", premios));
+        Secao s = new Secao("Último sorteio");
+        s.linha("ÚLTIMO SORTEIO:");
+        s.linha("Data: " + ultimo.data().format(ConsorcioConfig.getDateFormatter()));
+        s.linha("Prêmios: " + formatarPremios(ultimo));
 
-        List<Integer> centenas = calcService.extractHundreds(premios);
-        ContemplationResult r = calcService.checkContemplation(centenas);
+        ContemplationResult r = calcService.checkContemplation(calcService.extractHundreds(ultimo));
 
         if (r.isDirect()) {
-            System.out.println("PARABÉNS! DIRETA!");
+            s.linha("PARABÉNS! DIRETA!");
         } else if (r.isAdjusted()) {
-            System.out.println("Contemplado por AJUSTE!");
+            s.linha("Contemplado por AJUSTE!");
         } else {
-            System.out.println("Não contemplado.");
+            s.linha("Não contemplado.");
         }
-        System.out.println();
+        s.linha();
+        sink.escrever(s);
     }
 
     /* ==============================================================
        3. RELATÓRIO COMPLETO (HISTÓRICO + PROJEÇÃO)
        ============================================================== */
-    public void imprimirRelatorioCompleto(List<AssemblyData> minhas, String historicalJson, CalculationService calcService) {
-        if (historicalJson == null) return;
+    public void imprimirRelatorioCompleto(List<AssemblyData> minhas, List<Draw> historico, CalculationService calcService) {
+        if (historico == null || historico.isEmpty()) return;
+        imprimirRelatorioCompleto(minhas, DrawIndex.de(historico), calcService);
+    }
+
+    /** Variante para quem já montou o índice (o orquestrador o constrói assim que o histórico chega). */
+    public void imprimirRelatorioCompleto(List<AssemblyData> minhas, DrawIndex historico, CalculationService calcService) {
+        if (historico == null || historico.tamanho() == 0) return;
 
-        List<JSONObject> todosSorteios = JsonUtils.parseJsonSafely(historicalJson);
-        List<JSONObject> relevantes = filtrarSorteiosRelevantes(todosSorteios);
+        DrawIndex relevantes = historico.aPartirDe(cfg.suaEntrada().minusDays(30));
 
         imprimirHistoricoAssembleias(minhas, relevantes, calcService);
         imprimirProjecaoSorteio(calcService);
         imprimirAnaliseLanceEmbutido(calcService);
         imprimirProjecaoAvancada(calcService);
-
-        // Gera PDF e gráfico
-        List<ContemplationResult> resultados = gerarResultados(minhas, relevantes, calcService);
-        var dataset = gerarDataset(minhas, resultados);
-        pdfGenerator.gerarGraficoEvolucao(dataset);
-        List<YearMonth> mesesProjetados = gerarMesesProjetados(calcService.calculateTaxaGrupo());
-        pdfGenerator.gerarPDF(minhas, resultados, relevantes, calcService.calculateTaxaGrupo(), mesesProjetados);
     }
 
-    private List<JSONObject> filtrarSorteiosRelevantes(List<JSONObject> todos) {
-        return todos.stream()
-                .filter(d -> {
-                    try {
-                        return !LocalDate.parse(d.getString("data"), ConsorcioConfig.getDateFormatter())
-                                .isBefore(ConsorcioConfig.getSuaEntrada().minusDays(30));
-                    } catch (Exception e) {
-                        return false;
-                    }
-                })
-                .collect(Collectors.toList());
+    /**
+     * Gráfico e PDF em segundo plano, no pool do {@link ReportGenerator}, a
+     * partir dos mesmos dados do relatório estruturado. Quem chama espera o
+     * futuro antes do {@link #imprimirRodape()}, que anuncia os arquivos.
+     */
+    public CompletableFuture<Void> gerarArquivos(List<AssemblyData> minhas, DrawIndex historico,
+                                                 CalculationService calcService, MonteCarloSimulator simulator) {
+        return pdfGenerator.gerarAsync(
+                () -> ReportDataBuilder.montar(calcService, null, minhas, historico, simulator, Map.of()), historico);
     }
 
-    private void imprimirHistoricoAssembleias(List<AssemblyData> minhas, List<JSONObject> sorteios, CalculationService calcService) {
-        System.out.println("HISTÓRICO DE ASSEMBLEIAS");
-        System.out.println("-".repeat(90));
+    private void imprimirHistoricoAssembleias(List<AssemblyData> minhas, DrawIndex sorteios, CalculationService calcService) {
+        Secao s = new Secao("Histórico de assembleias");
+        s.linha("HISTÓRICO DE ASSEMBLEIAS");
+        s.linha("-".repeat(90));
 
         int diretas = 0, ajustes = 0;
-        int acumulado = 0;
-        var dataset = new org.jfree.data.category.DefaultCategoryDataset();
 
         for (AssemblyData ass : minhas) {
             LocalDate dataAss = ass.date();
             LocalDate sorteio = DateUtils.findLatestDrawBeforeDate(sorteios, dataAss);
             if (sorteio == null) continue;
 
-            JSONObject draw = DateUtils.findDrawByDate(sorteios, sorteio);
+            Draw draw = DateUtils.findDrawByDate(sorteios, sorteio);
             if (draw == null) continue;
 
-            List<String> premios = JsonUtils.parsePrizes(draw);
-            List<Integer> centenas = calcService.extractHundreds(premios);
+            short[] centenas = calcService.extractHundreds(draw);
             ContemplationResult r = calcService.checkContemplation(centenas);
 
-            System.out.printf("%s → %s%n", dataAss.format(ConsorcioConfig.getDateFormatter()), sorteio.format(ConsorcioConfig.getDateFormatter()));
-            System.out.println("   Prêmios: " + String.join(" | ", premios));
-            System.out.println("   Centenas: " + centenas.stream()
-                    .map(c -> String.format("%03d%s", c, c == ConsorcioConfig.getUserConsortiumNumber() ? " << SUA COTA" : ""))
-                    .collect(Collectors.joining(" | ")));
+            s.printf("%s → %s%n", dataAss.format(ConsorcioConfig.getDateFormatter()), sorteio.format(ConsorcioConfig.getDateFormatter()));
+            s.linha("   Prêmios: " + formatarPremios(draw));
+            s.linha("   Centenas: " + formatarCentenas(centenas, cfg.userConsortiumNumber()));
 
             String status = r.isDirect() ? "DIRETA" : r.isAdjusted() ? "AJUSTE" : "NÃO";
             String detalhe = r.isContemplated() ? " (Pos " + r.position() + ")" : "";
-            System.out.printf("   → %s%s%n%n", status, detalhe);
+            s.printf("   → %s%s%n%n", status, detalhe);
 
             if (r.isDirect()) diretas++;
             if (r.isAdjusted()) ajustes++;
-
-            acumulado += r.isContemplated() ? 1 : 0;
-            dataset.addValue(acumulado, "Contemplações", dataAss.format(ConsorcioConfig.getMesAnoFormatter()));
         }
 
         int total = minhas.size();
         int totalContemplacoes = diretas + ajustes;
-        System.out.println("-".repeat(90));
-        System.out.printf("TOTAL: %d | DIRETAS: %d | AJUSTES: %d | TOTAL: %d (%.2f%%)%n",
+        s.linha("-".repeat(90));
+        s.printf("TOTAL: %d | DIRETAS: %d | AJUSTES: %d | TOTAL: %d (%.2f%%)%n",
                 total, diretas, ajustes, totalContemplacoes, total > 0 ? (double) totalContemplacoes / total * 100 : 0);
-        System.out.printf("TAXA MENSAL DO GRUPO: %.3f%%%n", calcService.calculateTaxaGrupo() * 100);
-    }
-
-    private List<ContemplationResult> gerarResultados(List<AssemblyData> minhas, List<JSONObject> sorteios, CalculationService calcService) {
-        List<ContemplationResult> resultados = new ArrayList<>();
-        for (AssemblyData ass : minhas) {
-            LocalDate sorteio = DateUtils.findLatestDrawBeforeDate(sorteios, ass.date());
-            if (sorteio == null) continue;
-            JSONObject draw = DateUtils.findDrawByDate(sorteios, sorteio);
-            if (draw == null) continue;
-            List<Integer> centenas = calcService.extractHundreds(JsonUtils.parsePrizes(draw));
-            resultados.add(calcService.checkContemplation(centenas));
-        }
-        return resultados;
-    }
-
-    private org.jfree.data.category.DefaultCategoryDataset gerarDataset(List<AssemblyData> minhas, List<ContemplationResult> resultados) {
-        var dataset = new org.jfree.data.category.DefaultCategoryDataset();
-        int acumulado = 0;
-        for (int i = 0; i < minhas.size(); i++) {
-            if (resultados.get(i).isContemplated()) acumulado++;
-            dataset.addValue(acumulado, "Contemplações", minhas.get(i).date().format(ConsorcioConfig.getMesAnoFormatter()));
-        }
-        return dataset;
-    }
-
-    private List<YearMonth> gerarMesesProjetados(double taxaGrupo) {
-        List<YearMonth> meses = new ArrayList<>();
-        YearMonth atual = ConsorcioConfig.getProximoMes();
-        while (!atual.isAfter(ConsorcioConfig.getLimiteProjecao())) {
-            meses.add(atual);
-            atual = atual.plusMonths(1);
-        }
-        return meses;
+        s.printf("TAXA MENSAL DO GRUPO: %.3f%%%n", calcService.calculateTaxaGrupo() * 100);
+        sink.escrever(s);
     }
 
     private void imprimirProjecaoSorteio(CalculationService calcService) {
-        double taxaGrupo = calcService.calculateTaxaGrupo();
-        System.out.println("\nPROJEÇÃO DE CHANCES (APENAS SORTEIO)");
-        System.out.println("Plano: " + ConsorcioConfig.getTotalParcelas() + " parcelas | Pagas: " + ConsorcioConfig.getParcelasPagas() + " | Restantes: " + (ConsorcioConfig.getTotalParcelas() - ConsorcioConfig.getParcelasPagas()));
-        System.out.println("Projeção limitada até: " + ConsorcioConfig.getLimiteProjecao().format(ConsorcioConfig.getMesAnoFormatter()));
-        System.out.println("-".repeat(80));
-
-        YearMonth atual = ConsorcioConfig.getProximoMes();
+        Secao s = new Secao("Projeção de chances");
+        s.linha("\nPROJEÇÃO DE CHANCES (APENAS SORTEIO)");
+        s.linha("Plano: " + cfg.totalParcelas() + " parcelas | Pagas: " + cfg.parcelasPagas() + " | Restantes: " + (cfg.totalParcelas() - cfg.parcelasPagas()));
+        s.linha("Projeção limitada até: " + cfg.limiteProjecao().format(ConsorcioConfig.getMesAnoFormatter()));
+        s.linha("-".repeat(80));
+
+        ProjectionSeries serie = calcService.getCenarios();
+        int sorteio = serie.indice(CenarioProjecao.SORTEIO);
+        int meses = calcService.getProjecao().mesesAteLimite();
         double chanceMaxima = 0;
-        while (!atual.isAfter(ConsorcioConfig.getLimiteProjecao())) {
-            long n = ChronoUnit.MONTHS.between(ConsorcioConfig.getProximoMes(), atual) + 1;
-            double chance = 1 - Math.pow(1 - taxaGrupo, n);
-            System.out.printf("  %s → %.1f%%%n", atual.format(ConsorcioConfig.getMesAnoFormatter()), chance * 100);
+        for (int m = 1; m <= meses; m++) {
+            double chance = serie.chance(sorteio, m);
+            s.printf("  %s → %.1f%%%n", serie.mes(m).format(ConsorcioConfig.getMesAnoFormatter()), chance * 100);
             chanceMaxima = chance;
-            atual = atual.plusMonths(1);
         }
-        System.out.printf("\nCHANCE MÁXIMA ATÉ DEZ/26: %.1f%%%n", chanceMaxima * 100);
+        s.printf("\nCHANCE MÁXIMA ATÉ DEZ/26: %.1f%%%n", chanceMaxima * 100);
+        sink.escrever(s);
     }
 
     private void imprimirAnaliseLanceEmbutido(CalculationService calcService) {
-        double valorLance = ConsorcioConfig.getValorCredito() * ConsorcioConfig.getPercentualLanceEmbutido();
+        double valorLance = cfg.valorCredito() * cfg.percentualLanceEmbutido();
         double pLance = calcService.calculateChanceLanceMensal();
 
-        System.out.println("\nANÁLISE DE LANCE EMBUTIDO (25%)");
-        System.out.println("-".repeat(60));
-        System.out.printf("Valor do crédito: R$ %.2f%n", ConsorcioConfig.getValorCredito());
-        System.out.printf("Lance embutido (25%%): R$ %.2f%n", valorLance);
-        System.out.printf("Crédito restante: R$ %.2f%n", ConsorcioConfig.getValorCredito() - valorLance);
-        System.out.printf("Chance mensal de vencer lance: %.1f%%%n", pLance * 100);
-
-        System.out.println("\nPROJEÇÃO COM LANCE 25% (Sorteio + Lance)");
-        System.out.println("-".repeat(60));
-
-        YearMonth mes = ConsorcioConfig.getProximoMes();
-        double taxaGrupo = calcService.calculateTaxaGrupo();
-        int meses = 0;
-        while (!mes.isAfter(ConsorcioConfig.getLimiteProjecao())) {
-            meses++;
-            double naoSorteio = Math.pow(1 - taxaGrupo, meses);
-            double naoLance = Math.pow(1 - pLance, meses);
-            double chance = 1 - (naoSorteio * naoLance);
+        Secao s = new Secao("Lance embutido");
+        s.linha("\nANÁLISE DE LANCE EMBUTIDO (25%)");
+        s.linha("-".repeat(60));
+        s.printf("Valor do crédito: R$ %.2f%n", cfg.valorCredito());
+        s.printf("Lance embutido (25%%): R$ %.2f%n", valorLance);
+        s.printf("Crédito restante: R$ %.2f%n", cfg.valorCredito() - valorLance);
+        s.printf("Chance mensal de vencer lance: %.1f%%%n", pLance * 100);
+
+        s.linha("\nPROJEÇÃO COM LANCE 25% (Sorteio + Lance)");
+        s.linha("-".repeat(60));
+
+        ProjectionSeries serie = calcService.getCenarios();
+        int comLance = serie.indice(CenarioProjecao.SORTEIO_E_LANCE);
+        int meses = calcService.getProjecao().mesesAteLimite();
+        for (int m = 1; m <= meses; m++) {
+            double chance = serie.chance(comLance, m);
             String barra = gerarBarra(chance, 30);
-            System.out.printf("  %s → %s  %.1f%%%n", mes.format(ConsorcioConfig.getMesAnoFormatter()), barra, chance * 100);
-            mes = mes.plusMonths(1);
+            s.printf("  %s → %s  %.1f%%%n", serie.mes(m).format(ConsorcioConfig.getMesAnoFormatter()), barra, chance * 100);
         }
+        sink.escrever(s);
     }
 
+    /** Conservador, realista e otimista, mais uma coluna por cenário de {@code projecao.cenarios}. */
     private void imprimirProjecaoAvancada(CalculationService calcService) {
-        System.out.println("\nPROJEÇÃO AVANÇADA (3 CENÁRIOS)");
-        System.out.println("-".repeat(70));
-        System.out.printf("  %-8s %-12s %-12s %-12s%n", "Mês", "Conservador", "Realista", "Otimista");
-        System.out.println("-".repeat(70));
-
-        double taxaBase = calcService.calculateTaxaGrupo();
-        double pLance = calcService.calculateChanceLanceMensal();
-        YearMonth mes = ConsorcioConfig.getProximoMes();
-
-        while (!mes.isAfter(ConsorcioConfig.getLimiteProjecao())) {
-            int m = (int) ChronoUnit.MONTHS.between(ConsorcioConfig.getProximoMes(), mes) + 1;
-
-            double pCons = 1 - Math.pow(1 - taxaBase, m) * Math.pow(1 - pLance * 0.8, m);
-            double ativosProj = ConsorcioConfig.getAtivos() * Math.pow(1 - ConsorcioConfig.getTaxaDesistenciaMensal(), m);
-            double taxaReal = Math.min(0.10, taxaBase * (ConsorcioConfig.getAtivos() / ativosProj));
-            double pReal = 1 - Math.pow(1 - taxaReal, m) * Math.pow(1 - pLance, m);
-            double pOtim = 1 - Math.pow(1 - taxaBase * 1.5, m) * Math.pow(1 - pLance * 1.1, m);
-
-            System.out.printf("  %s  %s %.1f%%   %s %.1f%%   %s %.1f%%%n",
-                    mes.format(ConsorcioConfig.getMesAnoFormatter()),
+        ProjectionSeries serie = calcService.getCenarios();
+        int cons = serie.indice(CenarioProjecao.CONSERVADOR);
+        int real = serie.indice(CenarioProjecao.REALISTA);
+        int otim = serie.indice(CenarioProjecao.OTIMISTA);
+        List<CenarioProjecao> extras = cfg.cenariosProjecao();
+        int primeiroExtra = CenarioProjecao.PADRAO.size();
+
+        Secao s = new Secao("Projeção avançada");
+        s.printf("\nPROJEÇÃO AVANÇADA (%d CENÁRIOS)%n", 3 + extras.size());
+        s.linha("-".repeat(70));
+        s.printf("  %-8s %-12s %-12s %-12s", "Mês", "Conservador", "Realista", "Otimista");
+        for (CenarioProjecao c : extras) s.printf(" %-12s", c.nome());
+        s.linha();
+        s.linha("-".repeat(70));
+
+        int meses = calcService.getProjecao().mesesAteLimite();
+        for (int m = 1; m <= meses; m++) {
+            double pCons = serie.chance(cons, m);
+            double pReal = serie.chance(real, m);
+            double pOtim = serie.chance(otim, m);
+
+            s.printf("  %s  %s %.1f%%   %s %.1f%%   %s %.1f%%",
+                    serie.mes(m).format(ConsorcioConfig.getMesAnoFormatter()),
                     gerarBarra(pCons, 15), pCons * 100,
                     gerarBarra(pReal, 15), pReal * 100,
                     gerarBarra(pOtim, 15), pOtim * 100);
-
-            mes = mes.plusMonths(1);
+            for (int c = 0; c < extras.size(); c++) {
+                double p = serie.chance(primeiroExtra + c, m);
+                s.printf("   %s %.1f%%", gerarBarra(p, 15), p * 100);
+            }
+            s.linha();
         }
+        sink.escrever(s);
     }
 
     /* ==============================================================
        4. ANÁLISES ADICIONAIS (chamadas via Orchestrator)
        ============================================================== */
-    public void imprimirAnalisesAdicionais(CalculationService calcService, MonteCarloSimulator simulator) {
-        imprimirEstatisticasDiretaAjuste();
-        imprimirProjecaoComMargemErro();
+    public void imprimirAnalisesAdicionais(List<AssemblyData> minhas, DrawIndex historico, CalculationService calcService,
+                                           MonteCarloSimulator simulator) {
+        ProjectionTable projecao = calcService.getProjecao();
+        ProjectionSeries serie = calcService.getCenarios();
+        imprimirEstatisticasDiretaAjuste(ReportDataBuilder.conferirAssembleias(calcService, minhas, historico));
+        imprimirProjecaoComMargemErro(projecao, serie);
         imprimirRiscoDesistencia();
-        simulator.executarSimulacaoMonteCarlo();
-        imprimirCurvasProbabilidade();
-        imprimirProjecaoAtivosSazonal();
-        imprimirAnaliseLancesDinamicos();
-        imprimirPrevisaoML();
-        imprimirAnaliseFinanceira();
-        simulator.executarMonteCarloAvancado();
-        simulator.executarSimulacaoProfissional();
+        simulator.executarSimulacaoMonteCarlo(sink);
+        imprimirCurvasProbabilidade(projecao, serie);
+        imprimirProjecaoAtivosSazonal(projecao, serie);
+        imprimirAnaliseLancesDinamicos(projecao);
+        imprimirPrevisaoML(projecao, calcService);
+        imprimirAnaliseFinanceira(simulator);
+        simulator.executarMonteCarloAvancado(sink);
+        simulator.executarSimulacaoProfissional(sink);
     }
 
-    // ... (todos os métodos privados de impressão: exibirX(), gerarBarra(), etc.)
-    // (copiados da main original, mas agora aqui)
+    /** Mesma contagem das estatísticas do PDF, comparada ao total de contemplados do grupo. */
+    private void imprimirEstatisticasDiretaAjuste(List<RelatorioCota.Assembleia> assembleias) {
+        int diretas = 0, ajustes = 0;
+        for (RelatorioCota.Assembleia a : assembleias) {
+            if (a.sorteio() == null) continue;
+            if ("DIRETA".equals(a.sorteio().status())) diretas++;
+            if ("AJUSTE".equals(a.sorteio().status())) ajustes++;
+        }
+        double contemplados = Math.max(1, cfg.contemplados());
+
+        Secao s = new Secao("Estatísticas cumulativas");
+        s.linha("\nESTATÍSTICAS CUMULATIVAS (Direta x Ajuste)");
+        s.linha("-".repeat(50));
+        s.printf("Diretas: %d (%.1f%% do total de contemplações)%n", diretas, diretas / contemplados * 100);
+        s.printf("Ajustes: %d (%.1f%% do total de contemplações)%n", ajustes, ajustes / contemplados * 100);
+        s.linha("→ Use isso para avaliar se o grupo favorece sorteio ou lance.");
+        sink.escrever(s);
+    }
+
+    private void imprimirProjecaoComMargemErro(ProjectionTable t, ProjectionSeries serie) {
+        Secao s = new Secao("Projeção com margem de erro");
+        s.printf("\nPROJEÇÃO COM MARGEM DE ERRO (±%.0f%%)%n", MARGEM_ERRO * 100);
+        s.linha("-".repeat(60));
+        int sorteio = serie.indice(CenarioProjecao.SORTEIO);
+        for (int m = 1; m <= t.mesesAteLimite(); m++) {
+            double chance = serie.chance(sorteio, m);
+            s.printf("  %s → %-26s %.1f%% ±%.1f%%%n", t.mes(m).format(ConsorcioConfig.getMesAnoFormatter()),
+                    gerarBarra(chance, 25), chance * 100, MARGEM_ERRO * 100);
+        }
+        sink.escrever(s);
+    }
 
-    private void imprimirEstatisticasDiretaAjuste() {
-        System.out.println("\nESTATÍSTICAS CUMULATIVAS (Direta x Ajuste)");
-        System.out.println("-".repeat(50));
-        // Lógica de contagem...
+    private void imprimirRiscoDesistencia() {
+        Secao s = new Secao("Risco de desistência");
+        s.linha("\nANÁLISE DE RISCO DE DESISTÊNCIA");
+        s.linha("-".repeat(50));
+        double taxaMensal = cfg.taxaDesistenciaMensal();
+        double taxaAnual = 1 - Math.pow(1 - taxaMensal, 12);
+        String nivel = taxaAnual < 0.10 ? "BAIXO" : taxaAnual < 0.20 ? "MÉDIO" : "ALTO";
+        s.printf("Taxa mensal média: %.2f%%%n", taxaMensal * 100);
+        s.printf("Taxa anual projetada: %.1f%% → %s%n", taxaAnual * 100, nivel);
+        s.printf("Ativos em 12 meses: ~%d (de %d)%n", (int) (cfg.ativos() * Math.pow(1 - taxaMensal, 12)), cfg.ativos());
+        if (cfg.ativos() > 100) {
+            double ganho = (double) cfg.contemplados() / (cfg.ativos() - 100) - (double) cfg.contemplados() / cfg.ativos();
+            s.printf("→ A cada 100 desistências, sua chance mensal de sorteio sobe ~%.1f p.p.%n", ganho * 100);
+        }
+        sink.escrever(s);
     }
 
-    private void imprimirProjecaoComMargemErro() { /* ... */ }
-    private void imprimirRiscoDesistencia() { /* ... */ }
-    private void imprimirCurvasProbabilidade() { /* ... */ }
-    private void imprimirProjecaoAtivosSazonal() { /* ... */ }
-    private void imprimirAnaliseLancesDinamicos() { /* ... */ }
-    private void imprimirPrevisaoML() { /* ... */ }
-    private void imprimirAnaliseFinanceira() { /* ... */ }
+    private void imprimirCurvasProbabilidade(ProjectionTable t, ProjectionSeries serie) {
+        Secao s = new Secao("Curvas de probabilidade");
+        s.linha("\nCURVAS DE PROBABILIDADE (CDF / PDF)");
+        s.linha("-".repeat(70));
+        s.printf("  %-8s %-12s %-12s%n", "Mês", "PDF (%)", "CDF (%)");
+        s.linha("-".repeat(70));
+        int comLance = serie.indice(CenarioProjecao.SORTEIO_E_LANCE);
+        int meses = Math.min(HORIZONTE_CURVAS, t.mesesAteLimite());
+        for (int m = 1; m <= meses; m++) {
+            double cdf = serie.chance(comLance, m);
+            double pdf = cdf - serie.chance(comLance, m - 1);
+            s.printf("  %s  %8.1f%%   %12.1f%%%n", t.mes(m).format(ConsorcioConfig.getMesAnoFormatter()), pdf * 100, cdf * 100);
+        }
+        s.linha("→ CDF: chance de ser contemplado até o mês | PDF: chance no mês exato");
+        sink.escrever(s);
+    }
+
+    private void imprimirProjecaoAtivosSazonal(ProjectionTable t, ProjectionSeries serie) {
+        Secao s = new Secao("Projeção de ativos");
+        s.linha("\nPROJEÇÃO DE ATIVOS (com sazonalidade dez/jan)");
+        s.linha("-".repeat(70));
+        s.printf("  %-8s %-8s %-8s %-8s %-10s %-10s%n", "Mês", "Mín", "Médio", "Máx", "Sorteio", "Acumulada");
+        s.linha("-".repeat(70));
+        int real = serie.indice(CenarioProjecao.REALISTA);
+        int meses = Math.min(HORIZONTE_CURVAS, t.mesesAteLimite());
+        for (int m = 1; m <= meses; m++) {
+            s.printf("  %s  %6.0f   %6.0f   %6.0f   %6.1f%%    %6.1f%%%n", t.mes(m).format(ConsorcioConfig.getMesAnoFormatter()),
+                    t.ativosMinimo(m), t.ativos(m), t.ativosMaximo(m), t.pSorteio(m) * 100, serie.chance(real, m) * 100);
+        }
+        s.linha("→ Sorteio: chance no mês com os ativos médios | Acumulada: sorteio + lance até o mês (cenário realista)");
+        sink.escrever(s);
+    }
+
+    /**
+     * Chance de o lance embutido superar o maior de {@code 30%} dos ativos
+     * dando lance log-normal: {@code F(lance)^n}, exato, em vez de sortear
+     * os {@code n} lances de cada mês.
+     */
+    private void imprimirAnaliseLancesDinamicos(ProjectionTable t) {
+        Secao s = new Secao("Lances dinâmicos");
+        s.linha("\nANÁLISE DE LANCES (distribuição log-normal)");
+        s.linha("-".repeat(60));
+        double lance = cfg.valorLance();
+        double f = MathUtils.cdfLanceConcorrente(lance, cfg.valorCredito());
+        int hoje = (int) (cfg.ativos() * FRACAO_ATIVOS_COM_LANCE);
+        s.printf("Chance real de vencer com R$ %.0f: %.1f%% (%d concorrentes)%n", lance, Math.pow(f, hoje) * 100, hoje);
+        int em12 = (int) (t.ativos(12) * FRACAO_ATIVOS_COM_LANCE);
+        s.printf("Em 12 meses, com ~%d concorrentes: %.1f%%%n", em12, Math.pow(f, em12) * 100);
+        sink.escrever(s);
+    }
+
+    private void imprimirPrevisaoML(ProjectionTable t, CalculationService calcService) {
+        Secao s = new Secao("Previsão por regressão logística");
+        s.linha("\nPREVISÃO POR REGRESSÃO LOGÍSTICA (ML)");
+        s.linha("-".repeat(60));
+        for (int m = 1; m <= 12; m++) {
+            double taxaDesist = cfg.taxaDesistenciaMensal() * (m % 12 == 0 ? 1.8 : 1);
+            double pred = calcService.preverComRegressaoLogistica(m, t.ativos(m), taxaDesist);
+            s.printf("  %s → %.1f%%%n", t.mes(m).format(ConsorcioConfig.getMesAnoFormatter()), pred * 100);
+        }
+        sink.escrever(s);
+    }
+
+    private void imprimirAnaliseFinanceira(MonteCarloSimulator simulator) {
+        Secao s = new Secao("Análise financeira");
+        s.linha("\nANÁLISE FINANCEIRA (IPCA + Custo de Oportunidade)");
+        s.linha("-".repeat(70));
+        double valorBemHoje = cfg.valorCredito();
+        double meses = simulator.medianaMesesContemplacao();
+
+        double valorFuturoBem = valorBemHoje * Math.pow(1 + IPCA_ANUAL, meses / 12);
+        double valorizacaoBem = valorFuturoBem - valorBemHoje;
+        double custoLance = cfg.valorLance();
+        double ganhoLiquidoReal = valorizacaoBem - custoLance;
+        double custoOportunidade = valorBemHoje * Math.pow(1 + RENDIMENTO_POUPANCA, meses / 12) - valorBemHoje;
+
+        s.printf("Bem em %.0f meses (IPCA %.1f%%): R$ %.2f%n", meses, IPCA_ANUAL * 100, valorFuturoBem);
+        s.printf("Valorização do bem: R$ %.2f%n", valorizacaoBem);
+        s.printf("Custo do lance embutido: R$ %.2f%n", custoLance);
+        s.printf("GANHO LÍQUIDO REAL: R$ %.2f%n", ganhoLiquidoReal);
+        s.printf("Custo de oportunidade (poupança %.0f%%): R$ %.2f%n", RENDIMENTO_POUPANCA * 100, custoOportunidade);
+        s.linha();
+        s.linha(ganhoLiquidoReal > 0
+                ? "RECOMENDAÇÃO: USE LANCE AGORA! (ganho real positivo)"
+                : "AVISO: Lance gera PERDA líquida. Considere aguardar sorteio ou reduzir lance.");
+        sink.escrever(s);
+    }
+
+    private static String formatarPremios(Draw draw) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < draw.premios().length; i++) {
+            if (i > 0) sb.append(" | ");
+            sb.append(draw.premio(i));
+        }
+        return sb.toString();
+    }
+
+    private static String formatarCentenas(short[] centenas, int cota) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < centenas.length; i++) {
+            if (i > 0) sb.append(" | ");
+            sb.append(Draw.comZeros(centenas[i], 3));
+            if (centenas[i] == cota) sb.append(" << SUA COTA");
+        }
+        return sb.toString();
+    }
 
     private String gerarBarra(double chance, int tamanho) {
         int preenchido = (int) (chance * tamanho);
@@ -313,9 +458,42 @@ public class ReportPrinter {
        5. RODAPÉ
        ============================================================== */
     public void imprimirRodape() {
-        System.out.println("=".repeat(90));
-        System.out.println("RELATÓRIO GERADO: " + ConsorcioConfig.getPdfOutput());
-        System.out.println("GRÁFICO GERADO: " + ConsorcioConfig.getChartOutput());
-        System.out.println("ANÁLISE CONCLUÍDA.");
+        Secao s = new Secao("Rodapé");
+        s.linha("=".repeat(90));
+        s.linha("RELATÓRIO GERADO: " + cfg.pdfOutput());
+        s.linha("GRÁFICO GERADO: " + cfg.chartOutput());
+        s.linha("ANÁLISE CONCLUÍDA.");
+        sink.escrever(s);
+    }
+
+    /* ==============================================================
+       6. BACKTEST DO GRUPO (--backtest)
+       ============================================================== */
+    public void imprimirResumoBacktest(BacktestService.Resultado r, CalculationService calcService) {
+        Secao s = new Secao("Backtest do grupo");
+        s.linha("BACKTEST DO GRUPO (cotas 000-999)");
+        s.linha("-".repeat(90));
+        s.printf("Assembleias: %d (%s a %s, %s)%n", r.assembleias(),
+                r.inicio().format(ConsorcioConfig.getMesAnoFormatter()), r.fim().format(ConsorcioConfig.getMesAnoFormatter()),
+                r.datasReais() ? "último sorteio antes de cada assembleia" : "último sorteio de cada mês");
+        s.printf("Contemplações: %d | DIRETAS: %d | AJUSTES: %d%n",
+                r.totalDiretas() + r.totalAjustes(), r.totalDiretas(), r.totalAjustes());
+        s.printf("Taxa empírica por assembleia: %.3f%% | TAXA MENSAL DO GRUPO: %.3f%%%n",
+                r.taxaEmpirica() * 100, calcService.calculateTaxaGrupo() * 100);
+
+        CotaBacktest sua = r.cota(cfg.userConsortiumNumber());
+        s.printf("Sua cota %03d: %d contemplações (%d diretas, %d ajustes), primeira em %s%n",
+                sua.cota(), sua.contemplacoes(), sua.diretas(), sua.ajustes(),
+                sua.primeira() == null ? "-" : sua.primeira().format(ConsorcioConfig.getMesAnoFormatter()));
+
+        CotaBacktest menos = r.cotas().get(0), mais = r.cotas().get(0);
+        for (CotaBacktest c : r.cotas()) {
+            if (c.contemplacoes() < menos.contemplacoes()) menos = c;
+            if (c.contemplacoes() > mais.contemplacoes()) mais = c;
+        }
+        s.printf("Menos contemplada: %03d (%d) | Mais contemplada: %03d (%d)%n",
+                menos.cota(), menos.contemplacoes(), mais.cota(), mais.contemplacoes());
+        s.linha("-".repeat(90));
+        sink.escrever(s);
     }
-}
\ No newline at end of file
+}
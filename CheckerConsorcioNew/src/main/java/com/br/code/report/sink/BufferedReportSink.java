@@ -0,0 +1,48 @@
+package com.br.code.report.sink;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Base dos destinos em arquivo: as seções são formatadas em um único
+ * {@link StringBuilder} e o arquivo é gravado de uma vez no {@link #close()}.
+ */
+abstract class BufferedReportSink implements ReportSink {
+    private final Path arquivo;
+    protected final StringBuilder saida = new StringBuilder(16 * 1024);
+    private boolean fechado;
+
+    BufferedReportSink(Path arquivo) {
+        this.arquivo = arquivo;
+    }
+
+    @Override
+    public final synchronized void escrever(Secao secao) {
+        if (fechado) throw new IllegalStateException("Relatório já gravado: " + arquivo);
+        if (!secao.vazia()) formatar(secao);
+    }
+
+    /** Anexa a seção a {@link #saida} no formato do destino. */
+    protected abstract void formatar(Secao secao);
+
+    protected void inicio() {
+    }
+
+    protected void fim() {
+    }
+
+    @Override
+    public final synchronized void close() {
+        if (fechado) return;
+        fechado = true;
+        fim();
+        try (Writer w = Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8)) {
+            w.append(saida);
+        } catch (IOException e) {
+            throw ReportSink.falha(arquivo, e);
+        }
+    }
+}
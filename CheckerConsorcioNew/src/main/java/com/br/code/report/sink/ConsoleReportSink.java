@@ -0,0 +1,26 @@
+package com.br.code.report.sink;
+
+import java.io.PrintStream;
+
+/** Uma escrita (e um flush) por seção, em vez de um por linha. */
+public final class ConsoleReportSink implements ReportSink {
+    private final PrintStream out;
+
+    public ConsoleReportSink(PrintStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void escrever(Secao secao) {
+        if (secao.vazia()) return;
+        synchronized (out) {
+            out.append(secao.texto());
+            out.flush();
+        }
+    }
+
+    @Override
+    public void close() {
+        out.flush();
+    }
+}
@@ -0,0 +1,42 @@
+package com.br.code.report.sink;
+
+import java.nio.file.Path;
+
+/** Página única com um {@code <section>} por seção; o texto vai em {@code <pre>} para manter o alinhamento. */
+public final class HtmlReportSink extends BufferedReportSink {
+
+    public HtmlReportSink(Path arquivo) {
+        super(arquivo);
+        saida.append("<!DOCTYPE html>\n<html lang=\"pt-BR\">\n<head>\n<meta charset=\"UTF-8\">\n")
+                .append("<title>Relatório do consórcio</title>\n")
+                .append("<style>body{font-family:sans-serif;margin:2em}pre{font-family:monospace;line-height:1.3}</style>\n")
+                .append("</head>\n<body>\n");
+    }
+
+    @Override
+    protected void formatar(Secao secao) {
+        saida.append("<section>\n");
+        if (secao.titulo() != null) saida.append("<h2>").append(escapar(secao.titulo())).append("</h2>\n");
+        saida.append("<pre>").append(escapar(secao.texto())).append("</pre>\n</section>\n");
+    }
+
+    @Override
+    protected void fim() {
+        saida.append("</body>\n</html>\n");
+    }
+
+    private static CharSequence escapar(CharSequence s) {
+        StringBuilder sb = new StringBuilder(s.length() + 16);
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '<' -> sb.append("&lt;");
+                case '>' -> sb.append("&gt;");
+                case '&' -> sb.append("&amp;");
+                case '"' -> sb.append("&quot;");
+                default -> sb.append(c);
+            }
+        }
+        return sb;
+    }
+}
@@ -0,0 +1,36 @@
+package com.br.code.report.sink;
+
+import org.json.JSONObject;
+
+import java.nio.file.Path;
+
+/** {@code {"secoes": [{"titulo": ..., "linhas": [...]}, ...]}}, uma entrada por seção. */
+public final class JsonReportSink extends BufferedReportSink {
+    private boolean primeira = true;
+
+    public JsonReportSink(Path arquivo) {
+        super(arquivo);
+        saida.append("{\"secoes\":[");
+    }
+
+    @Override
+    protected void formatar(Secao secao) {
+        if (!primeira) saida.append(',');
+        primeira = false;
+        saida.append("\n{\"titulo\":").append(secao.titulo() == null ? "null" : JSONObject.quote(secao.titulo()))
+                .append(",\"linhas\":[");
+        String[] linhas = secao.texto().toString().split("\\R", -1);
+        int n = linhas.length;
+        if (n > 0 && linhas[n - 1].isEmpty()) n--; // quebra de linha final não é uma linha a mais
+        for (int i = 0; i < n; i++) {
+            if (i > 0) saida.append(',');
+            saida.append(JSONObject.quote(linhas[i]));
+        }
+        saida.append("]}");
+    }
+
+    @Override
+    protected void fim() {
+        saida.append("\n]}\n");
+    }
+}
@@ -0,0 +1,74 @@
+package com.br.code.report.sink;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reserva posições no relatório para que as seções sejam montadas em
+ * qualquer ordem — inclusive em threads diferentes — e emitidas na ordem
+ * das reservas.
+ * <p>
+ * Cada {@link #reservar()} devolve uma vaga, que é ela mesma um
+ * {@link ReportSink}: o que for escrito nela fica retido até a vaga ser
+ * fechada. Ao fechar uma vaga, todas as vagas fechadas no início da fila são
+ * repassadas ao destino, de modo que o console recebe cada parte assim que
+ * tudo o que vem antes dela está pronto.
+ */
+public final class OrderedReportSink implements ReportSink {
+    private final ReportSink destino;
+    private final List<Vaga> fila = new ArrayList<>();
+    private int emitidas;
+
+    public OrderedReportSink(ReportSink destino) {
+        this.destino = destino;
+    }
+
+    /** Próxima posição do relatório. */
+    public synchronized ReportSink reservar() {
+        Vaga v = new Vaga();
+        fila.add(v);
+        return v;
+    }
+
+    /** Atalho para uma seção já pronta: reserva a posição e a fecha em seguida. */
+    @Override
+    public void escrever(Secao secao) {
+        ReportSink v = reservar();
+        v.escrever(secao);
+        v.close();
+    }
+
+    /** Emite o que estiver retido, na ordem, mesmo de vagas não fechadas, e fecha o destino. */
+    @Override
+    public void close() {
+        synchronized (this) {
+            while (emitidas < fila.size()) fila.get(emitidas++).emitir();
+        }
+        destino.close();
+    }
+
+    private synchronized void liberar() {
+        while (emitidas < fila.size() && fila.get(emitidas).fechada) fila.get(emitidas++).emitir();
+    }
+
+    private final class Vaga implements ReportSink {
+        private final List<Secao> secoes = new ArrayList<>(4);
+        private volatile boolean fechada;
+
+        @Override
+        public synchronized void escrever(Secao secao) {
+            secoes.add(secao);
+        }
+
+        @Override
+        public void close() {
+            fechada = true;
+            liberar();
+        }
+
+        private synchronized void emitir() {
+            for (Secao s : secoes) destino.escrever(s);
+            secoes.clear();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.br.code.report.sink;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Destino das seções do relatório.
+ * <p>
+ * Quem gera o relatório monta cada {@link Secao} em memória e a entrega
+ * inteira com {@link #escrever}; o destino decide quando e como gravar —
+ * uma escrita por seção no console, uma escrita única no {@link #close()}
+ * para arquivos. Para montar seções em paralelo e emiti-las na ordem do
+ * relatório, use um {@link OrderedReportSink}.
+ */
+public interface ReportSink extends Closeable {
+
+    /** Formatos aceitos por {@link #arquivo}. */
+    List<String> FORMATOS = List.of("txt", "html", "json");
+
+    /** Acrescenta a seção ao relatório, depois das já escritas. */
+    void escrever(Secao secao);
+
+    @Override
+    void close();
+
+    /** Console com {@code System.out}; fechar não fecha o {@code System.out}. */
+    static ReportSink console() {
+        return new ConsoleReportSink(System.out);
+    }
+
+    /**
+     * Arquivo no formato indicado: {@code txt}, {@code html} ou {@code json}.
+     * Nada é gravado antes do {@link #close()}.
+     */
+    static ReportSink arquivo(Path arquivo, String formato) {
+        return switch (formato) {
+            case "txt" -> new TextFileReportSink(arquivo);
+            case "html" -> new HtmlReportSink(arquivo);
+            case "json" -> new JsonReportSink(arquivo);
+            default -> throw new IllegalArgumentException("Formato de relatório desconhecido: " + formato);
+        };
+    }
+
+    /** Extensão de arquivo do formato. */
+    static String extensao(String formato) {
+        return "." + formato;
+    }
+
+    static UncheckedIOException falha(Path arquivo, IOException e) {
+        return new UncheckedIOException("Erro ao gravar " + arquivo + ": " + e.getMessage(), e);
+    }
+}
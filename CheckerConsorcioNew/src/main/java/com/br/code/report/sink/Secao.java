@@ -0,0 +1,63 @@
+package com.br.code.report.sink;
+
+import java.util.Formatter;
+import java.util.Locale;
+
+/**
+ * Trecho do relatório montado em memória antes de ir para um {@link ReportSink}.
+ * <p>
+ * Substitui as chamadas diretas a {@code System.out}: cada linha é apenas
+ * anexada a um {@link StringBuilder}, sem sincronização nem flush, e o
+ * {@code printf} reaproveita um único {@link Formatter} sobre esse buffer.
+ * Uma seção é preenchida por uma thread só; seções diferentes podem ser
+ * montadas em paralelo.
+ * <p>
+ * O buffer é da seção, não da thread: o {@link OrderedReportSink} retém a
+ * seção até tudo o que vem antes dela estar pronto, então ele não pode ser
+ * reaproveitado pela próxima seção montada na mesma thread.
+ */
+public final class Secao {
+    private static final String NOVA_LINHA = System.lineSeparator();
+
+    private final String titulo;
+    private final StringBuilder texto = new StringBuilder(1024);
+    private Formatter formatter;
+
+    public Secao(String titulo) {
+        this.titulo = titulo;
+    }
+
+    public String titulo() {
+        return titulo;
+    }
+
+    public CharSequence texto() {
+        return texto;
+    }
+
+    public boolean vazia() {
+        return texto.length() == 0;
+    }
+
+    public Secao linha() {
+        texto.append(NOVA_LINHA);
+        return this;
+    }
+
+    public Secao linha(Object conteudo) {
+        texto.append(conteudo).append(NOVA_LINHA);
+        return this;
+    }
+
+    /** Mesmo formato de {@link java.io.PrintStream#printf}, inclusive {@code %n}. */
+    public Secao printf(String formato, Object... args) {
+        if (formatter == null) formatter = new Formatter(texto, Locale.getDefault(Locale.Category.FORMAT));
+        formatter.format(formato, args);
+        return this;
+    }
+
+    public Secao append(Object conteudo) {
+        texto.append(conteudo);
+        return this;
+    }
+}
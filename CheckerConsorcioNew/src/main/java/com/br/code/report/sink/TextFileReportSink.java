@@ -0,0 +1,16 @@
+package com.br.code.report.sink;
+
+import java.nio.file.Path;
+
+/** O mesmo texto do console, em UTF-8. */
+public final class TextFileReportSink extends BufferedReportSink {
+
+    public TextFileReportSink(Path arquivo) {
+        super(arquivo);
+    }
+
+    @Override
+    protected void formatar(Secao secao) {
+        saida.append(secao.texto());
+    }
+}
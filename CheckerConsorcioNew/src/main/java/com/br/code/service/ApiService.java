@@ -1,23 +1,83 @@
 package com.br.code.service;
 
+import com.br.code.metrics.Metrics;
+import com.br.code.report.sink.ReportSink;
+import com.br.code.report.sink.Secao;
 import com.br.code.util.NetworkUtils;
+import java.util.concurrent.CompletableFuture;
 
 public class ApiService {
+    private static final Metrics.Timer LATEST = Metrics.timer("api.latest");
+    private static final Metrics.Timer CONCURSO = Metrics.timer("api.concurso");
+    private static final Metrics.Timer HISTORICO = Metrics.timer("api.historico");
+    private static final Metrics.Counter ERROS = Metrics.counter("api.erros");
+
+    /** Último corpo do {@code latest}; torna a próxima consulta condicional (304 sem corpo). */
+    private volatile String ultimoLatest;
+
     public String fetchLatest() {
+        return fetchLatestAsync().join();
+    }
+
+    public CompletableFuture<String> fetchLatestAsync() {
+        String url = com.br.code.config.ConsorcioConfig.getBaseApiUrl() + "latest";
+        return semErro(NetworkUtils.getLotteryResultsAsync(url, ultimoLatest), "Erro na API latest: ", LATEST)
+                .thenApply(corpo -> {
+                    if (corpo != null) ultimoLatest = corpo;
+                    return corpo;
+                });
+    }
+
+    public String fetchHistorical() {
+        return fetchHistorical(ReportSink.console());
+    }
+
+    /** Arquivo completo com cache em disco; os avisos de cache vão para {@code mensagens}. */
+    public String fetchHistorical(ReportSink mensagens) {
+        long t0 = System.nanoTime();
         try {
-            return NetworkUtils.getLotteryResults(com.br.code.config.ConsorcioConfig.getBaseApiUrl() + "latest");
+            return NetworkUtils.getCachedHistoricalResults(m -> mensagens.escrever(new Secao("Histórico").linha(m)));
         } catch (Exception e) {
-            System.err.println("Erro na API latest: " + e.getMessage());
+            ERROS.incrementar();
+            System.err.println("Erro na API historical: " + e.getMessage());
             return null;
+        } finally {
+            HISTORICO.registrarDesde(t0);
         }
     }
 
-    public String fetchHistorical() {
+    /** Um único concurso ({@code base.api.url + número}); poucos KB. */
+    public String fetchContest(int concurso) {
+        return fetchContestAsync(concurso).join();
+    }
+
+    public CompletableFuture<String> fetchContestAsync(int concurso) {
+        return semErro(NetworkUtils.getLotteryResultsAsync(com.br.code.config.ConsorcioConfig.getBaseApiUrl() + concurso),
+                "Erro na API concurso " + concurso + ": ", CONCURSO);
+    }
+
+    /** Arquivo completo, ignorando o cache em disco. */
+    public String fetchFullHistory() {
+        long t0 = System.nanoTime();
         try {
-            return NetworkUtils.getCachedHistoricalResults();
+            return NetworkUtils.getLotteryResults(com.br.code.config.ConsorcioConfig.getBaseApiUrl());
         } catch (Exception e) {
+            ERROS.incrementar();
             System.err.println("Erro na API historical: " + e.getMessage());
             return null;
+        } finally {
+            HISTORICO.registrarDesde(t0);
         }
     }
-}
\ No newline at end of file
+
+    /** Falhas viram {@code null} com a mensagem no stderr, como nas chamadas síncronas. */
+    private static CompletableFuture<String> semErro(CompletableFuture<String> f, String prefixo, Metrics.Timer timer) {
+        long t0 = System.nanoTime();
+        return f.exceptionally(e -> {
+            ERROS.incrementar();
+            Throwable c = e.getCause() != null ? e.getCause() : e;
+            System.err.println(prefixo + c.getMessage());
+            return null;
+        }).whenComplete((r, e) -> timer.registrarDesde(t0));
+    }
+}
@@ -1,36 +1,121 @@
 package com.br.code.service;
 
+import com.br.code.config.ConfigSnapshot;
 import com.br.code.config.ConsorcioConfig;
 import com.br.code.model.AssemblyData;
+import com.br.code.report.sink.ReportSink;
+import com.br.code.report.sink.Secao;
+import com.br.code.util.AssemblyReader;
 import com.br.code.util.FileUtils;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.stream.Stream;
 
 public class AssemblyService {
-    private final List<AssemblyData> allAssembleias;
+    private final Path arquivo;
+    private final ConfigSnapshot cfg;
+    private final ReportSink sink;
 
     public AssemblyService() {
-        this.allAssembleias = FileUtils.readAssemblySorteados();
+        this(ConsorcioConfig.snapshot(), ReportSink.console());
     }
 
+    public AssemblyService(Path arquivo) {
+        this(arquivo, ConsorcioConfig.snapshot(), ReportSink.console());
+    }
+
+    public AssemblyService(ConfigSnapshot cfg, ReportSink sink) {
+        this(Paths.get(cfg.assembleiasFile()), cfg, sink);
+    }
+
+    public AssemblyService(Path arquivo, ConfigSnapshot cfg, ReportSink sink) {
+        this.arquivo = arquivo;
+        this.cfg = cfg;
+        this.sink = sink;
+    }
+
+    /**
+     * Assembleias a partir de {@code sua.entrada} (e do {@code grupo}, se
+     * configurado), em ordem de data. Os filtros são aplicados durante a
+     * leitura; só as linhas que passam chegam a ser guardadas.
+     */
     public List<AssemblyData> getMinhasAssembleias() {
-        if (allAssembleias.isEmpty()) {
-            System.out.println("ERRO: Arquivo '" + ConsorcioConfig.getAssembleiasFile() + "' não encontrado ou vazio.");
+        LocalDate suaEntrada = cfg.suaEntrada();
+        AssemblyReader.Leitura leitura = new AssemblyReader.Leitura();
+        List<AssemblyData> minhas = new ArrayList<>();
+        if (Files.exists(arquivo)) {
+            try (Stream<AssemblyData> s = AssemblyReader.stream(arquivo, suaEntrada, cfg.grupo(), leitura)) {
+                s.forEach(minhas::add);
+            } catch (IOException | UncheckedIOException e) {
+                System.err.println("Erro ao ler arquivo: " + e.getMessage());
+            }
+            FileUtils.avisarRejeitadas(arquivo, leitura);
+        }
+
+        if (minhas.isEmpty() && leitura.anteriores() == 0) {
+            sink.escrever(new Secao("Erro").linha("ERRO: Arquivo '" + cfg.assembleiasFile() + "' não encontrado ou vazio."));
             return new ArrayList<>();
         }
 
-        LocalDate suaEntrada = ConsorcioConfig.getSuaEntrada();
-        long antes = allAssembleias.stream().filter(a -> a.date().isBefore(suaEntrada)).count();
-        if (antes > 0) {
-            System.out.printf("AVISO: %d assembleia(s) antes de %s foram ignoradas.\n", antes, suaEntrada.format(ConsorcioConfig.getDateFormatter()));
+        if (leitura.anteriores() > 0) {
+            sink.escrever(new Secao("Aviso").printf("AVISO: %d assembleia(s) antes de %s foram ignoradas.\n", leitura.anteriores(), suaEntrada.format(ConsorcioConfig.getDateFormatter())));
+        }
+
+        minhas.sort(Comparator.comparing(AssemblyData::date));
+        return minhas;
+    }
+
+    /**
+     * Variante do modo lote: o arquivo foi lido uma vez por {@link #lerPorGrupo}
+     * e cada perfil só separa as linhas do seu grupo (mais as sem grupo).
+     */
+    public List<AssemblyData> getMinhasAssembleias(Map<String, List<AssemblyData>> porGrupo) {
+        List<AssemblyData> minhas = new ArrayList<>(porGrupo.getOrDefault("", List.of()));
+        if (!cfg.grupo().isEmpty()) minhas.addAll(porGrupo.getOrDefault(cfg.grupo(), List.of()));
+        else porGrupo.forEach((g, l) -> { if (!g.isEmpty()) minhas.addAll(l); });
+        minhas.removeIf(a -> a.date().isBefore(cfg.suaEntrada()));
+
+        if (minhas.isEmpty()) {
+            sink.escrever(new Secao("Erro").linha("ERRO: nenhuma assembleia em '" + cfg.assembleiasFile() + "'"
+                    + (cfg.grupo().isEmpty() ? "." : " para o grupo " + cfg.grupo() + ".")));
+            return new ArrayList<>();
         }
+        minhas.sort(Comparator.comparing(AssemblyData::date));
+        return minhas;
+    }
+
+    /**
+     * Datas de assembleia do {@code grupo} (mais as linhas sem grupo), como em
+     * {@link #getMinhasAssembleias(Map)} mas sem o corte de {@code sua.entrada}.
+     * Sem grupo configurado, todas.
+     */
+    public static List<LocalDate> datasDoGrupo(Map<String, List<AssemblyData>> porGrupo, String grupo) {
+        List<LocalDate> datas = new ArrayList<>();
+        porGrupo.forEach((g, l) -> {
+            if (g.isEmpty() || grupo.isEmpty() || g.equals(grupo)) l.forEach(a -> datas.add(a.date()));
+        });
+        datas.sort(Comparator.naturalOrder());
+        return datas;
+    }
 
-        return allAssembleias.stream()
-                .filter(a -> !a.date().isBefore(suaEntrada))
-                .sorted(Comparator.comparing(AssemblyData::date))
-                .collect(Collectors.toList());
+    /** Todas as assembleias a partir de {@code aPartirDe}, por grupo ({@code ""} = linhas sem grupo). */
+    public static Map<String, List<AssemblyData>> lerPorGrupo(Path arquivo, LocalDate aPartirDe) throws IOException {
+        Map<String, List<AssemblyData>> porGrupo = new HashMap<>();
+        if (!Files.exists(arquivo)) return porGrupo;
+        AssemblyReader.Leitura leitura = new AssemblyReader.Leitura();
+        try (Stream<AssemblyData> s = AssemblyReader.stream(arquivo, aPartirDe, null, leitura)) {
+            s.forEach(a -> porGrupo.computeIfAbsent(a.grupo() == null ? "" : a.grupo(), g -> new ArrayList<>()).add(a));
+        }
+        FileUtils.avisarRejeitadas(arquivo, leitura);
+        return porGrupo;
     }
-}
\ No newline at end of file
+}
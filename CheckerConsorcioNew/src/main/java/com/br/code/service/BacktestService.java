@@ -0,0 +1,152 @@
+package com.br.code.service;
+
+import com.br.code.metrics.Metrics;
+import com.br.code.model.CotaBacktest;
+import com.br.code.model.Draw;
+import com.br.code.util.ContemplationMasks;
+import com.br.code.util.DrawIndex;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.stream.IntStream;
+
+/**
+ * Backtest do grupo inteiro: aplica a regra de contemplação (direta ou ajuste
+ * de ±2) a todas as cotas 000–999 em cada assembleia do histórico, para
+ * comparar a taxa empírica com {@link CalculationService#calculateTaxaGrupo()}.
+ * <p>
+ * Cada assembleia do grupo ({@code assembleias.file}) é conferida pelo último
+ * sorteio antes da sua data — a mesma regra do relatório. Sem datas de
+ * assembleia, cada mês do histórico vira uma assembleia no fim do mês,
+ * conferida pelo último sorteio do mês. As máscaras de
+ * {@link ContemplationMasks} dão as cotas contempladas de cada assembleia;
+ * as assembleias são divididas em blocos processados em paralelo e os
+ * parciais somados no fim.
+ */
+public class BacktestService {
+    private static final Metrics.Timer BACKTEST = Metrics.timer("backtest.grupo");
+
+    /** @param datasReais {@code false} quando as assembleias foram sintetizadas mês a mês */
+    public record Resultado(List<CotaBacktest> cotas, int assembleias, YearMonth inicio, YearMonth fim,
+                            boolean datasReais) {
+        public long totalDiretas() { return cotas.stream().mapToLong(CotaBacktest::diretas).sum(); }
+        public long totalAjustes() { return cotas.stream().mapToLong(CotaBacktest::ajustes).sum(); }
+
+        /** Fração média de cotas contempladas por assembleia. */
+        public double taxaEmpirica() {
+            return assembleias == 0 ? 0 : (double) (totalDiretas() + totalAjustes()) / ((long) cotas.size() * assembleias);
+        }
+
+        public CotaBacktest cota(int cota) {
+            return cotas.get(cota);
+        }
+    }
+
+    /** Sem as datas de assembleia: uma por mês do histórico, conferida pelo último sorteio do mês. */
+    public Resultado executar(List<Draw> historico) {
+        return executar(historico, List.of());
+    }
+
+    /**
+     * @param datasAssembleias assembleias do grupo; vazia, cai na síntese mensal
+     *                         de {@link #executar(List)}
+     */
+    public Resultado executar(List<Draw> historico, List<LocalDate> datasAssembleias) {
+        return BACKTEST.medir(() -> {
+            List<Draw> assembleias = new ArrayList<>();
+            List<YearMonth> meses = new ArrayList<>();
+            boolean datasReais = !datasAssembleias.isEmpty();
+            if (datasReais) {
+                sorteioDeCadaAssembleia(historico, datasAssembleias, assembleias, meses);
+            } else {
+                assembleias = ultimoSorteioDeCadaMes(historico);
+                for (Draw d : assembleias) meses.add(YearMonth.from(d.data()));
+            }
+            int m = assembleias.size();
+            int[] todas = IntStream.range(0, ContemplationMasks.CENTENAS).toArray();
+            ContemplationMasks.Resultado r = ContemplationMasks.de(assembleias).avaliar(todas);
+
+            int blocos = Math.max(1, Math.min(m, Runtime.getRuntime().availableProcessors() * 4));
+            Parcial total = IntStream.range(0, blocos).parallel()
+                    .mapToObj(b -> Parcial.de(r, (int) ((long) m * b / blocos), (int) ((long) m * (b + 1) / blocos)))
+                    .reduce(Parcial::somar)
+                    .orElseGet(Parcial::new);
+
+            List<CotaBacktest> cotas = new ArrayList<>(todas.length);
+            for (int c : todas) {
+                int p = total.primeira[c];
+                YearMonth primeira = p == Integer.MAX_VALUE ? null : meses.get(p);
+                cotas.add(new CotaBacktest(c, total.diretas[c], total.ajustes[c], primeira,
+                        primeira != null && r.direta(p, c)));
+            }
+            return new Resultado(cotas, m, m == 0 ? null : meses.get(0), m == 0 ? null : meses.get(m - 1), datasReais);
+        });
+    }
+
+    /**
+     * Último sorteio antes de cada data de assembleia (datas repetidas contam
+     * uma vez); assembleias anteriores ao primeiro sorteio ficam de fora.
+     */
+    static void sorteioDeCadaAssembleia(List<Draw> historico, List<LocalDate> datas,
+                                        List<Draw> sorteios, List<YearMonth> meses) {
+        DrawIndex indice = DrawIndex.de(historico);
+        for (LocalDate data : new TreeSet<>(datas)) {
+            Draw d = indice.ultimoSorteioAntesDe(data);
+            if (d == null) continue;
+            sorteios.add(d);
+            meses.add(YearMonth.from(data));
+        }
+    }
+
+    /** Último sorteio de cada mês do histórico, em ordem de data. */
+    static List<Draw> ultimoSorteioDeCadaMes(List<Draw> historico) {
+        List<Draw> ordenados = DrawIndex.de(historico).sorteios();
+        List<Draw> mensais = new ArrayList<>();
+        for (int i = 0; i < ordenados.size(); i++) {
+            LocalDate d = ordenados.get(i).data();
+            boolean ultimoDoMes = i + 1 == ordenados.size()
+                    || !YearMonth.from(ordenados.get(i + 1).data()).equals(YearMonth.from(d));
+            if (ultimoDoMes) mensais.add(ordenados.get(i));
+        }
+        return mensais;
+    }
+
+    /** Contagens de um bloco de assembleias [de, ate). */
+    private static final class Parcial {
+        final int[] diretas = new int[ContemplationMasks.CENTENAS];
+        final int[] ajustes = new int[ContemplationMasks.CENTENAS];
+        final int[] primeira = new int[ContemplationMasks.CENTENAS];
+
+        Parcial() {
+            Arrays.fill(primeira, Integer.MAX_VALUE);
+        }
+
+        static Parcial de(ContemplationMasks.Resultado r, int de, int ate) {
+            Parcial p = new Parcial();
+            for (int s = de; s < ate; s++) {
+                for (int c : r.cotasDiretas(s)) {
+                    p.diretas[c]++;
+                    if (p.primeira[c] > s) p.primeira[c] = s;
+                }
+                for (int c : r.cotasAjuste(s)) {
+                    p.ajustes[c]++;
+                    if (p.primeira[c] > s) p.primeira[c] = s;
+                }
+            }
+            return p;
+        }
+
+        Parcial somar(Parcial o) {
+            for (int c = 0; c < diretas.length; c++) {
+                diretas[c] += o.diretas[c];
+                ajustes[c] += o.ajustes[c];
+                primeira[c] = Math.min(primeira[c], o.primeira[c]);
+            }
+            return this;
+        }
+    }
+}
@@ -1,39 +1,123 @@
 package com.br.code.service;
 
+import com.br.code.config.ConfigSnapshot;
 import com.br.code.config.ConsorcioConfig;
+import com.br.code.metrics.Metrics;
+import com.br.code.model.CenarioProjecao;
 import com.br.code.model.ContemplationResult;
+import com.br.code.model.Draw;
+import com.br.code.util.ContemplationMasks;
 import com.br.code.util.MathUtils;
 import java.util.ArrayList;
 import java.util.List;
 
 public class CalculationService {
+    private static final Metrics.Timer CONTEMPLACAO = Metrics.timer("calc.contemplacao");
+    private static final Metrics.Timer LOTE = Metrics.timer("calc.contemplacao_lote");
+    private static final Metrics.Counter DIRETAS = Metrics.counter("calc.diretas");
+    private static final Metrics.Counter AJUSTES = Metrics.counter("calc.ajustes");
+
+    /** Meses da tabela de projeção mesmo com limite mais próximo (a previsão logística usa 12). */
+    private static final int MESES_MINIMOS_PROJECAO = 12;
+
+    private final ConfigSnapshot cfg;
+    private volatile ProjectionTable projecao;
+    private volatile ProjectionSeries cenarios;
+
+    public CalculationService() {
+        this(ConsorcioConfig.snapshot());
+    }
+
+    public CalculationService(ConfigSnapshot cfg) {
+        this.cfg = cfg;
+    }
+
+    public ConfigSnapshot getConfig() {
+        return cfg;
+    }
+
+    /** Projeção mês a mês desta configuração, montada no primeiro uso e compartilhada daí em diante. */
+    public ProjectionTable getProjecao() {
+        ProjectionTable t = projecao;
+        if (t == null) {
+            synchronized (this) {
+                if (projecao == null) projecao = ProjectionTable.de(this, MESES_MINIMOS_PROJECAO);
+                t = projecao;
+            }
+        }
+        return t;
+    }
+
+    /**
+     * Chance acumulada nos cenários {@link CenarioProjecao#PADRAO} seguidos dos de
+     * {@code projecao.cenarios}, no mesmo horizonte de {@link #getProjecao()}.
+     */
+    public ProjectionSeries getCenarios() {
+        ProjectionSeries s = cenarios;
+        if (s == null) {
+            synchronized (this) {
+                if (cenarios == null) {
+                    ProjectionTable t = getProjecao();
+                    List<CenarioProjecao> todos = new ArrayList<>(CenarioProjecao.PADRAO);
+                    todos.addAll(cfg.cenariosProjecao());
+                    cenarios = ProjectionEngine.projetar(t.mes(1), t.meses(), t.taxaBase(),
+                            calculateChanceLanceMensal(), t.ativosRelativos(), todos);
+                }
+                s = cenarios;
+            }
+        }
+        return s;
+    }
+
     public double calculateTaxaGrupo() {
-        return (double) ConsorcioConfig.getContemplados() / ConsorcioConfig.getAtivos();
+        return (double) cfg.contemplados() / cfg.ativos();
     }
 
     public double calculateChanceLanceMensal() {
-        double lance = ConsorcioConfig.getValorCredito() * ConsorcioConfig.getPercentualLanceEmbutido();
-        double z = (lance - ConsorcioConfig.getMediaLanceVencedorEstimada()) / ConsorcioConfig.getDesvioPadraoLances();
+        double z = (cfg.valorLance() - cfg.mediaLanceVencedorEstimada()) / cfg.desvioPadraoLances();
         return Math.max(0.05, Math.min(0.95, MathUtils.normalCDF(z)));
     }
 
-    public ContemplationResult checkContemplation(List<Integer> hundreds) {
-        int user = ConsorcioConfig.getUserConsortiumNumber();
-        for (int i = 0; i < hundreds.size(); i++) {
-            int h = hundreds.get(i);
-            if (h == user) return new ContemplationResult(true, false, "Direta", h, i + 1);
+    public ContemplationResult checkContemplation(short[] hundreds) {
+        long t0 = System.nanoTime();
+        ContemplationResult r = conferir(hundreds, cfg.userConsortiumNumber());
+        CONTEMPLACAO.registrarDesde(t0);
+        if (r.isDirect()) DIRETAS.incrementar();
+        if (r.isAdjusted()) AJUSTES.incrementar();
+        return r;
+    }
+
+    private static ContemplationResult conferir(short[] hundreds, int user) {
+        for (int i = 0; i < hundreds.length; i++) {
+            if (hundreds[i] == user) return new ContemplationResult(true, false, "Direta", hundreds[i], i + 1);
         }
-        for (int i = 0; i < hundreds.size(); i++) {
-            int h = hundreds.get(i);
-            for (int j = 1; j <= 2; j++) {
-                if (h + j == user || h - j == user) {
-                    return new ContemplationResult(false, true, "Ajuste", h, i + 1);
-                }
-            }
+        for (int i = 0; i < hundreds.length; i++) {
+            int d = hundreds[i] - user;
+            if (d != 0 && d >= -2 && d <= 2) return new ContemplationResult(false, true, "Ajuste", hundreds[i], i + 1);
         }
         return new ContemplationResult(false, false, "Nenhuma", -1, -1);
     }
 
+    public ContemplationResult checkContemplation(List<Integer> hundreds) {
+        short[] h = new short[hundreds.size()];
+        for (int i = 0; i < h.length; i++) h[i] = (short) (int) hundreds.get(i);
+        return checkContemplation(h);
+    }
+
+    /**
+     * Conferência em lote: quais das {@code cotas} foram contempladas (direta ou
+     * ajuste) em cada um dos {@code sorteios}, via {@link ContemplationMasks}.
+     * O índice de sorteio no resultado é a posição na lista.
+     */
+    public ContemplationMasks.Resultado checkContemplation(List<Draw> sorteios, int[] cotas) {
+        return LOTE.medir(() -> ContemplationMasks.de(sorteios).avaliar(cotas));
+    }
+
+    /** Centenas já extraídas na leitura do sorteio; não há conversão de strings aqui. */
+    public short[] extractHundreds(Draw draw) {
+        return draw.centenas();
+    }
+
     public List<Integer> extractHundreds(List<String> prizes) {
         List<Integer> h = new ArrayList<>();
         for (String s : prizes) {
@@ -47,7 +131,7 @@ public class CalculationService {
     }
 
     public double calcularAtivosProjetados(int mesAtual, double taxaBase) {
-        double ativos = ConsorcioConfig.getAtivos();
+        double ativos = cfg.ativos();
         for (int i = 1; i <= mesAtual; i++) {
             double fator = taxaBase;
             if (i % 12 == 0 || i % 12 == 1) fator *= 1.8;
@@ -61,4 +145,4 @@ public class CalculationService {
         double z = b0 + b1 * mes + b2 * ativosRestantes + b3 * taxaDesistencia;
         return 1 / (1 + Math.exp(-z));
     }
-}
\ No newline at end of file
+}
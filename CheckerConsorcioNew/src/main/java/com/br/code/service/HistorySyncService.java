@@ -0,0 +1,186 @@
+package com.br.code.service;
+
+import com.br.code.config.ConsorcioConfig;
+import com.br.code.metrics.Metrics;
+import com.br.code.model.Draw;
+import com.br.code.report.sink.ReportSink;
+import com.br.code.report.sink.Secao;
+import com.br.code.store.DrawStore;
+import com.br.code.util.JsonUtils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Sincronização incremental do histórico.
+ * <p>
+ * Em vez de baixar o arquivo inteiro quando o cache vence, compara o último
+ * concurso guardado com o {@code latest} já obtido pelo orquestrador e busca
+ * só os concursos que faltam, um a um, anexando-os à {@link DrawStore}.
+ * O download completo fica para a primeira carga (quando não há nem o cache
+ * JSON antigo para importar) ou para diferenças acima de
+ * {@link #MAX_CONCURSOS_INCREMENTAIS}.
+ */
+public class HistorySyncService {
+    static final int MAX_CONCURSOS_INCREMENTAIS = 50;
+    /** A API é pública e gratuita: mais que isso em paralelo costuma render 429. */
+    static final int MAX_PEDIDOS_SIMULTANEOS = 4;
+
+    private static final Metrics.Timer LEITURA_STORE = Metrics.timer("historico.leitura_store");
+    private static final Metrics.Counter NOVOS = Metrics.counter("historico.sorteios_novos");
+
+    private final ApiService api;
+    private final DrawStore store;
+    private final ReportSink mensagens;
+    private final Path legado;
+
+    public HistorySyncService(ApiService api) {
+        this(api, ReportSink.console());
+    }
+
+    /** Com as mensagens de andamento indo para {@code mensagens} (uma vaga do relatório, por exemplo). */
+    public HistorySyncService(ApiService api, ReportSink mensagens) {
+        this(api, DrawStore.abrir(ConsorcioConfig.getHistoricoStoreFormato(), Paths.get(ConsorcioConfig.getHistoricoStoreFile())),
+                mensagens);
+    }
+
+    public HistorySyncService(ApiService api, DrawStore store) {
+        this(api, store, ReportSink.console());
+    }
+
+    public HistorySyncService(ApiService api, DrawStore store, ReportSink mensagens) {
+        this(api, store, Paths.get(ConsorcioConfig.getCacheFile()), mensagens);
+    }
+
+    /** @param legado cache JSON da versão anterior, importado quando a store está vazia */
+    HistorySyncService(ApiService api, DrawStore store, Path legado, ReportSink mensagens) {
+        this.api = api;
+        this.store = store;
+        this.legado = legado;
+        this.mensagens = mensagens;
+    }
+
+    /**
+     * @param ultimo último sorteio publicado, ou {@code null} se a API não respondeu
+     *               (nesse caso vale o que já está guardado; sem nada guardado,
+     *               o histórico é baixado por completo mesmo assim)
+     * @return histórico completo, ordenado por concurso
+     */
+    public List<Draw> sincronizar(Draw ultimo) {
+        try {
+            List<Draw> guardados = carregarOuDescartar();
+            if (guardados.isEmpty()) guardados = cargaInicial();
+            if (guardados.isEmpty()) return baixarCompleto(guardados);
+
+            int ultimoGuardado = guardados.get(guardados.size() - 1).concurso();
+            if (ultimo == null || ultimo.concurso() <= ultimoGuardado) {
+                mensagem("Histórico local em dia (" + guardados.size() + " sorteios).");
+                return guardados;
+            }
+
+            int faltam = ultimo.concurso() - ultimoGuardado;
+            if (faltam > MAX_CONCURSOS_INCREMENTAIS) {
+                return baixarCompleto(guardados);
+            }
+
+            // janela de até MAX_PEDIDOS_SIMULTANEOS requisições (multiplexadas no HTTP/2); processadas em ordem
+            ArrayDeque<CompletableFuture<String>> emAndamento = new ArrayDeque<>(MAX_PEDIDOS_SIMULTANEOS);
+            int proximo = ultimoGuardado + 1;
+            List<Draw> novos = new ArrayList<>(faltam);
+            for (int n = ultimoGuardado + 1; n < ultimo.concurso(); n++) {
+                while (proximo < ultimo.concurso() && emAndamento.size() < MAX_PEDIDOS_SIMULTANEOS) {
+                    emAndamento.add(api.fetchContestAsync(proximo++));
+                }
+                String json = emAndamento.poll().join();
+                Draw d = json == null ? null : JsonUtils.parseDrawLineOrNull(json);
+                if (d == null || d.concurso() != n) break; // mantém a store contígua; tenta de novo na próxima execução
+                novos.add(d);
+            }
+            if (novos.size() == faltam - 1) novos.add(ultimo);
+
+            store.anexar(novos);
+            NOVOS.incrementar(novos.size());
+            guardados.addAll(novos);
+            mensagem("Histórico sincronizado: +" + novos.size() + " sorteio(s), " + guardados.size() + " no total.");
+            return guardados;
+        } catch (IOException e) {
+            System.err.println("Erro na store de histórico: " + e.getMessage());
+            return JsonUtils.parseDrawsSafely(api.fetchHistorical(mensagens));
+        }
+    }
+
+    /**
+     * Store corrompida (CRC, cabeçalho) é tratada como vazia e reconstruída. O
+     * mesmo vale para uma store com buracos ou que não começa no concurso 1 (a
+     * gravada pelo {@code FederalAnalysis --store} a partir da sua janela de
+     * datas, por exemplo): a sincronização só olha o último concurso e nunca
+     * preencheria o que falta.
+     */
+    private List<Draw> carregarOuDescartar() {
+        try {
+            long t0 = System.nanoTime();
+            List<Draw> sorteios = store.carregar();
+            LEITURA_STORE.registrarDesde(t0);
+            int esperado = 1;
+            for (Draw d : sorteios) {
+                if (d.concurso() != esperado) {
+                    throw new IOException("concurso " + d.concurso() + " onde se esperava " + esperado
+                            + " (store não contígua)");
+                }
+                esperado++;
+            }
+            return sorteios;
+        } catch (IOException e) {
+            System.err.println("Store de histórico descartada: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Importador do cache JSON da versão anterior ({@code cache.file}): na primeira
+     * execução com a store vazia, o blob é lido uma última vez e gravado na store.
+     * Sem cache, o chamador baixa o arquivo completo.
+     */
+    private List<Draw> cargaInicial() throws IOException {
+        if (!Files.exists(legado)) return new ArrayList<>();
+        List<Draw> importados;
+        try (Reader in = Files.newBufferedReader(legado, StandardCharsets.UTF_8)) {
+            importados = ordenarSemRepetir(JsonUtils.parseDrawsSafely(in));
+        }
+        if (!importados.isEmpty()) {
+            store.substituir(importados);
+            mensagem("Histórico importado de " + legado + " (" + importados.size() + " sorteios).");
+        }
+        return importados;
+    }
+
+    private List<Draw> baixarCompleto(List<Draw> guardados) throws IOException {
+        List<Draw> todos = ordenarSemRepetir(JsonUtils.parseDrawsSafely(api.fetchFullHistory()));
+        if (todos.isEmpty()) return guardados;
+        store.substituir(todos);
+        mensagem("Histórico baixado por completo (" + todos.size() + " sorteios).");
+        return todos;
+    }
+
+    private void mensagem(String texto) {
+        mensagens.escrever(new Secao("Histórico").linha(texto));
+    }
+
+    private static List<Draw> ordenarSemRepetir(List<Draw> sorteios) {
+        sorteios.sort(Comparator.comparingInt(Draw::concurso));
+        List<Draw> unicos = new ArrayList<>(sorteios.size());
+        for (Draw d : sorteios) {
+            if (unicos.isEmpty() || unicos.get(unicos.size() - 1).concurso() != d.concurso()) unicos.add(d);
+        }
+        return unicos;
+    }
+}
@@ -0,0 +1,73 @@
+package com.br.code.service;
+
+import com.br.code.model.CenarioProjecao;
+
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Chance acumulada de contemplação, mês a mês, para vários cenários de uma vez.
+ * <p>
+ * Em cada mês, um só laço percorre os cenários sobre arrays primitivos e
+ * multiplica a sobrevivência (não contemplado) de cada um pelo fator do mês.
+ * Isso substitui o {@code Math.pow(1 - p, m)} refeito do zero mês a mês. Para
+ * {@code M} meses e {@code C} cenários o custo é {@code O(M * C)}; 84 parcelas
+ * e algumas dezenas de cenários cabem em poucos microssegundos.
+ * <p>
+ * Nos cenários que {@linkplain CenarioProjecao#acompanhaDesistencia()
+ * acompanham a desistência} a taxa de sorteio do mês sobe com a queda dos
+ * ativos projetados ({@link ProjectionTable#ativosRelativos()}), e a
+ * sobrevivência acumula a taxa de cada mês: o mesmo produto, com um fator a
+ * mais por mês.
+ */
+public final class ProjectionEngine {
+    /** Teto da taxa de sorteio nos cenários que acompanham a desistência. */
+    private static final double TAXA_SORTEIO_MAXIMA = 0.10;
+
+    private ProjectionEngine() {
+    }
+
+    /** Taxa de sorteio do mês com {@code ativosRelativos} dos ativos de hoje, limitada a 10%. */
+    public static double taxaSorteio(double taxaBase, double ativosRelativos) {
+        return Math.min(TAXA_SORTEIO_MAXIMA, taxaBase / ativosRelativos);
+    }
+
+    /**
+     * @param inicio          mês 1 da série
+     * @param meses           horizonte, em meses
+     * @param taxaBase        taxa mensal de sorteio do grupo hoje
+     * @param pLance          chance mensal de vencer o lance
+     * @param ativosRelativos ativos projetados sobre os de hoje, índice = mês
+     *                        (0..meses), para os cenários que acompanham a desistência
+     */
+    public static ProjectionSeries projetar(YearMonth inicio, int meses, double taxaBase, double pLance,
+                                            double[] ativosRelativos, List<CenarioProjecao> cenarios) {
+        int n = cenarios.size();
+        double[] fatorMes = new double[n];
+        double[] taxaSorteio = new double[n];
+        boolean[] variavel = new boolean[n];
+        for (int c = 0; c < n; c++) {
+            CenarioProjecao cen = cenarios.get(c);
+            double naoLance = Math.max(0, 1 - pLance * cen.fatorLance());
+            taxaSorteio[c] = taxaBase * cen.fatorSorteio();
+            variavel[c] = cen.acompanhaDesistencia();
+            fatorMes[c] = variavel[c] ? naoLance : Math.max(0, 1 - taxaSorteio[c]) * naoLance;
+        }
+
+        double[] chance = new double[(meses + 1) * n];
+        double[] sobrevivencia = new double[n];
+        Arrays.fill(sobrevivencia, 1);
+        for (int m = 1; m <= meses; m++) {
+            int base = m * n;
+            for (int c = 0; c < n; c++) {
+                if (variavel[c]) sobrevivencia[c] *= 1 - taxaSorteio(taxaSorteio[c], ativosRelativos[m]);
+            }
+            for (int c = 0; c < n; c++) {
+                sobrevivencia[c] *= fatorMes[c];
+                chance[base + c] = 1 - sobrevivencia[c];
+            }
+        }
+        return new ProjectionSeries(inicio, meses, cenarios, chance);
+    }
+}
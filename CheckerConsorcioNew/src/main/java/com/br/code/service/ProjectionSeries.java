@@ -0,0 +1,64 @@
+package com.br.code.service;
+
+import com.br.code.model.CenarioProjecao;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Resultado do {@link ProjectionEngine}: chance acumulada de contemplação por
+ * cenário e mês. Imutável; pode ser lida por várias seções e threads.
+ * <p>
+ * Os valores ficam em um único array, mês a mês, com os cenários lado a lado.
+ * O mês 0 é hoje (chance 0).
+ */
+public final class ProjectionSeries {
+    private final YearMonth inicio;
+    private final int meses;
+    private final List<CenarioProjecao> cenarios;
+    private final double[] chance;
+
+    ProjectionSeries(YearMonth inicio, int meses, List<CenarioProjecao> cenarios, double[] chance) {
+        this.inicio = inicio;
+        this.meses = meses;
+        this.cenarios = List.copyOf(cenarios);
+        this.chance = chance;
+    }
+
+    public int meses() {
+        return meses;
+    }
+
+    /** Mês {@code m}, 1 = primeiro mês da série. */
+    public YearMonth mes(int m) {
+        return inicio.plusMonths(m - 1);
+    }
+
+    public List<CenarioProjecao> cenarios() {
+        return cenarios;
+    }
+
+    /** Posição do cenário na série, ou -1. */
+    public int indice(CenarioProjecao cenario) {
+        return cenarios.indexOf(cenario);
+    }
+
+    /** Chance de ter sido contemplado até o mês {@code m} no cenário da posição {@code cenario}. */
+    public double chance(int cenario, int m) {
+        return chance[m * cenarios.size() + cenario];
+    }
+
+    public double chance(CenarioProjecao cenario, int m) {
+        int c = indice(cenario);
+        if (c < 0) throw new IllegalArgumentException("Cenário fora da série: " + cenario.nome());
+        return chance(c, m);
+    }
+
+    /** Cópia da curva de um cenário, índice = mês (0..meses). */
+    public double[] serie(int cenario) {
+        int n = cenarios.size();
+        double[] s = new double[meses + 1];
+        for (int m = 1; m <= meses; m++) s[m] = chance[m * n + cenario];
+        return s;
+    }
+}
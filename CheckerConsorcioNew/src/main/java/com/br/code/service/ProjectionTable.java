@@ -0,0 +1,123 @@
+package com.br.code.service;
+
+import com.br.code.config.ConfigSnapshot;
+import com.br.code.config.ConsorcioConfig;
+
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Horizonte e ativos projetados do grupo, calculados uma vez por execução.
+ * As chances acumuladas ficam no {@link ProjectionSeries}, que recebe daqui
+ * a curva de ativos do cenário realista.
+ * <p>
+ * O mês 1 é {@link ConsorcioConfig#getProximoMes()}. Cada coluna é um produto
+ * acumulado, então a tabela inteira sai em uma passada: o mês {@code m}
+ * reaproveita o {@code m - 1} em vez de refazer {@code m} multiplicações
+ * (como {@link CalculationService#calcularAtivosProjetados}).
+ * <ul>
+ *   <li>ativos: desistência média de {@code taxa.desistencia.mensal} ao mês,
+ *       com mínimo e máximo a 125% e 75% dela, 80% maior quando
+ *       {@code m % 12} é 0 ou 1 (dez/jan, a mesma convenção de
+ *       {@code calcularAtivosProjetados}), piso de 50 cotas;</li>
+ *   <li>sorteio: {@link ProjectionEngine#taxaSorteio} sobre os ativos médios;</li>
+ *   <li>lance: {@link CalculationService#calculateChanceLanceMensal()}, constante.</li>
+ * </ul>
+ */
+public final class ProjectionTable {
+    /** Faixa de desistência em torno da média, para os ativos mínimo e máximo. */
+    private static final double FAIXA_DESISTENCIA = 0.25;
+    private static final double FATOR_SAZONAL = 1.8;
+    private static final double ATIVOS_MINIMOS = 50;
+
+    private final YearMonth inicio;
+    private final int meses;
+    private final int mesesAteLimite;
+    private final double taxaBase;
+    private final double pLance;
+    private final double[] ativosMin, ativosMedio, ativosMax;
+
+    private ProjectionTable(YearMonth inicio, int meses, int mesesAteLimite, double taxaBase, double pLance) {
+        this.inicio = inicio;
+        this.meses = meses;
+        this.mesesAteLimite = mesesAteLimite;
+        this.taxaBase = taxaBase;
+        this.pLance = pLance;
+        // índice 0 = hoje, para que m - 1 exista no mês 1
+        this.ativosMin = new double[meses + 1];
+        this.ativosMedio = new double[meses + 1];
+        this.ativosMax = new double[meses + 1];
+    }
+
+    /** Até o limite de projeção, com ao menos {@code mesesMinimos} meses. */
+    public static ProjectionTable de(CalculationService calcService, int mesesMinimos) {
+        ConfigSnapshot cfg = calcService.getConfig();
+        YearMonth inicio = ConsorcioConfig.getProximoMes();
+        int ateLimite = (int) ChronoUnit.MONTHS.between(inicio, cfg.limiteProjecao()) + 1;
+        ProjectionTable t = new ProjectionTable(inicio, Math.max(mesesMinimos, ateLimite), Math.max(0, ateLimite),
+                calcService.calculateTaxaGrupo(), calcService.calculateChanceLanceMensal());
+        t.preencher(cfg);
+        return t;
+    }
+
+    private void preencher(ConfigSnapshot cfg) {
+        double media = cfg.taxaDesistenciaMensal();
+        double min = cfg.ativos(), medio = cfg.ativos(), max = cfg.ativos();
+        ativosMin[0] = ativosMedio[0] = ativosMax[0] = cfg.ativos();
+        for (int m = 1; m <= meses; m++) {
+            double sazonal = m % 12 == 0 || m % 12 == 1 ? FATOR_SAZONAL : 1;
+            min *= 1 - media * (1 + FAIXA_DESISTENCIA) * sazonal;
+            medio *= 1 - media * sazonal;
+            max *= 1 - media * (1 - FAIXA_DESISTENCIA) * sazonal;
+            ativosMin[m] = Math.max(ATIVOS_MINIMOS, min);
+            ativosMedio[m] = Math.max(ATIVOS_MINIMOS, medio);
+            ativosMax[m] = Math.max(ATIVOS_MINIMOS, max);
+        }
+    }
+
+    public int meses() {
+        return meses;
+    }
+
+    /** Meses até {@code limite.projecao}, inclusive; pode ser menor que {@link #meses()}. */
+    public int mesesAteLimite() {
+        return mesesAteLimite;
+    }
+
+    /** Mês {@code m}, 1 = próximo mês. */
+    public YearMonth mes(int m) {
+        return inicio.plusMonths(m - 1);
+    }
+
+    public double taxaBase() {
+        return taxaBase;
+    }
+
+    public double ativosMinimo(int m) {
+        return ativosMin[m];
+    }
+
+    public double ativos(int m) {
+        return ativosMedio[m];
+    }
+
+    public double ativosMaximo(int m) {
+        return ativosMax[m];
+    }
+
+    /** Ativos médios do mês sobre os de hoje; índice = mês (0..meses). */
+    public double[] ativosRelativos() {
+        double[] r = new double[meses + 1];
+        for (int m = 0; m <= meses; m++) r[m] = ativosMedio[m] / ativosMedio[0];
+        return r;
+    }
+
+    /** Chance de ser sorteado no mês, com os ativos projetados. */
+    public double pSorteio(int m) {
+        return ProjectionEngine.taxaSorteio(taxaBase, ativosMedio[m] / ativosMedio[0]);
+    }
+
+    public double pLance(int m) {
+        return pLance;
+    }
+}
@@ -0,0 +1,73 @@
+package com.br.code.simulation;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Versão em coorte da cadeia de contemplação de {@link MonteCarloSimulator#simulate}.
+ * <p>
+ * Em vez de percorrer os 36 meses ensaio a ensaio, o bloco inteiro avança um
+ * mês por vez em estrutura de arrays (ativos, mês de contemplação, ruídos):
+ * os sorteios do mês saem em lote de {@link RandomKernels} e a atualização
+ * é um laço sobre arrays primitivos que compacta no início dos arrays os
+ * ensaios ainda não contemplados. Cada ensaio carrega o seu próprio estado
+ * de gerador, derivado do gerador do bloco.
+ */
+final class CohortContemplationKernel implements ParallelTrialEngine.BlockKernel<IntHistogram> {
+
+    private final RandomKernels kernels;
+    private final double pSorteioBase;
+    private final double pLanceBase;
+    private final int ativosIniciais;
+    private final double taxaDesistencia;
+
+    CohortContemplationKernel(RandomKernels kernels, double pSorteioBase, double pLanceBase,
+                              int ativosIniciais, double taxaDesistencia) {
+        this.kernels = kernels;
+        this.pSorteioBase = pSorteioBase;
+        this.pLanceBase = pLanceBase;
+        this.ativosIniciais = ativosIniciais;
+        this.taxaDesistencia = taxaDesistencia;
+    }
+
+    @Override
+    public void executar(SplittableRandom rng, int n, IntHistogram acumulador) {
+        long[] estados = new long[n];
+        for (int i = 0; i < n; i++) estados[i] = rng.nextLong();
+
+        double[] ativos = new double[n];
+        Arrays.fill(ativos, ativosIniciais);
+        double[] ruidoAtivos = new double[n];
+        double[] ruidoLance = new double[n];
+        double[] uniformes = new double[n];
+
+        int pendentes = n;
+        for (int mes = 1; mes <= ContemplationChainSolver.MAX_MESES && pendentes > 0; mes++) {
+            kernels.preencherNormais(estados, ruidoAtivos, pendentes);
+            kernels.preencherNormais(estados, ruidoLance, pendentes);
+            kernels.preencherUniformes(estados, uniformes, pendentes);
+
+            // contemplados saem da coorte; os demais são compactados no início dos arrays
+            int restantes = 0;
+            for (int i = 0; i < pendentes; i++) {
+                double a = ativos[i] * (1 - taxaDesistencia + ruidoAtivos[i] * ContemplationChainSolver.RUIDO_DESISTENCIA);
+                double pSorteio = Math.min(ContemplationChainSolver.P_SORTEIO_MAX, pSorteioBase * (ativosIniciais / a));
+                double pLance = Math.max(ContemplationChainSolver.P_LANCE_MIN, Math.min(ContemplationChainSolver.P_LANCE_MAX,
+                        pLanceBase + ruidoLance[i] * ContemplationChainSolver.RUIDO_LANCE));
+                double pTotal = pSorteio + (1 - pSorteio) * pLance;
+                if (uniformes[i] < pTotal) {
+                    acumulador.add(mes);
+                } else {
+                    ativos[restantes] = a;
+                    estados[restantes] = estados[i];
+                    restantes++;
+                }
+            }
+            pendentes = restantes;
+        }
+
+        for (int i = 0; i < pendentes; i++) {
+            acumulador.add(ContemplationChainSolver.MAX_MESES);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.br.code.simulation;
+
+import com.br.code.util.MathUtils;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Solução numérica da cadeia de Markov simulada em
+ * {@link MonteCarloSimulator#simulate(double, double, long)}.
+ * <p>
+ * A cada mês os ativos são multiplicados por {@code 1 - d + σ·Z} e a chance
+ * de contemplação é {@code pSorteio(ativos) + (1 - pSorteio)·E[pLance]}, onde
+ * {@code pLance} é a chance de lance com ruído normal truncada em
+ * [{@link #P_LANCE_MIN}, {@link #P_LANCE_MAX}] — cuja esperança tem forma
+ * fechada. Só os ativos precisam ser discretizados: a programação dinâmica
+ * percorre (mês × faixa de log(ativos)), propagando a massa ainda não
+ * contemplada com quadratura de Gauss-Hermite de 7 pontos no ruído e
+ * interpolação linear entre faixas. O resultado é a PMF/CDF completa do mês
+ * de contemplação em microssegundos, sem sorteios.
+ */
+public class ContemplationChainSolver {
+
+    public static final int MAX_MESES = 36;
+    public static final double RUIDO_DESISTENCIA = 0.001;
+    public static final double RUIDO_LANCE = 0.1;
+    public static final double P_LANCE_MIN = 0.3;
+    public static final double P_LANCE_MAX = 0.9;
+    public static final double P_SORTEIO_MAX = 0.12;
+
+    private static final int MAX_FAIXAS = 200_000;
+    private static final double DESVIOS_COBERTOS = 8;
+
+    /* Gauss-Hermite (7 pontos) já convertido para N(0, 1): nós √2·x, pesos w/√π. */
+    private static final double[] NOS = {
+            -3.7504397177257425, -2.3667594107345413, -1.1544053947399682, 0.0,
+            1.1544053947399682, 2.3667594107345413, 3.7504397177257425
+    };
+    private static final double[] PESOS = {
+            5.482688559722186e-4, 3.075712396758648e-2, 0.24012317860501264, 0.45714285714285713,
+            0.24012317860501264, 3.075712396758648e-2, 5.482688559722186e-4
+    };
+
+    public MonthDistribution resolver(double pSorteioBase, double pLanceBase, int ativosIniciais, double taxaDesistencia) {
+        double ePLance = esperancaLanceTruncado(pLanceBase);
+
+        double[] passo = new double[NOS.length];
+        for (int k = 0; k < NOS.length; k++) {
+            passo[k] = Math.log(1 - taxaDesistencia + RUIDO_DESISTENCIA * NOS[k]);
+        }
+        double sigmaLog = RUIDO_DESISTENCIA / (1 - taxaDesistencia);
+        double margem = DESVIOS_COBERTOS * sigmaLog * Math.sqrt(MAX_MESES);
+        double x0 = Math.log(ativosIniciais);
+        double xMin = x0 + MAX_MESES * Math.min(0, passo[0]) - margem;
+        double xMax = x0 + MAX_MESES * Math.max(0, passo[NOS.length - 1]) + margem;
+        double h = Math.max(sigmaLog / 4, (xMax - xMin) / MAX_FAIXAS);
+        int faixas = (int) Math.ceil((xMax - xMin) / h) + 1;
+
+        // probabilidade de contemplação em cada faixa de ativos
+        double[] hazard = new double[faixas];
+        for (int i = 0; i < faixas; i++) {
+            double ativos = Math.exp(xMin + i * h);
+            double pSorteio = Math.min(P_SORTEIO_MAX, pSorteioBase * (ativosIniciais / ativos));
+            hazard[i] = pSorteio + (1 - pSorteio) * ePLance;
+        }
+
+        double[] massa = new double[faixas];
+        double[] proxima = new double[faixas];
+        depositar(massa, (x0 - xMin) / h, 1.0);
+
+        double[] pmf = new double[MAX_MESES + 1];
+        for (int mes = 1; mes <= MAX_MESES; mes++) {
+            Arrays.fill(proxima, 0);
+            for (int i = 0; i < faixas; i++) {
+                double m = massa[i];
+                if (m == 0) continue;
+                for (int k = 0; k < NOS.length; k++) {
+                    depositar(proxima, i + passo[k] / h, m * PESOS[k]);
+                }
+            }
+            double contemplados = 0;
+            for (int i = 0; i < faixas; i++) {
+                double c = proxima[i] * hazard[i];
+                contemplados += c;
+                proxima[i] -= c;
+            }
+            double[] t = massa; massa = proxima; proxima = t;
+
+            if (mes < MAX_MESES) {
+                pmf[mes] = contemplados;
+            } else {
+                // mês 36 acumula também quem não foi contemplado (mesma convenção da simulação)
+                double restante = 0;
+                for (double m : massa) restante += m;
+                pmf[mes] = contemplados + restante;
+            }
+        }
+        return new MonthDistribution(pmf);
+    }
+
+    /** E[clamp(μ + σZ, a, b)] para Z ~ N(0, 1). */
+    static double esperancaLanceTruncado(double mu) {
+        double s = RUIDO_LANCE;
+        double alfa = (P_LANCE_MIN - mu) / s;
+        double beta = (P_LANCE_MAX - mu) / s;
+        double fa = MathUtils.cdfNormalPadrao(alfa);
+        double fb = MathUtils.cdfNormalPadrao(beta);
+        return P_LANCE_MIN * fa
+                + P_LANCE_MAX * (1 - fb)
+                + mu * (fb - fa)
+                + s * (MathUtils.pdfNormalPadrao(alfa) - MathUtils.pdfNormalPadrao(beta));
+    }
+
+    private static void depositar(double[] destino, double posicao, double valor) {
+        int i = (int) Math.floor(posicao);
+        double frac = posicao - i;
+        if (i < 0) { destino[0] += valor; return; }
+        if (i >= destino.length - 1) { destino[destino.length - 1] += valor; return; }
+        destino[i] += valor * (1 - frac);
+        destino[i + 1] += valor * frac;
+    }
+
+    /**
+     * Distribuição exata do mês de contemplação (1..{@link #MAX_MESES}).
+     * Implementa a mesma API de percentis dos histogramas amostrados.
+     */
+    public static final class MonthDistribution implements QuantileSketch {
+        private final double[] pmf;
+        private final double[] cdf;
+
+        MonthDistribution(double[] pmf) {
+            this.pmf = pmf;
+            this.cdf = new double[pmf.length];
+            double acc = 0;
+            for (int m = 1; m < pmf.length; m++) {
+                acc += pmf[m];
+                cdf[m] = acc;
+            }
+        }
+
+        public double pmf(int mes) {
+            return mes < 1 || mes >= pmf.length ? 0 : pmf[mes];
+        }
+
+        public double cdf(int mes) {
+            if (mes < 1) return 0;
+            return cdf[Math.min(mes, cdf.length - 1)];
+        }
+
+        public int percentilInt(double p) {
+            for (int m = 1; m < cdf.length; m++) {
+                if (cdf[m] > p) return m;
+            }
+            return cdf.length - 1;
+        }
+
+        @Override
+        public double percentil(double p) {
+            return percentilInt(p);
+        }
+
+        @Override
+        public long total() {
+            return 0;
+        }
+
+        @Override
+        public double erroMaximo() {
+            return 0;
+        }
+
+        /** Maior diferença absoluta entre esta CDF e a CDF empírica do histograma (Kolmogorov-Smirnov). */
+        public double distanciaKS(IntHistogram amostra) {
+            double maior = 0, acc = 0;
+            for (int m = 1; m < cdf.length; m++) {
+                acc += amostra.contagem(m);
+                maior = Math.max(maior, Math.abs(cdf[m] - acc / amostra.total()));
+            }
+            return maior;
+        }
+
+        void escrever(DataOutput out) throws IOException {
+            out.writeInt(pmf.length);
+            for (double v : pmf) out.writeDouble(v);
+        }
+
+        static MonthDistribution ler(DataInput in) throws IOException {
+            double[] pmf = new double[in.readInt()];
+            for (int i = 0; i < pmf.length; i++) pmf[i] = in.readDouble();
+            return new MonthDistribution(pmf);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.br.code.simulation;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Histograma de largura fixa para valores reais em {@code [min, max)}.
+ * <p>
+ * Guarda contagem e soma por faixa; o percentil devolve a média da faixa
+ * que contém a posição pedida. A posição é exata, logo o valor devolvido
+ * fica a no máximo uma largura de faixa ({@code (max - min) / faixas}) do
+ * valor que a lista ordenada daria — e é exato quando todos os valores da
+ * faixa coincidem (ex.: lances arredondados para R$ 1.000). Valores fora de
+ * {@code [min, max)} caem nas faixas extremas e o erro nelas é limitado
+ * apenas pelo mínimo/máximo observados.
+ */
+public class DoubleHistogram implements QuantileSketch {
+
+    private final double min;
+    private final double largura;
+    private final long[] contagens;
+    private final double[] somas;
+    private long total;
+    private double menor = Double.POSITIVE_INFINITY;
+    private double maior = Double.NEGATIVE_INFINITY;
+
+    public DoubleHistogram(double min, double max, int faixas) {
+        if (!(max > min) || faixas <= 0) throw new IllegalArgumentException("Faixa inválida: " + min + ".." + max);
+        this.min = min;
+        this.largura = (max - min) / faixas;
+        this.contagens = new long[faixas];
+        this.somas = new double[faixas];
+    }
+
+    private DoubleHistogram(double min, double largura, long[] contagens, double[] somas) {
+        this.min = min;
+        this.largura = largura;
+        this.contagens = contagens;
+        this.somas = somas;
+    }
+
+    public void add(double valor) {
+        int i = (int) Math.floor((valor - min) / largura);
+        i = Math.max(0, Math.min(contagens.length - 1, i));
+        contagens[i]++;
+        somas[i] += valor;
+        total++;
+        if (valor < menor) menor = valor;
+        if (valor > maior) maior = valor;
+    }
+
+    public DoubleHistogram merge(DoubleHistogram outro) {
+        if (outro.min != min || outro.largura != largura || outro.contagens.length != contagens.length) {
+            throw new IllegalArgumentException("Histogramas com faixas diferentes");
+        }
+        for (int i = 0; i < contagens.length; i++) {
+            contagens[i] += outro.contagens[i];
+            somas[i] += outro.somas[i];
+        }
+        total += outro.total;
+        menor = Math.min(menor, outro.menor);
+        maior = Math.max(maior, outro.maior);
+        return this;
+    }
+
+    @Override
+    public long total() {
+        return total;
+    }
+
+    @Override
+    public double percentil(double p) {
+        if (total == 0) throw new IllegalStateException("Histograma vazio");
+        long rank = Math.min(total - 1, (long) (total * p));
+        long acumulado = 0;
+        for (int i = 0; i < contagens.length; i++) {
+            acumulado += contagens[i];
+            if (acumulado > rank) return Math.max(menor, Math.min(maior, somas[i] / contagens[i]));
+        }
+        return maior;
+    }
+
+    @Override
+    public double erroMaximo() {
+        return largura;
+    }
+
+    void escrever(DataOutput out) throws IOException {
+        out.writeDouble(min);
+        out.writeDouble(largura);
+        out.writeInt(contagens.length);
+        out.writeLong(total);
+        out.writeDouble(menor);
+        out.writeDouble(maior);
+        for (int i = 0; i < contagens.length; i++) {
+            out.writeLong(contagens[i]);
+            out.writeDouble(somas[i]);
+        }
+    }
+
+    static DoubleHistogram ler(DataInput in) throws IOException {
+        double min = in.readDouble();
+        double largura = in.readDouble();
+        int n = in.readInt();
+        DoubleHistogram h = new DoubleHistogram(min, largura, new long[n], new double[n]);
+        h.total = in.readLong();
+        h.menor = in.readDouble();
+        h.maior = in.readDouble();
+        for (int i = 0; i < n; i++) {
+            h.contagens[i] = in.readLong();
+            h.somas[i] = in.readDouble();
+        }
+        return h;
+    }
+}
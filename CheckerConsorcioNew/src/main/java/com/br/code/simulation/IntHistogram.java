@@ -0,0 +1,88 @@
+package com.br.code.simulation;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Histograma exato para valores inteiros em uma faixa fixa (ex.: meses 1..36).
+ * <p>
+ * Um contador {@code long} por valor: memória {@code O(max - min)}, inserção
+ * {@code O(1)}, merge e percentil {@code O(max - min)}. Valores fora da faixa
+ * são truncados para os extremos. Dentro da faixa o percentil é exato.
+ */
+public class IntHistogram implements QuantileSketch {
+
+    private final int min;
+    private final long[] contagens;
+    private long total;
+
+    public IntHistogram(int min, int max) {
+        if (max < min) throw new IllegalArgumentException("Faixa inválida: " + min + ".." + max);
+        this.min = min;
+        this.contagens = new long[max - min + 1];
+    }
+
+    public void add(int valor) {
+        int i = Math.max(0, Math.min(contagens.length - 1, valor - min));
+        contagens[i]++;
+        total++;
+    }
+
+    public IntHistogram merge(IntHistogram outro) {
+        if (outro.min != min || outro.contagens.length != contagens.length) {
+            throw new IllegalArgumentException("Histogramas com faixas diferentes");
+        }
+        for (int i = 0; i < contagens.length; i++) contagens[i] += outro.contagens[i];
+        total += outro.total;
+        return this;
+    }
+
+    @Override
+    public long total() {
+        return total;
+    }
+
+    public long contagem(int valor) {
+        int i = valor - min;
+        return i < 0 || i >= contagens.length ? 0 : contagens[i];
+    }
+
+    public int percentilInt(double p) {
+        if (total == 0) throw new IllegalStateException("Histograma vazio");
+        long rank = Math.min(total - 1, (long) (total * p));
+        long acumulado = 0;
+        for (int i = 0; i < contagens.length; i++) {
+            acumulado += contagens[i];
+            if (acumulado > rank) return min + i;
+        }
+        return min + contagens.length - 1;
+    }
+
+    @Override
+    public double percentil(double p) {
+        return percentilInt(p);
+    }
+
+    @Override
+    public double erroMaximo() {
+        return 0;
+    }
+
+    /** Formato do cache em disco de {@link SimulationCache}: faixa, total e contagens. */
+    void escrever(DataOutput out) throws IOException {
+        out.writeInt(min);
+        out.writeInt(contagens.length);
+        out.writeLong(total);
+        for (long c : contagens) out.writeLong(c);
+    }
+
+    static IntHistogram ler(DataInput in) throws IOException {
+        int min = in.readInt();
+        int n = in.readInt();
+        IntHistogram h = new IntHistogram(min, min + n - 1);
+        h.total = in.readLong();
+        for (int i = 0; i < n; i++) h.contagens[i] = in.readLong();
+        return h;
+    }
+}
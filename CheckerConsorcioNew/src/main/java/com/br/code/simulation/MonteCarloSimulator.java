@@ -1,182 +1,486 @@
 package com.br.code.simulation;
 
-import com.br.code.config.ConsorcioConfig;
+import com.br.code.config.ConfigSnapshot;
+import com.br.code.metrics.Metrics;
+import com.br.code.model.RelatorioCota;
+import com.br.code.report.sink.ReportSink;
+import com.br.code.report.sink.Secao;
 import com.br.code.service.CalculationService;
 import com.br.code.util.MathUtils;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
-import java.util.Random;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BinaryOperator;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
 
 /**
  * Classe responsável por todas as simulações Monte Carlo do consórcio.
  * <p>
  * Recebe {@link CalculationService} por injeção de dependência para
  * reutilizar cálculos de taxa de grupo, chance de lance, etc.
+ * <p>
+ * Os ensaios rodam em paralelo no {@link ParallelTrialEngine}, com um gerador
+ * por bloco derivado de {@code simulacao.semente}: a mesma semente produz o
+ * mesmo relatório qualquer que seja {@code simulacao.threads}.
+ * <p>
+ * Os resultados de cada ensaio vão direto para um {@link QuantileSketch}
+ * primitivo por bloco; os blocos são combinados no fim, sem listas nem
+ * ordenação, em memória constante no número de ensaios. A simulação básica
+ * avança cada bloco como uma coorte ({@link CohortContemplationKernel}).
+ * <p>
+ * A simulação básica também pode ser resolvida sem sorteios pelo
+ * {@link ContemplationChainSolver} ({@code simulacao.modo=exato}), ou pelos
+ * dois caminhos com comparação das CDFs ({@code simulacao.modo=validacao}).
+ * <p>
+ * Os parâmetros vêm do {@link ConfigSnapshot} do {@link CalculationService};
+ * os laços internos recebem só valores primitivos já extraídos dele.
+ * <p>
+ * Com {@code simulacao.ensaios=adaptativo}, cada estatística roda em rodadas
+ * crescentes até o intervalo de 95% dela ficar dentro de
+ * {@code simulacao.precisao.*}; o relatório mostra, ao lado de cada número, o
+ * erro atingido e os ensaios usados.
+ * <p>
+ * Os resultados passam por um {@link SimulationCache} indexado pela
+ * {@link #impressaoDigital()} dessas entradas ({@code simulacao.cache.entradas}
+ * em memória, {@code simulacao.cache.dir} em disco): relatórios repetidos com
+ * os mesmos parâmetros não simulam de novo.
  */
 public class MonteCarloSimulator {
 
+    private static final int ENSAIOS_BASICA = 10_000;
+    private static final int ENSAIOS_CENARIO = 5_000;
+    private static final int MAX_MESES = ContemplationChainSolver.MAX_MESES;
+    private static final int FAIXAS_HISTOGRAMA = 4_096;
+
+    private static final Metrics.Timer BASICA = Metrics.timer("simulacao.basica");
+    private static final Metrics.Timer VALIDACAO = Metrics.timer("simulacao.validacao");
+    private static final Metrics.Timer AVANCADA = Metrics.timer("simulacao.avancada");
+    private static final Metrics.Timer PROFISSIONAL = Metrics.timer("simulacao.profissional");
+    private static final Metrics.Counter ENSAIOS = Metrics.counter("simulacao.ensaios");
+
+    /** Sobe quando a forma de calcular ou de serializar os resultados muda, invalidando o cache em disco. */
+    private static final int VERSAO_RESULTADOS = 2;
+    private static final double[] PERCENTIS_MESES = {0.10, 0.50, 0.90};
+    private static final double[] PERCENTIS_LANCES = {0.10, 0.25, 0.50, 0.75, 0.90};
+    /** Arredondamento de {@link MathUtils#ajustarLanceRacional}. */
+    private static final double DEGRAU_LANCE = 1000;
+    private static final Map<String, SimulationCache<Resultados>> CACHES = new ConcurrentHashMap<>();
+
+    private static final String[] CENARIOS = {"Conservador", "Realista", "Agressivo"};
+    private static final double[] TAXAS_DESISTENCIA = {0.010, 0.008, 0.006};
+    private static final double[] INFLACOES = {0.06, 0.045, 0.03};
+    private static final double[] CONCORRENCIAS = {0.4, 0.3, 0.2};
+
     private final CalculationService calcService;
-    private final Random rng = new Random();
+    private final ConfigSnapshot cfg;
+    private final ContemplationChainSolver solver = new ContemplationChainSolver();
+    private final ParallelTrialEngine engine;
+    private final long semente;
+    private final ReportSink sink;
+    private final SimulationCache<Resultados> cache;
+    private volatile Resultados resultados;
+
+    /** Resultados das três análises impressas, calculados uma vez e só então exibidos. */
+    private record Resultados(QuantileSketch meses, ContemplationChainSolver.MonthDistribution exata,
+                              DoubleHistogram[] cenarios, long vitorias12Meses, long ensaiosProfissional,
+                              DoubleHistogram lances) {}
 
     public MonteCarloSimulator(CalculationService calcService) {
+        this(calcService, new ParallelTrialEngine(calcService.getConfig().threadsSimulacao()),
+                calcService.getConfig().sementeSimulacao());
+    }
+
+    public MonteCarloSimulator(CalculationService calcService, ParallelTrialEngine engine, long semente) {
+        this(calcService, engine, semente, ReportSink.console());
+    }
+
+    /** Com um motor compartilhado entre perfis e o destino do relatório do perfil. */
+    public MonteCarloSimulator(CalculationService calcService, ParallelTrialEngine engine, long semente, ReportSink sink) {
         this.calcService = calcService;
+        this.cfg = calcService.getConfig();
+        this.engine = engine;
+        this.semente = semente;
+        this.sink = sink;
+        this.cache = cacheDe(cfg);
     }
 
-    /* --------------------------------------------------------------
-       1. Simulação básica (10.000 cenários)
-       -------------------------------------------------------------- */
-    public void executarSimulacaoMonteCarlo() {
-        System.out.println("\nSIMULAÇÃO MONTE CARLO (10.000 CENÁRIOS)");
-        System.out.println("-".repeat(60));
+    /**
+     * Roda todas as simulações sem imprimir nada. Depende só da configuração,
+     * então o orquestrador a dispara junto com os downloads; os métodos
+     * {@code executar*} apenas exibem o que já foi calculado.
+     */
+    public void precalcular() {
+        calcular();
+    }
+
+    private Resultados calcular() {
+        Resultados r = resultados;
+        if (r != null) return r;
+        synchronized (this) {
+            if (resultados != null) return resultados;
+            resultados = cache.obter(impressaoDigital(), this::simularTudo);
+            return resultados;
+        }
+    }
+
+    /**
+     * Chave do cache: tudo o que muda os números impressos — probabilidades
+     * derivadas, parâmetros do grupo e do lance, semente, número de ensaios e
+     * o gerador aleatório em uso. A cota não entra: perfis que só diferem nela
+     * compartilham o resultado.
+     */
+    String impressaoDigital() {
+        return SimulationCache.impressaoDigital(VERSAO_RESULTADOS, cfg.modoSimulacao(),
+                calcService.calculateTaxaGrupo(), calcService.calculateChanceLanceMensal(),
+                cfg.ativos(), cfg.taxaDesistenciaMensal(), cfg.valorCredito(), cfg.valorLance(),
+                semente, ENSAIOS_BASICA, ENSAIOS_CENARIO, MAX_MESES, FAIXAS_HISTOGRAMA,
+                cfg.ensaiosSimulacao(), cfg.ensaiosMaximos(), cfg.precisaoMeses(), cfg.precisaoRelativa(),
+                cfg.precisaoProporcao(),
+                RandomKernels.melhorDisponivel().getClass().getName());
+    }
 
+    private Resultados simularTudo() {
+        String modo = cfg.modoSimulacao();
         double pSorteioBase = calcService.calculateTaxaGrupo();
         double pLanceBase   = calcService.calculateChanceLanceMensal();
 
-        List<Integer> mesesContemplacao = simulate(pSorteioBase, pLanceBase);
+        QuantileSketch meses = BASICA.medir(() -> modo.equals("exato")
+                ? resolverExato(pSorteioBase, pLanceBase)
+                : amostrar(ENSAIOS_BASICA, semente, () -> new IntHistogram(1, MAX_MESES),
+                        coorte(pSorteioBase, pLanceBase), IntHistogram::merge,
+                        h -> Precisao.semiAmplitudePercentis(h, PERCENTIS_MESES) <= cfg.precisaoMeses()));
+        ContemplationChainSolver.MonthDistribution exata = modo.equals("validacao")
+                ? VALIDACAO.medir(() -> resolverExato(pSorteioBase, pLanceBase)) : null;
+
+        DoubleHistogram[] cenarios = AVANCADA.medir(() -> {
+            DoubleHistogram[] h = new DoubleHistogram[CENARIOS.length];
+            for (int c = 0; c < CENARIOS.length; c++) {
+                h[c] = amostrar(ENSAIOS_CENARIO, semente + 1 + c, this::histogramaCenario,
+                        porEnsaio(kernelCenario(TAXAS_DESISTENCIA[c], INFLACOES[c], CONCORRENCIAS[c])), DoubleHistogram::merge,
+                        v -> Precisao.percentisRelativos(v, cfg.precisaoRelativa(), v.erroMaximo(), PERCENTIS_MESES));
+            }
+            return h;
+        });
+
+        long t0 = System.nanoTime();
+        long[] vitorias = amostrar(ENSAIOS_CENARIO, semente + 10, () -> new long[2],
+                porEnsaio(kernelVitorias(cfg.valorLance())), MonteCarloSimulator::somar,
+                v -> Precisao.semiAmplitudeProporcao(v[0], v[1]) <= cfg.precisaoProporcao());
+        DoubleHistogram lances = amostrar(ENSAIOS_CENARIO, semente + 20, this::histogramaLances,
+                porEnsaio(kernelLances()), DoubleHistogram::merge,
+                v -> Precisao.percentisRelativos(v, cfg.precisaoRelativa(), DEGRAU_LANCE / 2, PERCENTIS_LANCES));
+        PROFISSIONAL.registrarDesde(t0);
+
+        long total = meses.total() + vitorias[1] + lances.total();
+        for (DoubleHistogram h : cenarios) total += h.total();
+        ENSAIOS.incrementar(total);
+        return new Resultados(meses, exata, cenarios, vitorias[0], vitorias[1], lances);
+    }
 
-        Collections.sort(mesesContemplacao);
-        int p10 = mesesContemplacao.get(1_000);
-        int p50 = mesesContemplacao.get(5_000);
-        int p90 = mesesContemplacao.get(9_000);
+    private boolean adaptativo() {
+        return cfg.ensaiosSimulacao().equals("adaptativo");
+    }
 
-        System.out.printf("10%% dos cenários: até %d meses%n", p10);
-        System.out.printf("50%% dos cenários: até %d meses (mediana)%n", p50);
-        System.out.printf("90%% dos cenários: até %d meses%n", p90);
-        System.out.printf("Margem de erro (95%% IC): ±%d meses%n", (p90 - p10) / 4);
+    /**
+     * {@code ensaiosFixos} ensaios, ou, em {@code simulacao.ensaios=adaptativo},
+     * rodadas crescentes a partir de um bloco até {@code convergiu} aceitar a
+     * precisão (ou {@code simulacao.ensaios.max}).
+     */
+    private <A> A amostrar(long ensaiosFixos, long sementeBase, Supplier<A> fabrica,
+                           ParallelTrialEngine.BlockKernel<A> kernel, BinaryOperator<A> merge, Predicate<A> convergiu) {
+        return adaptativo()
+                ? engine.executarAdaptativo(ParallelTrialEngine.TAMANHO_BLOCO, cfg.ensaiosMaximos(), sementeBase,
+                        fabrica, kernel, merge, convergiu)
+                : engine.executarBlocos(ensaiosFixos, sementeBase, fabrica, kernel, merge);
     }
 
-    private List<Integer> simulate(double pSorteioBase, double pLanceBase) {
-        List<Integer> mesesContemplacao = new ArrayList<>();
+    private static <A> ParallelTrialEngine.BlockKernel<A> porEnsaio(ParallelTrialEngine.TrialKernel<A> kernel) {
+        return (rng, n, acc) -> {
+            for (int i = 0; i < n; i++) kernel.executar(rng, acc);
+        };
+    }
 
-        for (int i = 0; i < 10000; i++) {
-            int mes = 0;
-            double ativos = ConsorcioConfig.getAtivos();
-            boolean contemplado = false;
+    private static long[] somar(long[] a, long[] b) {
+        a[0] += b[0];
+        a[1] += b[1];
+        return a;
+    }
 
-            while (!contemplado && mes < 36) {
-                mes++;
-                // variação aleatória na taxa de desistência
-                ativos *= (1 - ConsorcioConfig.getTaxaDesistenciaMensal() + rng.nextGaussian() * 0.001);
-                double pSorteio = Math.min(0.12, pSorteioBase * (ConsorcioConfig.getAtivos() / ativos));
-                double pLance   = Math.max(0.3, Math.min(0.9, pLanceBase + rng.nextGaussian() * 0.1));
+    /** No modo adaptativo, {@code [±erro | n ensaios]} para pôr ao lado do número; vazio no modo fixo. */
+    private String precisao(String erro, long ensaios) {
+        return adaptativo() ? "  [±" + erro + " | " + ensaios + " ensaios]" : "";
+    }
 
-                double pTotal = pSorteio + (1 - pSorteio) * pLance;
-                if (rng.nextDouble() < pTotal) {
-                    contemplado = true;
-                }
-            }
-            mesesContemplacao.add(contemplado ? mes : 36);
+    /** Mediana do mês de contemplação da simulação básica, sem imprimir (para PDF e gráficos). */
+    public double medianaMesesContemplacao() {
+        return calcular().meses().percentil(0.50);
+    }
+
+    /** Números das três análises, sem formatação, para o relatório estruturado. */
+    public RelatorioCota.Simulacao resumo() {
+        Resultados r = calcular();
+        QuantileSketch meses = r.meses();
+        List<RelatorioCota.Cenario> cenarios = new ArrayList<>(CENARIOS.length);
+        for (int c = 0; c < CENARIOS.length; c++) {
+            DoubleHistogram h = r.cenarios()[c];
+            cenarios.add(new RelatorioCota.Cenario(CENARIOS[c], h.total(),
+                    h.percentil(0.10), h.percentil(0.50), h.percentil(0.90),
+                    Precisao.semiAmplitudePercentil(h, 0.10), Precisao.semiAmplitudePercentil(h, 0.50),
+                    Precisao.semiAmplitudePercentil(h, 0.90)));
         }
-        return mesesContemplacao;
+        DoubleHistogram lances = r.lances();
+        long n = r.ensaiosProfissional();
+        return new RelatorioCota.Simulacao(cfg.modoSimulacao(), meses.total(),
+                (int) meses.percentil(0.10), (int) meses.percentil(0.50), (int) meses.percentil(0.90),
+                Precisao.semiAmplitudePercentil(meses, 0.10), Precisao.semiAmplitudePercentil(meses, 0.50),
+                Precisao.semiAmplitudePercentil(meses, 0.90),
+                cenarios, cfg.valorLance(), n,
+                n == 0 ? 0 : (double) r.vitorias12Meses() / n,
+                n == 0 ? 0 : Precisao.semiAmplitudeProporcao(r.vitorias12Meses(), n),
+                lances.percentil(0.10), lances.percentil(0.25), lances.percentil(0.50),
+                lances.percentil(0.75), lances.percentil(0.90),
+                Precisao.semiAmplitudePercentil(lances, 0.10), Precisao.semiAmplitudePercentil(lances, 0.25),
+                Precisao.semiAmplitudePercentil(lances, 0.50), Precisao.semiAmplitudePercentil(lances, 0.75),
+                Precisao.semiAmplitudePercentil(lances, 0.90));
+    }
+
+    private static SimulationCache<Resultados> cacheDe(ConfigSnapshot cfg) {
+        String dir = cfg.cacheSimulacaoDir();
+        return CACHES.computeIfAbsent(cfg.cacheSimulacaoEntradas() + "|" + dir,
+                k -> new SimulationCache<>(cfg.cacheSimulacaoEntradas(), dir.isEmpty() ? null : Path.of(dir), CODEC));
+    }
+
+    /** Camada em disco: cada histograma no próprio formato, na ordem dos campos de {@link Resultados}. */
+    private static final SimulationCache.Codec<Resultados> CODEC = new SimulationCache.Codec<>() {
+        @Override
+        public void escrever(Resultados r, DataOutputStream out) throws IOException {
+            out.writeInt(VERSAO_RESULTADOS);
+            out.writeBoolean(r.meses() instanceof IntHistogram);
+            if (r.meses() instanceof IntHistogram h) h.escrever(out);
+            else ((ContemplationChainSolver.MonthDistribution) r.meses()).escrever(out);
+            out.writeBoolean(r.exata() != null);
+            if (r.exata() != null) r.exata().escrever(out);
+            out.writeInt(r.cenarios().length);
+            for (DoubleHistogram h : r.cenarios()) h.escrever(out);
+            out.writeLong(r.vitorias12Meses());
+            out.writeLong(r.ensaiosProfissional());
+            r.lances().escrever(out);
+        }
+
+        @Override
+        public Resultados ler(DataInputStream in) throws IOException {
+            if (in.readInt() != VERSAO_RESULTADOS) throw new IOException("versão diferente");
+            QuantileSketch meses = in.readBoolean() ? IntHistogram.ler(in) : ContemplationChainSolver.MonthDistribution.ler(in);
+            ContemplationChainSolver.MonthDistribution exata = in.readBoolean() ? ContemplationChainSolver.MonthDistribution.ler(in) : null;
+            DoubleHistogram[] cenarios = new DoubleHistogram[in.readInt()];
+            for (int c = 0; c < cenarios.length; c++) cenarios[c] = DoubleHistogram.ler(in);
+            long vitorias = in.readLong();
+            long ensaiosProfissional = in.readLong();
+            return new Resultados(meses, exata, cenarios, vitorias, ensaiosProfissional, DoubleHistogram.ler(in));
+        }
+    };
+
+    /* --------------------------------------------------------------
+       1. Simulação básica (10.000 cenários)
+       -------------------------------------------------------------- */
+    public void executarSimulacaoMonteCarlo() {
+        executarSimulacaoMonteCarlo(sink);
+    }
+
+    public void executarSimulacaoMonteCarlo(ReportSink destino) {
+        String modo = cfg.modoSimulacao();
+        boolean exato = modo.equals("exato");
+        Resultados r = calcular();
+        QuantileSketch mesesContemplacao = r.meses();
+
+        Secao s = new Secao("Simulação Monte Carlo");
+        s.linha(exato
+                ? "\nDISTRIBUIÇÃO EXATA DO MÊS DE CONTEMPLAÇÃO (cadeia de Markov)"
+                : adaptativo()
+                ? "\nSIMULAÇÃO MONTE CARLO (ADAPTATIVA - " + mesesContemplacao.total() + " CENÁRIOS)"
+                : "\nSIMULAÇÃO MONTE CARLO (10.000 CENÁRIOS)");
+        s.linha("-".repeat(60));
+
+        int p10 = (int) mesesContemplacao.percentil(0.10);
+        int p50 = (int) mesesContemplacao.percentil(0.50);
+        int p90 = (int) mesesContemplacao.percentil(0.90);
+
+        long n = mesesContemplacao.total();
+        s.printf("10%% dos cenários: até %d meses%s%n", p10, precisaoMeses(mesesContemplacao, 0.10, n));
+        s.printf("50%% dos cenários: até %d meses (mediana)%s%n", p50, precisaoMeses(mesesContemplacao, 0.50, n));
+        s.printf("90%% dos cenários: até %d meses%s%n", p90, precisaoMeses(mesesContemplacao, 0.90, n));
+        s.printf("Margem de erro (95%% IC): ±%d meses%n", (p90 - p10) / 4);
+
+        if (modo.equals("validacao")) {
+            ContemplationChainSolver.MonthDistribution exata = r.exata();
+            s.printf("Validação: P50 exato = %d meses | distância KS exato x simulado = %.4f%n",
+                    exata.percentilInt(0.50), exata.distanciaKS((IntHistogram) mesesContemplacao));
+        }
+        destino.escrever(s);
+    }
+
+    private String precisaoMeses(QuantileSketch meses, double p, long ensaios) {
+        return ensaios == 0 ? "" : precisao(String.format("%.1f", Precisao.semiAmplitudePercentil(meses, p)), ensaios);
+    }
+
+    public ContemplationChainSolver.MonthDistribution resolverExato(double pSorteioBase, double pLanceBase) {
+        return solver.resolver(pSorteioBase, pLanceBase, cfg.ativos(), cfg.taxaDesistenciaMensal());
+    }
+
+    public IntHistogram simulate(double pSorteioBase, double pLanceBase, long ensaios) {
+        return engine.executarBlocos(ensaios, semente, () -> new IntHistogram(1, MAX_MESES),
+                coorte(pSorteioBase, pLanceBase), IntHistogram::merge);
+    }
+
+    private CohortContemplationKernel coorte(double pSorteioBase, double pLanceBase) {
+        return new CohortContemplationKernel(RandomKernels.melhorDisponivel(),
+                pSorteioBase, pLanceBase, cfg.ativos(), cfg.taxaDesistenciaMensal());
     }
 
     /* --------------------------------------------------------------
        2. Monte Carlo Avançado (3 cenários – 5.000 simulações cada)
        -------------------------------------------------------------- */
     public void executarMonteCarloAvancado() {
-        System.out.println("\nMONTE CARLO AVANÇADO (3 CENÁRIOS - 5.000 simulações cada)");
-        System.out.println("-".repeat(80));
-
-        String[] cenarios   = {"Conservador", "Realista", "Agressivo"};
-        double[] taxasDesist = {0.010, 0.008, 0.006};
-        double[] inflacoes   = {0.06, 0.045, 0.03};
-        double[] concorrencias = {0.4, 0.3, 0.2};
-
-        for (int c = 0; c < 3; c++) {
-            System.out.printf("\n[%s]\n", cenarios[c]);
-            List<Double> valoresLiquidos = new ArrayList<>();
-
-            for (int i = 0; i < 5_000; i++) {
-                int mes = 0;
-                double ativos = ConsorcioConfig.getAtivos();
-                boolean contemplado = false;
-
-                while (!contemplado && mes < 36) {
-                    mes++;
-                    double fatorSazonal = (mes % 12 == 0 || mes % 12 == 1) ? 1.8 : 1.0;
-                    ativos *= (1 - taxasDesist[c] * fatorSazonal);
-
-                    double pSorteio = Math.min(0.12, 12.0 / ativos);
-                    int concorrentes = (int) (ativos * concorrencias[c]);
-
-                    boolean venceuLance = true;
-                    for (int j = 0; j < concorrentes; j++) {
-                        if (MathUtils.simularLanceConcorrente(rng) >=
-                                ConsorcioConfig.getValorCredito() * ConsorcioConfig.getPercentualLanceEmbutido()) {
-                            venceuLance = false;
-                            break;
-                        }
-                    }
-                    double pLance = venceuLance ? 0.8 : 0.1;
-
-                    if (rng.nextDouble() < (pSorteio + (1 - pSorteio) * pLance)) {
-                        contemplado = true;
-                    }
-                }
-
-                double valorBem = ConsorcioConfig.getValorCredito() *
-                        Math.pow(1 + inflacoes[c], mes / 12.0);
-                double creditoLiquido = contemplado
-                        ? (ConsorcioConfig.getValorCredito() - ConsorcioConfig.getValorCredito() *
-                        ConsorcioConfig.getPercentualLanceEmbutido())
-                        : 0;
-                valoresLiquidos.add(valorBem - creditoLiquido);
+        executarMonteCarloAvancado(sink);
+    }
+
+    public void executarMonteCarloAvancado(ReportSink destino) {
+        Secao s = new Secao("Monte Carlo avançado");
+        s.linha(adaptativo()
+                ? "\nMONTE CARLO AVANÇADO (3 CENÁRIOS - simulações adaptativas)"
+                : "\nMONTE CARLO AVANÇADO (3 CENÁRIOS - 5.000 simulações cada)");
+        s.linha("-".repeat(80));
+
+        Resultados r = calcular();
+        for (int c = 0; c < CENARIOS.length; c++) {
+            s.printf("\n[%s]\n", CENARIOS[c]);
+            DoubleHistogram valoresLiquidos = r.cenarios()[c];
+
+            double p10 = valoresLiquidos.percentil(0.10);
+            double p50 = valoresLiquidos.percentil(0.50);
+            double p90 = valoresLiquidos.percentil(0.90);
+
+            if (!adaptativo()) {
+                s.printf("  10%%: R$ %.0f | 50%%: R$ %.0f | 90%%: R$ %.0f%n",
+                        p10, p50, p90);
+                continue;
             }
+            s.printf("  10%%: R$ %.0f ±%.0f | 50%%: R$ %.0f ±%.0f | 90%%: R$ %.0f ±%.0f  [%d ensaios]%n",
+                    p10, Precisao.semiAmplitudePercentil(valoresLiquidos, 0.10),
+                    p50, Precisao.semiAmplitudePercentil(valoresLiquidos, 0.50),
+                    p90, Precisao.semiAmplitudePercentil(valoresLiquidos, 0.90), valoresLiquidos.total());
+        }
+        destino.escrever(s);
+    }
+
+    public DoubleHistogram simularCenario(double taxaDesist, double inflacao, double concorrencia,
+                                          long ensaios, long sementeCenario) {
+        return engine.executar(ensaios, sementeCenario, this::histogramaCenario,
+                kernelCenario(taxaDesist, inflacao, concorrencia), DoubleHistogram::merge);
+    }
+
+    private DoubleHistogram histogramaCenario() {
+        // valor líquido fica entre o lance (contemplado) e o bem corrigido por 3 anos de inflação
+        return new DoubleHistogram(0, cfg.valorCredito() * 1.5, FAIXAS_HISTOGRAMA);
+    }
+
+    private ParallelTrialEngine.TrialKernel<DoubleHistogram> kernelCenario(double taxaDesist, double inflacao,
+                                                                            double concorrencia) {
+        double valorCredito = cfg.valorCredito();
+        double seuLance = cfg.valorLance();
+        int ativosIniciais = cfg.ativos();
+        return (rng, acc) -> acc.add(simularValorLiquido(rng, taxaDesist, inflacao, concorrencia,
+                ativosIniciais, valorCredito, seuLance));
+    }
 
-            Collections.sort(valoresLiquidos);
-            double p10 = valoresLiquidos.get(500);
-            double p50 = valoresLiquidos.get(2_500);
-            double p90 = valoresLiquidos.get(4_500);
+    private static double simularValorLiquido(RandomGenerator rng, double taxaDesist, double inflacao, double concorrencia,
+                                              int ativosIniciais, double valorCredito, double seuLance) {
+        int mes = 0;
+        double ativos = ativosIniciais;
+        boolean contemplado = false;
 
-            System.out.printf("  10%%: R$ %.0f | 50%%: R$ %.0f | 90%%: R$ %.0f%n",
-                    p10, p50, p90);
+        while (!contemplado && mes < MAX_MESES) {
+            mes++;
+            double fatorSazonal = (mes % 12 == 0 || mes % 12 == 1) ? 1.8 : 1.0;
+            ativos *= (1 - taxaDesist * fatorSazonal);
+
+            double pSorteio = Math.min(0.12, 12.0 / ativos);
+            int concorrentes = (int) (ativos * concorrencia);
+
+            // um único sorteio do maior lance concorrente, em vez de um por concorrente
+            boolean venceuLance = MathUtils.simularMaiorLanceConcorrente(rng, concorrentes, valorCredito) < seuLance;
+            double pLance = venceuLance ? 0.8 : 0.1;
+
+            if (rng.nextDouble() < (pSorteio + (1 - pSorteio) * pLance)) {
+                contemplado = true;
+            }
         }
+
+        double valorBem = valorCredito * Math.pow(1 + inflacao, mes / 12.0);
+        double creditoLiquido = contemplado ? (valorCredito - seuLance) : 0;
+        return valorBem - creditoLiquido;
     }
 
     /* --------------------------------------------------------------
        3. Simulação Profissional (bimodal + racional + 12 meses)
        -------------------------------------------------------------- */
     public void executarSimulacaoProfissional() {
-        double seuLance = ConsorcioConfig.getValorCredito() *
-                ConsorcioConfig.getPercentualLanceEmbutido();
+        executarSimulacaoProfissional(sink);
+    }
 
-        int repeticoes = 5_000;
-        int vitorias = 0;
+    public void executarSimulacaoProfissional(ReportSink destino) {
+        double seuLance = cfg.valorLance();
 
-        for (int i = 0; i < repeticoes; i++) {
-            double mesVitoria = simularCompeticao12Meses(seuLance);
-            if (mesVitoria > 0) vitorias++;
-        }
+        Resultados r = calcular();
+        long repeticoes = r.ensaiosProfissional();
+        long vitorias = r.vitorias12Meses();
 
         double chance = vitorias * 100.0 / repeticoes;
 
-        System.out.println("\nSIMULAÇÃO PROFISSIONAL (bimodal + racional + 12 meses)");
-        System.out.println("================================================================");
-        System.out.printf("Chance de vencer com R$ %.0f em 12 meses: %.1f%%\n",
-                seuLance, chance);
+        Secao s = new Secao("Simulação profissional");
+        s.linha("\nSIMULAÇÃO PROFISSIONAL (bimodal + racional + 12 meses)");
+        s.linha("================================================================");
+        s.printf("Chance de vencer com R$ %.0f em 12 meses: %.1f%%%s\n",
+                seuLance, chance, precisao(String.format("%.1f pp",
+                        Precisao.semiAmplitudeProporcao(vitorias, repeticoes) * 100), repeticoes));
 
-        exibirPercentisLances();
+        exibirPercentisLances(s);
+        destino.escrever(s);
     }
 
-    private double simularCompeticao12Meses(double seuLance) {
-        int ativos = ConsorcioConfig.getAtivos();
-        for (int mes = 1; mes <= 12; mes++) {
-            double probLanceMes = (mes == 11 || mes == 12) ? 0.20 : 0.15;
-            boolean voceGanhou = true;
+    public long contarVitorias12Meses(double seuLance, long repeticoes) {
+        long[] vitorias = engine.executar(repeticoes, semente + 10, () -> new long[2],
+                kernelVitorias(seuLance), MonteCarloSimulator::somar);
+        return vitorias[0];
+    }
 
-            for (int i = 0; i < ativos; i++) {
-                if (rng.nextDouble() > probLanceMes) continue;
+    /** Acumulador {@code {vitórias, ensaios}}. */
+    private ParallelTrialEngine.TrialKernel<long[]> kernelVitorias(double seuLance) {
+        int ativosIniciais = cfg.ativos();
+        double valorCredito = cfg.valorCredito();
+        return (rng, acc) -> {
+            if (simularCompeticao12Meses(rng, seuLance, ativosIniciais, valorCredito) > 0) acc[0]++;
+            acc[1]++;
+        };
+    }
 
-                double lanceConc = MathUtils.gerarLanceBimodal(rng);
-                lanceConc = MathUtils.ajustarLanceRacional(lanceConc);
+    private static double simularCompeticao12Meses(RandomGenerator rng, double seuLance,
+                                                   int ativosIniciais, double valorCredito) {
+        int ativos = ativosIniciais;
+        for (int mes = 1; mes <= 12; mes++) {
+            double probLanceMes = (mes == 11 || mes == 12) ? 0.20 : 0.15;
 
-                if (lanceConc >= seuLance) {
-                    voceGanhou = false;
-                    break;
-                }
-            }
+            // maior lance entre as cotas que deram lance no mês, em um único sorteio
+            double maiorLance = MathUtils.gerarMaiorLanceBimodal(rng, ativos, probLanceMes);
+            boolean voceGanhou = maiorLance <= 0 || MathUtils.ajustarLanceRacional(maiorLance, valorCredito) < seuLance;
 
             if (voceGanhou) return mes;
 
@@ -186,30 +490,36 @@ public class MonteCarloSimulator {
         return -1; // não venceu nos 12 meses
     }
 
-    private void exibirPercentisLances() {
-        int simulacoes = 5_000;
-        List<Double> lances = new ArrayList<>();
+    private DoubleHistogram histogramaLances() {
+        // lances racionais são múltiplos de R$ 1.000 até 50% do crédito: cada faixa guarda um único valor
+        return new DoubleHistogram(0, cfg.valorCredito(), FAIXAS_HISTOGRAMA);
+    }
+
+    private ParallelTrialEngine.TrialKernel<DoubleHistogram> kernelLances() {
+        double valorCredito = cfg.valorCredito();
+        return (rng, acc) -> acc.add(MathUtils.ajustarLanceRacional(MathUtils.gerarLanceBimodal(rng), valorCredito));
+    }
 
-        for (int i = 0; i < simulacoes; i++) {
-            double l = MathUtils.gerarLanceBimodal(rng);
-            l = MathUtils.ajustarLanceRacional(l);
-            lances.add(l);
-        }
+    private void exibirPercentisLances(Secao s) {
+        DoubleHistogram lances = calcular().lances();
+
+        double p10 = lances.percentil(0.10);
+        double p25 = lances.percentil(0.25);
+        double p50 = lances.percentil(0.50);
+        double p75 = lances.percentil(0.75);
+        double p90 = lances.percentil(0.90);
+
+        s.linha("\nCURVA DE LANCES (percentis)");
+        s.linha("--------------------------------------------------");
+        s.printf("P10 → %.0f%s%n", p10, precisaoLance(lances, 0.10));
+        s.printf("P25 → %.0f%s%n", p25, precisaoLance(lances, 0.25));
+        s.printf("P50 → %.0f%s%n", p50, precisaoLance(lances, 0.50));
+        s.printf("P75 → %.0f%s%n", p75, precisaoLance(lances, 0.75));
+        s.printf("P90 → %.0f%s%n", p90, precisaoLance(lances, 0.90));
+        s.linha("--------------------------------------------------");
+    }
 
-        Collections.sort(lances);
-        double p10 = lances.get((int) (simulacoes * 0.10));
-        double p25 = lances.get((int) (simulacoes * 0.25));
-        double p50 = lances.get((int) (simulacoes * 0.50));
-        double p75 = lances.get((int) (simulacoes * 0.75));
-        double p90 = lances.get((int) (simulacoes * 0.90));
-
-        System.out.println("\nCURVA DE LANCES (percentis)");
-        System.out.println("--------------------------------------------------");
-        System.out.printf("P10 → %.0f%n", p10);
-        System.out.printf("P25 → %.0f%n", p25);
-        System.out.printf("P50 → %.0f%n", p50);
-        System.out.printf("P75 → %.0f%n", p75);
-        System.out.printf("P90 → %.0f%n", p90);
-        System.out.println("--------------------------------------------------");
-    }
-}
\ No newline at end of file
+    private String precisaoLance(DoubleHistogram lances, double p) {
+        return precisao(String.format("%.0f", Precisao.semiAmplitudePercentil(lances, p)), lances.total());
+    }
+}
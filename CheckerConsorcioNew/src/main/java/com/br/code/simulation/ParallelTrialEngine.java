@@ -0,0 +1,124 @@
+package com.br.code.simulation;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Motor de execução paralela dos ensaios Monte Carlo.
+ * <p>
+ * Os ensaios são divididos em blocos de tamanho fixo ({@link #TAMANHO_BLOCO}).
+ * Cada bloco recebe um {@link SplittableRandom} próprio, derivado apenas de
+ * (semente, índice do bloco), e os acumuladores parciais são combinados
+ * sempre na mesma árvore de merge. O resultado depende somente da semente e
+ * do número de ensaios — nunca do número de threads do {@link ForkJoinPool}.
+ */
+public class ParallelTrialEngine {
+
+    public static final int TAMANHO_BLOCO = 4_096;
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    /** Executa um bloco inteiro de ensaios sobre o acumulador do bloco. */
+    @FunctionalInterface
+    public interface BlockKernel<A> {
+        void executar(SplittableRandom rng, int ensaios, A acumulador);
+    }
+
+    /** Executa um único ensaio sobre o acumulador do bloco. */
+    @FunctionalInterface
+    public interface TrialKernel<A> {
+        void executar(SplittableRandom rng, A acumulador);
+    }
+
+    private final ForkJoinPool pool;
+
+    public ParallelTrialEngine(int threads) {
+        this.pool = new ForkJoinPool(Math.max(1, threads));
+    }
+
+    public int getThreads() {
+        return pool.getParallelism();
+    }
+
+    public <A> A executar(long ensaios, long semente, Supplier<A> fabrica,
+                          TrialKernel<A> kernel, BinaryOperator<A> merge) {
+        return executarBlocos(ensaios, semente, fabrica, (rng, n, acc) -> {
+            for (int i = 0; i < n; i++) kernel.executar(rng, acc);
+        }, merge);
+    }
+
+    public <A> A executarBlocos(long ensaios, long semente, Supplier<A> fabrica,
+                                BlockKernel<A> kernel, BinaryOperator<A> merge) {
+        if (ensaios <= 0) return fabrica.get();
+        long blocos = (ensaios + TAMANHO_BLOCO - 1) / TAMANHO_BLOCO;
+        return pool.invoke(new Tarefa<>(0, blocos, ensaios, semente, fabrica, kernel, merge));
+    }
+
+    /**
+     * Modo adaptativo: começa com {@code minimo} ensaios e dobra a cada rodada
+     * até {@code convergiu} aceitar o acumulado ou {@code maximo} ser atingido.
+     * Cada rodada roda blocos completos, continuando a numeração dos blocos,
+     * então os primeiros {@code n} ensaios são sempre os mesmos de uma execução
+     * fixa de {@code n} ensaios com a mesma semente.
+     */
+    public <A> A executarAdaptativo(long minimo, long maximo, long semente, Supplier<A> fabrica,
+                                    BlockKernel<A> kernel, BinaryOperator<A> merge, Predicate<A> convergiu) {
+        long maxBlocos = Math.max(1, (maximo + TAMANHO_BLOCO - 1) / TAMANHO_BLOCO);
+        long feitos = 0;
+        long alvo = Math.min(maxBlocos, Math.max(1, (minimo + TAMANHO_BLOCO - 1) / TAMANHO_BLOCO));
+        A acc = null;
+        while (true) {
+            A rodada = pool.invoke(new Tarefa<>(feitos, alvo, alvo * TAMANHO_BLOCO, semente, fabrica, kernel, merge));
+            acc = acc == null ? rodada : merge.apply(acc, rodada);
+            feitos = alvo;
+            if (feitos >= maxBlocos || convergiu.test(acc)) return acc;
+            alvo = Math.min(maxBlocos, feitos * 2);
+        }
+    }
+
+    /** Semente do bloco: SplitMix64 sobre (semente, índice), estável entre execuções. */
+    static long sementeDoBloco(long semente, long bloco) {
+        long z = semente + (bloco + 1) * GOLDEN_GAMMA;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static final class Tarefa<A> extends RecursiveTask<A> {
+        private final long inicio, fim, ensaios, semente;
+        private final Supplier<A> fabrica;
+        private final BlockKernel<A> kernel;
+        private final BinaryOperator<A> merge;
+
+        Tarefa(long inicio, long fim, long ensaios, long semente, Supplier<A> fabrica,
+               BlockKernel<A> kernel, BinaryOperator<A> merge) {
+            this.inicio = inicio;
+            this.fim = fim;
+            this.ensaios = ensaios;
+            this.semente = semente;
+            this.fabrica = fabrica;
+            this.kernel = kernel;
+            this.merge = merge;
+        }
+
+        @Override
+        protected A compute() {
+            if (fim - inicio == 1) {
+                A acc = fabrica.get();
+                int n = (int) Math.min(TAMANHO_BLOCO, ensaios - inicio * TAMANHO_BLOCO);
+                kernel.executar(new SplittableRandom(sementeDoBloco(semente, inicio)), n, acc);
+                return acc;
+            }
+            long meio = (inicio + fim) >>> 1;
+            Tarefa<A> esquerda = new Tarefa<>(inicio, meio, ensaios, semente, fabrica, kernel, merge);
+            Tarefa<A> direita = new Tarefa<>(meio, fim, ensaios, semente, fabrica, kernel, merge);
+            esquerda.fork();
+            A d = direita.compute();
+            return merge.apply(esquerda.join(), d);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.br.code.simulation;
+
+/**
+ * Erro das estatísticas amostradas, como semi-amplitude de um intervalo de
+ * 95% — o critério de parada do modo {@code simulacao.ensaios=adaptativo} e o
+ * "±" impresso ao lado de cada número.
+ */
+final class Precisao {
+    static final double Z95 = 1.959963984540054;
+
+    private Precisao() {
+    }
+
+    /**
+     * Intervalo do percentil {@code p} pelas estatísticas de ordem: os
+     * percentis {@code p ± z·√(p(1-p)/n)} da própria amostra. Zero para
+     * distribuições exatas ({@code total() == 0}).
+     */
+    static double semiAmplitudePercentil(QuantileSketch amostra, double p) {
+        long n = amostra.total();
+        if (n == 0) return 0;
+        double d = Z95 * Math.sqrt(p * (1 - p) / n);
+        return (amostra.percentil(Math.min(1, p + d)) - amostra.percentil(Math.max(0, p - d))) / 2;
+    }
+
+    /** Maior semi-amplitude entre os percentis pedidos. */
+    static double semiAmplitudePercentis(QuantileSketch amostra, double... ps) {
+        double maior = 0;
+        for (double p : ps) maior = Math.max(maior, semiAmplitudePercentil(amostra, p));
+        return maior;
+    }
+
+    /**
+     * Cada percentil dentro de {@code relativa} do próprio valor, ou de
+     * {@code resolucao} quando a amostra é discreta (lances de R$ 1.000 em
+     * R$ 1.000 nunca terão intervalo menor que meio degrau).
+     */
+    static boolean percentisRelativos(QuantileSketch amostra, double relativa, double resolucao, double... ps) {
+        for (double p : ps) {
+            double tolerancia = Math.max(resolucao, relativa * Math.abs(amostra.percentil(p)));
+            if (semiAmplitudePercentil(amostra, p) > tolerancia) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Proporção {@code sucessos / n} pelo intervalo de Agresti-Coull, que não
+     * zera quando nenhum (ou todo) ensaio teve sucesso.
+     */
+    static double semiAmplitudeProporcao(long sucessos, long n) {
+        if (n == 0) return 1;
+        double nAjustado = n + Z95 * Z95;
+        double p = (sucessos + Z95 * Z95 / 2) / nAjustado;
+        return Z95 * Math.sqrt(p * (1 - p) / nAjustado);
+    }
+}
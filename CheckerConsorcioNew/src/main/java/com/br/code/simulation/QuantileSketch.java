@@ -0,0 +1,18 @@
+package com.br.code.simulation;
+
+/**
+ * Acumulador de percentis em memória constante, combinável entre threads.
+ * <p>
+ * O percentil {@code p} segue a mesma convenção da lista ordenada usada
+ * antes: o elemento de posição {@code (int) (total * p)}, base zero.
+ */
+public interface QuantileSketch {
+
+    /** Número de amostras acumuladas; 0 quando a distribuição é calculada analiticamente. */
+    long total();
+
+    double percentil(double p);
+
+    /** Limite superior do erro absoluto, em unidades do valor, de {@link #percentil}. */
+    double erroMaximo();
+}
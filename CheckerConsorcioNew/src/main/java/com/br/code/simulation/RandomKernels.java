@@ -0,0 +1,81 @@
+package com.br.code.simulation;
+
+/**
+ * Kernels em lote para gerar variáveis aleatórias em arrays primitivos.
+ * <p>
+ * Cada posição do array tem o seu próprio estado SplitMix64 em
+ * {@code estados[i]}, de modo que o valor gerado para um ensaio não depende
+ * da largura do SIMD nem da ordem de processamento. Esta implementação é o
+ * fallback escalar; {@link #melhorDisponivel()} devolve a versão com a
+ * Vector API quando a JVM foi iniciada com
+ * {@code --add-modules jdk.incubator.vector}.
+ * <p>
+ * Uniformes são idênticos bit a bit nos dois caminhos. Normais e
+ * log-normais usam Box-Muller; as funções transcendentais vetoriais podem
+ * diferir da {@link Math} no último ulp.
+ */
+public class RandomKernels {
+
+    static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    static final long MIX_1 = 0xBF58476D1CE4E5B9L;
+    static final long MIX_2 = 0x94D049BB133111EBL;
+    static final double DOUBLE_UNIT = 0x1.0p-53;
+    static final double DOIS_PI = 2 * Math.PI;
+
+    private static final RandomKernels INSTANCIA = carregar();
+
+    public static RandomKernels melhorDisponivel() {
+        return INSTANCIA;
+    }
+
+    public static RandomKernels escalar() {
+        return new RandomKernels();
+    }
+
+    private static RandomKernels carregar() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                if (VectorRandomKernels.suportada()) return new VectorRandomKernels();
+            } catch (LinkageError e) {
+                // módulo presente mas não legível por esta classe: segue no caminho escalar
+            }
+        }
+        return new RandomKernels();
+    }
+
+    public String nome() {
+        return "escalar";
+    }
+
+    /** {@code destino[i]} ~ U[0, 1). */
+    public void preencherUniformes(long[] estados, double[] destino, int n) {
+        for (int i = 0; i < n; i++) {
+            destino[i] = proximoUniforme(estados, i);
+        }
+    }
+
+    /** {@code destino[i]} ~ N(0, 1). */
+    public void preencherNormais(long[] estados, double[] destino, int n) {
+        for (int i = 0; i < n; i++) {
+            double u1 = proximoUniforme(estados, i);
+            double u2 = proximoUniforme(estados, i);
+            destino[i] = Math.sqrt(-2 * Math.log(1 - u1)) * Math.cos(DOIS_PI * u2);
+        }
+    }
+
+    /** {@code destino[i]} = exp(mu + sigma·Z). */
+    public void preencherLogNormais(long[] estados, double[] destino, int n, double mu, double sigma) {
+        preencherNormais(estados, destino, n);
+        for (int i = 0; i < n; i++) {
+            destino[i] = Math.exp(mu + sigma * destino[i]);
+        }
+    }
+
+    static double proximoUniforme(long[] estados, int i) {
+        long z = (estados[i] += GOLDEN_GAMMA);
+        z = (z ^ (z >>> 30)) * MIX_1;
+        z = (z ^ (z >>> 27)) * MIX_2;
+        z = z ^ (z >>> 31);
+        return (z >>> 11) * DOUBLE_UNIT;
+    }
+}
@@ -0,0 +1,139 @@
+package com.br.code.simulation;
+
+import com.br.code.metrics.Metrics;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Cache de resultados de simulação pela impressão digital das entradas.
+ * <p>
+ * Duas camadas: um LRU em memória, compartilhado pelo processo (no modo lote,
+ * perfis com o mesmo crédito e lance reaproveitam o mesmo cálculo), e,
+ * opcionalmente, um arquivo por chave em um diretório, que sobrevive entre
+ * execuções. Quem pede uma chave já em cálculo espera o mesmo resultado em
+ * vez de calcular de novo. Um arquivo ilegível é tratado como ausente.
+ */
+public final class SimulationCache<V> {
+    private static final Metrics.Counter MEMORIA = Metrics.counter("simulacao.cache.memoria");
+    private static final Metrics.Counter DISCO = Metrics.counter("simulacao.cache.disco");
+    private static final Metrics.Counter CALCULOS = Metrics.counter("simulacao.cache.calculos");
+
+    private static final int MAGIC = 0x53494D43; // "SIMC"
+
+    /** Serialização do valor para a camada em disco. */
+    public interface Codec<V> {
+        void escrever(V valor, DataOutputStream out) throws IOException;
+
+        V ler(DataInputStream in) throws IOException;
+    }
+
+    private final Map<String, CompletableFuture<V>> memoria;
+    private final Path diretorio;
+    private final Codec<V> codec;
+
+    /**
+     * @param entradas  capacidade do LRU; 0 desliga a camada em memória
+     * @param diretorio camada em disco, ou {@code null} para não usar
+     */
+    public SimulationCache(int entradas, Path diretorio, Codec<V> codec) {
+        this.memoria = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompletableFuture<V>> maisAntiga) {
+                return size() > entradas;
+            }
+        };
+        this.diretorio = diretorio;
+        this.codec = codec;
+    }
+
+    public V obter(String chave, Supplier<V> calcular) {
+        CompletableFuture<V> novo = new CompletableFuture<>();
+        CompletableFuture<V> existente;
+        synchronized (memoria) {
+            existente = memoria.putIfAbsent(chave, novo);
+        }
+        if (existente != null) {
+            MEMORIA.incrementar();
+            return existente.join();
+        }
+        try {
+            V v = lerDoDisco(chave);
+            if (v != null) {
+                DISCO.incrementar();
+            } else {
+                CALCULOS.incrementar();
+                v = calcular.get();
+                gravarNoDisco(chave, v);
+            }
+            novo.complete(v);
+            return v;
+        } catch (RuntimeException | Error e) {
+            synchronized (memoria) {
+                memoria.remove(chave, novo);
+            }
+            novo.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /** SHA-256 das partes, separadas por {@code |}, em hexadecimal. */
+    public static String impressaoDigital(Object... partes) {
+        StringBuilder sb = new StringBuilder();
+        for (Object p : partes) {
+            // doubles pelos bits, para que 0.1 e 0.1000000001 nunca colidam por formatação
+            sb.append(p instanceof Double d ? Long.toHexString(Double.doubleToLongBits(d)) : String.valueOf(p)).append('|');
+        }
+        try {
+            MessageDigest sha = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha.digest(sb.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private V lerDoDisco(String chave) {
+        if (diretorio == null) return null;
+        Path p = diretorio.resolve(chave + ".sim");
+        if (!Files.exists(p)) return null;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(p)))) {
+            if (in.readInt() != MAGIC || !in.readUTF().equals(chave)) return null;
+            return codec.ler(in);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Cache de simulação ignorado (" + p.getFileName() + "): " + e.getMessage());
+            return null;
+        }
+    }
+
+    /** Grava em um temporário e renomeia: leitores concorrentes nunca veem meio arquivo. */
+    private void gravarNoDisco(String chave, V valor) {
+        if (diretorio == null) return;
+        try {
+            Files.createDirectories(diretorio);
+            Path tmp = Files.createTempFile(diretorio, chave, ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(MAGIC);
+                out.writeUTF(chave);
+                codec.escrever(valor, out);
+            }
+            Files.move(tmp, diretorio.resolve(chave + ".sim"),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Cache de simulação não gravado: " + e.getMessage());
+        }
+    }
+}
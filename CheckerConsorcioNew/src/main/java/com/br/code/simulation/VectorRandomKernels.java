@@ -0,0 +1,86 @@
+package com.br.code.simulation;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link RandomKernels} com a Vector API (incubator): SplitMix64, Box-Muller
+ * e exponencial calculados em {@code SPECIES_PREFERRED} lanes por instrução.
+ * Só é instanciada por {@link RandomKernels#melhorDisponivel()} quando o
+ * módulo {@code jdk.incubator.vector} está disponível.
+ */
+final class VectorRandomKernels extends RandomKernels {
+
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+
+    VectorRandomKernels() {
+        if (!suportada()) {
+            throw new IllegalStateException("Espécies long/double com larguras diferentes");
+        }
+    }
+
+    /** Os kernels convertem lane a lane entre long e double: as duas espécies precisam da mesma largura. */
+    static boolean suportada() {
+        return LONGS.length() == DOUBLES.length();
+    }
+
+    @Override
+    public String nome() {
+        return "vector-api (" + DOUBLES.length() + " lanes)";
+    }
+
+    @Override
+    public void preencherUniformes(long[] estados, double[] destino, int n) {
+        int i = 0;
+        int limite = DOUBLES.loopBound(n);
+        for (; i < limite; i += DOUBLES.length()) {
+            proximoVetorUniforme(estados, i).intoArray(destino, i);
+        }
+        for (; i < n; i++) {
+            destino[i] = proximoUniforme(estados, i);
+        }
+    }
+
+    @Override
+    public void preencherNormais(long[] estados, double[] destino, int n) {
+        int i = 0;
+        int limite = DOUBLES.loopBound(n);
+        for (; i < limite; i += DOUBLES.length()) {
+            DoubleVector u1 = proximoVetorUniforme(estados, i);
+            DoubleVector u2 = proximoVetorUniforme(estados, i);
+            DoubleVector raio = u1.neg().add(1).lanewise(VectorOperators.LOG).mul(-2).lanewise(VectorOperators.SQRT);
+            raio.mul(u2.mul(DOIS_PI).lanewise(VectorOperators.COS)).intoArray(destino, i);
+        }
+        for (; i < n; i++) {
+            double u1 = proximoUniforme(estados, i);
+            double u2 = proximoUniforme(estados, i);
+            destino[i] = Math.sqrt(-2 * Math.log(1 - u1)) * Math.cos(DOIS_PI * u2);
+        }
+    }
+
+    @Override
+    public void preencherLogNormais(long[] estados, double[] destino, int n, double mu, double sigma) {
+        preencherNormais(estados, destino, n);
+        int i = 0;
+        int limite = DOUBLES.loopBound(n);
+        for (; i < limite; i += DOUBLES.length()) {
+            DoubleVector.fromArray(DOUBLES, destino, i).mul(sigma).add(mu)
+                    .lanewise(VectorOperators.EXP).intoArray(destino, i);
+        }
+        for (; i < n; i++) {
+            destino[i] = Math.exp(mu + sigma * destino[i]);
+        }
+    }
+
+    private static DoubleVector proximoVetorUniforme(long[] estados, int i) {
+        LongVector s = LongVector.fromArray(LONGS, estados, i).add(GOLDEN_GAMMA);
+        s.intoArray(estados, i);
+        LongVector z = s.lanewise(VectorOperators.XOR, s.lanewise(VectorOperators.LSHR, 30)).mul(MIX_1);
+        z = z.lanewise(VectorOperators.XOR, z.lanewise(VectorOperators.LSHR, 27)).mul(MIX_2);
+        z = z.lanewise(VectorOperators.XOR, z.lanewise(VectorOperators.LSHR, 31));
+        return ((DoubleVector) z.lanewise(VectorOperators.LSHR, 11).convert(VectorOperators.L2D, 0)).mul(DOUBLE_UNIT);
+    }
+}
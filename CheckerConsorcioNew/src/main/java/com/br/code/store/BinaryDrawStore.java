@@ -0,0 +1,155 @@
+package com.br.code.store;
+
+import com.br.code.model.Draw;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Store binária de registros de largura fixa, lida por {@link MappedByteBuffer}.
+ * <pre>
+ * cabeçalho (16 bytes, big-endian)
+ *   int   MAGIC ("FEDR")
+ *   short VERSAO
+ *   short TAMANHO_REGISTRO (28)
+ *   int   quantidade de registros
+ *   int   CRC32 dos quantidade × 28 bytes de registros
+ * registro (28 bytes)
+ *   int concurso, int epochDay, int[5] prêmios (-1 = ausente)
+ * </pre>
+ * Carregar não faz parse de texto: é uma passada de CRC e leituras de int.
+ * Anexar grava os registros logo após o último válido e só então atualiza
+ * quantidade e CRC no cabeçalho; bytes além da quantidade (escrita
+ * interrompida) são ignorados e sobrescritos no próximo append.
+ */
+public class BinaryDrawStore implements DrawStore {
+    public static final int MAGIC = 0x46454452;
+    public static final short VERSAO = 1;
+    public static final int TAMANHO_CABECALHO = 16;
+    public static final int PREMIOS = 5;
+    public static final int TAMANHO_REGISTRO = 8 + 4 * PREMIOS;
+
+    private final Path arquivo;
+
+    public BinaryDrawStore(Path arquivo) {
+        this.arquivo = arquivo;
+    }
+
+    public Path getArquivo() {
+        return arquivo;
+    }
+
+    @Override
+    public List<Draw> carregar() throws IOException {
+        if (!Files.exists(arquivo)) return new ArrayList<>();
+        try (FileChannel ch = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            int n = validarCabecalho(buf, ch.size());
+            List<Draw> sorteios = new ArrayList<>(n + 8);
+            int pos = TAMANHO_CABECALHO;
+            for (int r = 0; r < n; r++, pos += TAMANHO_REGISTRO) {
+                sorteios.add(lerRegistro(buf, pos));
+            }
+            return sorteios;
+        }
+    }
+
+    @Override
+    public void anexar(List<Draw> novos) throws IOException {
+        if (novos.isEmpty()) return;
+        if (!Files.exists(arquivo)) {
+            substituir(novos);
+            return;
+        }
+        try (FileChannel ch = FileChannel.open(arquivo, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // valida o conteúdo atual antes de recalcular o CRC sobre ele
+            int n = validarCabecalho(ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size()), ch.size());
+
+            long fim = TAMANHO_CABECALHO + (long) n * TAMANHO_REGISTRO;
+            ByteBuffer registros = codificar(novos);
+            ch.write(registros, fim);
+            ch.truncate(fim + registros.capacity());
+            ch.force(false);
+
+            int total = n + novos.size();
+            ByteBuffer contagem = ByteBuffer.allocate(8)
+                    .putInt(total)
+                    .putInt(crc(ch.map(FileChannel.MapMode.READ_ONLY, TAMANHO_CABECALHO, (long) total * TAMANHO_REGISTRO)));
+            ch.write(contagem.flip(), 8);
+        }
+    }
+
+    @Override
+    public void substituir(List<Draw> todos) throws IOException {
+        ByteBuffer registros = codificar(todos);
+        ByteBuffer cab = ByteBuffer.allocate(TAMANHO_CABECALHO)
+                .putInt(MAGIC)
+                .putShort(VERSAO)
+                .putShort((short) TAMANHO_REGISTRO)
+                .putInt(todos.size())
+                .putInt(crc(registros.duplicate()));
+        Path tmp = arquivo.resolveSibling(arquivo.getFileName() + ".tmp");
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ch.write(new ByteBuffer[]{cab.flip(), registros});
+        }
+        Files.move(tmp, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /** Confere magic, versão, tamanho e CRC; devolve a quantidade de registros. */
+    private int validarCabecalho(ByteBuffer buf, long tamanhoArquivo) throws IOException {
+        if (tamanhoArquivo < TAMANHO_CABECALHO || buf.getInt(0) != MAGIC) {
+            throw new IOException(arquivo + " não é uma store binária de sorteios");
+        }
+        if (buf.getShort(4) != VERSAO || buf.getShort(6) != TAMANHO_REGISTRO) {
+            throw new IOException(arquivo + ": versão " + buf.getShort(4) + " não suportada");
+        }
+        int n = buf.getInt(8);
+        long bytes = (long) n * TAMANHO_REGISTRO;
+        if (n < 0 || TAMANHO_CABECALHO + bytes > tamanhoArquivo) {
+            throw new IOException(arquivo + ": cabeçalho indica " + n + " registros, arquivo truncado");
+        }
+        if (crc(buf.slice(TAMANHO_CABECALHO, (int) bytes)) != buf.getInt(12)) {
+            throw new IOException(arquivo + ": CRC32 não confere");
+        }
+        return n;
+    }
+
+    private static Draw lerRegistro(ByteBuffer buf, int pos) {
+        int concurso = buf.getInt(pos);
+        long epochDay = buf.getInt(pos + 4);
+        int presentes = 0;
+        int[] premios = new int[PREMIOS];
+        for (int i = 0; i < PREMIOS; i++) {
+            int p = buf.getInt(pos + 8 + 4 * i);
+            if (p >= 0) premios[presentes++] = p;
+        }
+        return Draw.de(concurso, epochDay, presentes == PREMIOS ? premios : Arrays.copyOf(premios, presentes));
+    }
+
+    private static ByteBuffer codificar(List<Draw> sorteios) {
+        ByteBuffer buf = ByteBuffer.allocate(sorteios.size() * TAMANHO_REGISTRO);
+        for (Draw d : sorteios) {
+            buf.putInt(d.concurso()).putInt(Math.toIntExact(d.epochDay()));
+            int[] p = d.premios();
+            for (int i = 0; i < PREMIOS; i++) buf.putInt(i < p.length ? p[i] : -1);
+        }
+        return buf.flip();
+    }
+
+    private static int crc(ByteBuffer registros) {
+        CRC32 crc = new CRC32();
+        crc.update(registros);
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,29 @@
+package com.br.code.store;
+
+import com.br.code.model.Draw;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Armazenamento local do histórico de sorteios, em ordem crescente de concurso.
+ * A sincronização só anexa concursos novos; {@link #substituir} fica para a
+ * carga inicial ou quando a diferença para o último concurso é grande demais.
+ */
+public interface DrawStore {
+
+    /** {@code binario} (padrão) ou {@code jsonl}, conforme {@code historico.store.formato}. */
+    static DrawStore abrir(String formato, Path arquivo) {
+        return "jsonl".equals(formato) ? new JsonLinesDrawStore(arquivo) : new BinaryDrawStore(arquivo);
+    }
+
+    /** Sorteios guardados, ordenados por concurso; vazio se a store ainda não existe. */
+    List<Draw> carregar() throws IOException;
+
+    /** Acrescenta sorteios com concurso maior que o último guardado. */
+    void anexar(List<Draw> novos) throws IOException;
+
+    /** Troca todo o conteúdo da store. */
+    void substituir(List<Draw> todos) throws IOException;
+}
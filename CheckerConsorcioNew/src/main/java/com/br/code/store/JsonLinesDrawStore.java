@@ -0,0 +1,95 @@
+package com.br.code.store;
+
+import com.br.code.model.Draw;
+import com.br.code.util.JsonUtils;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Store em JSON-lines: um sorteio por linha, no mesmo formato de objeto da API.
+ * Anexar é um append de poucas linhas; uma última linha truncada (execução
+ * interrompida no meio da escrita) é ignorada na leitura.
+ */
+public class JsonLinesDrawStore implements DrawStore {
+    private final Path arquivo;
+
+    public JsonLinesDrawStore(Path arquivo) {
+        this.arquivo = arquivo;
+    }
+
+    public Path getArquivo() {
+        return arquivo;
+    }
+
+    @Override
+    public List<Draw> carregar() throws IOException {
+        List<Draw> sorteios = new ArrayList<>();
+        if (!Files.exists(arquivo)) return sorteios;
+        int ultimo = Integer.MIN_VALUE;
+        boolean ordenado = true;
+        try (BufferedReader in = Files.newBufferedReader(arquivo, StandardCharsets.UTF_8)) {
+            String linha;
+            while ((linha = in.readLine()) != null) {
+                if (linha.isBlank()) continue;
+                Draw d = JsonUtils.parseDrawLineOrNull(linha);
+                if (d == null) continue;
+                if (d.concurso() <= ultimo) ordenado = false;
+                ultimo = Math.max(ultimo, d.concurso());
+                sorteios.add(d);
+            }
+        }
+        if (!ordenado) sorteios.sort(Comparator.comparingInt(Draw::concurso));
+        return sorteios;
+    }
+
+    @Override
+    public void anexar(List<Draw> novos) throws IOException {
+        if (novos.isEmpty()) return;
+        boolean completarLinha = terminaSemQuebra();
+        try (BufferedWriter out = Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            if (completarLinha) out.newLine();
+            escrever(out, novos);
+        }
+    }
+
+    @Override
+    public void substituir(List<Draw> todos) throws IOException {
+        Path tmp = arquivo.resolveSibling(arquivo.getFileName() + ".tmp");
+        try (BufferedWriter out = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            escrever(out, todos);
+        }
+        Files.move(tmp, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /** Se a última escrita foi interrompida, a próxima linha não pode colar nela. */
+    private boolean terminaSemQuebra() throws IOException {
+        if (!Files.exists(arquivo)) return false;
+        try (FileChannel ch = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            long tamanho = ch.size();
+            if (tamanho == 0) return false;
+            ByteBuffer b = ByteBuffer.allocate(1);
+            ch.read(b, tamanho - 1);
+            return b.get(0) != '\n';
+        }
+    }
+
+    private static void escrever(BufferedWriter out, List<Draw> sorteios) throws IOException {
+        for (Draw d : sorteios) {
+            out.write(JsonUtils.toJson(d));
+            out.newLine();
+        }
+    }
+}
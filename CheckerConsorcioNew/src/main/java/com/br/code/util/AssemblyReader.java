@@ -0,0 +1,225 @@
+package com.br.code.util;
+
+import com.br.code.metrics.Metrics;
+import com.br.code.model.AssemblyData;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Leitura em fluxo do arquivo de assembleias
+ * ({@code yyyyMMdd;sorteada;vencedora[;grupo]}).
+ * <p>
+ * Cada linha é separada por um tokenizador próprio, sem expressão regular nem
+ * {@code split}, e vira um {@link AssemblyData} só quando o consumidor do
+ * stream pede o próximo elemento — o arquivo nunca é carregado inteiro. Os
+ * filtros de data mínima e de grupo são aplicados na própria leitura. Linhas
+ * malformadas não interrompem o arquivo: ficam em {@link Leitura#rejeitadas()}
+ * com o número da linha e o motivo.
+ */
+public final class AssemblyReader {
+    /** Rejeições guardadas com o texto da linha; as demais só entram na contagem. */
+    public static final int MAX_REJEITADAS_GUARDADAS = 100;
+
+    private static final Metrics.Timer LEITURA = Metrics.timer("assembleias.leitura");
+    private static final Metrics.Counter LINHAS = Metrics.counter("assembleias.linhas");
+    private static final Metrics.Counter REJEITADAS = Metrics.counter("assembleias.rejeitadas");
+
+    private AssemblyReader() {
+    }
+
+    public record Rejeitada(long linha, String conteudo, String motivo) {
+    }
+
+    /** Contadores de uma leitura, atualizados à medida que o stream é consumido. */
+    public static final class Leitura {
+        private long linhas;
+        private long aceitas;
+        private long anteriores;
+        private long outrosGrupos;
+        private long totalRejeitadas;
+        private final List<Rejeitada> rejeitadas = new ArrayList<>();
+
+        public long linhas() { return linhas; }
+        public long aceitas() { return aceitas; }
+        /** Linhas válidas descartadas pelo filtro de data mínima. */
+        public long anteriores() { return anteriores; }
+        public long outrosGrupos() { return outrosGrupos; }
+        public long totalRejeitadas() { return totalRejeitadas; }
+        /** As primeiras {@value #MAX_REJEITADAS_GUARDADAS} rejeições, em ordem de linha. */
+        public List<Rejeitada> rejeitadas() { return Collections.unmodifiableList(rejeitadas); }
+
+        private void rejeitar(long linha, String conteudo, String motivo) {
+            totalRejeitadas++;
+            REJEITADAS.incrementar();
+            if (rejeitadas.size() < MAX_REJEITADAS_GUARDADAS) rejeitadas.add(new Rejeitada(linha, conteudo, motivo));
+        }
+    }
+
+    /**
+     * Stream das assembleias de {@code arquivo}, na ordem do arquivo. Precisa
+     * ser fechado (try-with-resources) para liberar o arquivo.
+     *
+     * @param aPartirDe linhas com data anterior são descartadas; {@code null} não filtra
+     * @param grupo     só linhas deste grupo (linhas sem grupo sempre passam); vazio ou {@code null} não filtra
+     * @param leitura   recebe as contagens e as rejeições
+     */
+    public static Stream<AssemblyData> stream(Path arquivo, LocalDate aPartirDe, String grupo, Leitura leitura)
+            throws IOException {
+        BufferedReader r = Files.newBufferedReader(arquivo);
+        long t0 = System.nanoTime();
+        Filtro filtro = new Filtro(aPartirDe, grupo == null || grupo.isEmpty() ? null : grupo);
+        Spliterator<AssemblyData> linhas = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super AssemblyData> acao) {
+                try {
+                    String linha;
+                    while ((linha = r.readLine()) != null) {
+                        long numero = ++leitura.linhas;
+                        AssemblyData a = interpretar(linha, numero, filtro, leitura);
+                        if (a != null) {
+                            leitura.aceitas++;
+                            acao.accept(a);
+                            return true;
+                        }
+                    }
+                    return false;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+        return StreamSupport.stream(linhas, false).onClose(() -> {
+            LINHAS.incrementar(leitura.linhas);
+            LEITURA.registrarDesde(t0);
+            try {
+                r.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /** Todas as assembleias do arquivo, sem filtros; rejeições ficam em {@code leitura}. */
+    public static List<AssemblyData> lerTodas(Path arquivo, Leitura leitura) throws IOException {
+        try (Stream<AssemblyData> s = stream(arquivo, null, null, leitura)) {
+            return s.toList();
+        }
+    }
+
+    private record Filtro(LocalDate aPartirDe, String grupo) {
+    }
+
+    /** {@code null} para comentário, cabeçalho, linha rejeitada ou filtrada. */
+    private static AssemblyData interpretar(String linha, long numero, Filtro filtro, Leitura leitura) {
+        int fim = linha.length();
+        int ini = 0;
+        while (ini < fim && linha.charAt(ini) <= ' ') ini++;
+        while (fim > ini && linha.charAt(fim - 1) <= ' ') fim--;
+        if (ini == fim || linha.charAt(ini) == '#' || linha.startsWith("dataAssembleia", ini)) return null;
+
+        int sep1 = linha.indexOf(';', ini);
+        if (sep1 < 0 || sep1 > fim) {
+            leitura.rejeitar(numero, linha, "esperado data;sorteada;vencedora");
+            return null;
+        }
+        LocalDate data = data(linha, ini, sep1);
+        if (data == null) {
+            leitura.rejeitar(numero, linha, "data não está em yyyyMMdd");
+            return null;
+        }
+
+        int sep2 = proximo(linha, sep1 + 1, fim);
+        int sep3 = sep2 < fim ? proximo(linha, sep2 + 1, fim) : fim;
+        int sep4 = sep3 < fim ? proximo(linha, sep3 + 1, fim) : fim;
+        if (sep4 < fim && !vazio(linha, sep4 + 1, fim)) {
+            leitura.rejeitar(numero, linha, "colunas demais");
+            return null;
+        }
+        int sorteada = cota(linha, sep1 + 1, sep2);
+        int vencedora = sep2 < fim ? cota(linha, sep2 + 1, sep3) : VAZIA;
+        if (sorteada == INVALIDA || vencedora == INVALIDA) {
+            leitura.rejeitar(numero, linha, "cota não numérica");
+            return null;
+        }
+        String grupo = sep3 < fim ? texto(linha, sep3 + 1, sep4) : null;
+
+        if (filtro.grupo() != null && grupo != null && !filtro.grupo().equals(grupo)) {
+            leitura.outrosGrupos++;
+            return null;
+        }
+        if (filtro.aPartirDe() != null && data.isBefore(filtro.aPartirDe())) {
+            leitura.anteriores++;
+            return null;
+        }
+        return new AssemblyData(data,
+                sorteada == VAZIA ? null : sorteada,
+                vencedora == VAZIA ? null : vencedora,
+                grupo);
+    }
+
+    private static final int VAZIA = -1;
+    private static final int INVALIDA = -2;
+
+    private static int proximo(String s, int de, int fim) {
+        int i = s.indexOf(';', de);
+        return i < 0 || i > fim ? fim : i;
+    }
+
+    private static LocalDate data(String s, int ini, int fim) {
+        while (fim > ini && s.charAt(fim - 1) == ' ') fim--;
+        if (fim - ini != 8) return null;
+        int v = 0;
+        for (int i = ini; i < fim; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') return null;
+            v = v * 10 + (c - '0');
+        }
+        try {
+            return LocalDate.of(v / 10000, v / 100 % 100, v % 100);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    /** Cota entre {@code ini} e {@code fim}, {@link #VAZIA} ou {@link #INVALIDA}. */
+    private static int cota(String s, int ini, int fim) {
+        while (ini < fim && s.charAt(ini) == ' ') ini++;
+        while (fim > ini && s.charAt(fim - 1) == ' ') fim--;
+        if (ini == fim) return VAZIA;
+        if (fim - ini > 9) return INVALIDA;
+        int v = 0;
+        for (int i = ini; i < fim; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') return INVALIDA;
+            v = v * 10 + (c - '0');
+        }
+        return v;
+    }
+
+    private static String texto(String s, int ini, int fim) {
+        while (ini < fim && s.charAt(ini) == ' ') ini++;
+        while (fim > ini && s.charAt(fim - 1) == ' ') fim--;
+        return ini == fim ? null : s.substring(ini, fim);
+    }
+
+    private static boolean vazio(String s, int ini, int fim) {
+        for (int i = ini; i < fim; i++) {
+            if (s.charAt(i) != ' ' && s.charAt(i) != ';') return false;
+        }
+        return true;
+    }
+}
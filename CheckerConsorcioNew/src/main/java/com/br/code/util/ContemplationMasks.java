@@ -0,0 +1,159 @@
+package com.br.code.util;
+
+import com.br.code.model.Draw;
+
+import java.util.List;
+
+/**
+ * Máscaras de 1000 bits por sorteio com as centenas que ele contempla.
+ * <p>
+ * Para cada sorteio guardam-se duas máscaras ({@value #PALAVRAS} {@code long}s
+ * cada): {@code direta}, com as centenas sorteadas, e {@code ajuste}, com as
+ * centenas a ±1 ou ±2 de alguma sorteada que não foram sorteadas elas
+ * mesmas — a mesma regra de {@code CalculationService.checkContemplation},
+ * sem volta de 999 para 000. Conferir uma cota passa a ser um teste de bit,
+ * e um conjunto de cotas, um {@code AND} de 16 palavras por sorteio.
+ * <p>
+ * As máscaras de todos os sorteios ficam em dois {@code long[]} contíguos.
+ */
+public final class ContemplationMasks {
+    public static final int CENTENAS = 1000;
+    public static final int PALAVRAS = (CENTENAS + 63) / 64;
+    private static final int DISTANCIA_AJUSTE = 2;
+
+    private final int sorteios;
+    private final long[] diretas;
+    private final long[] ajustes;
+
+    private ContemplationMasks(int sorteios, long[] diretas, long[] ajustes) {
+        this.sorteios = sorteios;
+        this.diretas = diretas;
+        this.ajustes = ajustes;
+    }
+
+    public static ContemplationMasks de(List<Draw> draws) {
+        int m = draws.size();
+        long[] diretas = new long[m * PALAVRAS];
+        long[] ajustes = new long[m * PALAVRAS];
+        for (int s = 0; s < m; s++) {
+            int base = s * PALAVRAS;
+            for (short c : draws.get(s).centenas()) {
+                diretas[base + (c >>> 6)] |= 1L << c;
+                for (int d = -DISTANCIA_AJUSTE; d <= DISTANCIA_AJUSTE; d++) {
+                    int v = c + d;
+                    if (d != 0 && v >= 0 && v < CENTENAS) ajustes[base + (v >>> 6)] |= 1L << v;
+                }
+            }
+            for (int w = 0; w < PALAVRAS; w++) ajustes[base + w] &= ~diretas[base + w];
+        }
+        return new ContemplationMasks(m, diretas, ajustes);
+    }
+
+    public int tamanho() {
+        return sorteios;
+    }
+
+    public boolean direta(int sorteio, int cota) {
+        return bit(diretas, sorteio, cota);
+    }
+
+    /** Contemplada por ajuste (e não diretamente) no sorteio. */
+    public boolean ajuste(int sorteio, int cota) {
+        return bit(ajustes, sorteio, cota);
+    }
+
+    public boolean contemplada(int sorteio, int cota) {
+        return direta(sorteio, cota) || ajuste(sorteio, cota);
+    }
+
+    /**
+     * Quais das {@code cotas} foram contempladas em cada sorteio, em uma
+     * única passada: a máscara das cotas é combinada com as dos sorteios
+     * palavra a palavra. Cotas fora de 0..999 nunca são contempladas.
+     */
+    public Resultado avaliar(int[] cotas) {
+        long[] consulta = new long[PALAVRAS];
+        for (int c : cotas) {
+            if (c >= 0 && c < CENTENAS) consulta[c >>> 6] |= 1L << c;
+        }
+        long[] d = new long[diretas.length];
+        long[] a = new long[ajustes.length];
+        for (int s = 0, base = 0; s < sorteios; s++, base += PALAVRAS) {
+            for (int w = 0; w < PALAVRAS; w++) {
+                d[base + w] = diretas[base + w] & consulta[w];
+                a[base + w] = ajustes[base + w] & consulta[w];
+            }
+        }
+        return new Resultado(sorteios, d, a);
+    }
+
+    private static boolean bit(long[] mascaras, int sorteio, int cota) {
+        if (cota < 0 || cota >= CENTENAS) return false;
+        return (mascaras[sorteio * PALAVRAS + (cota >>> 6)] & (1L << cota)) != 0;
+    }
+
+    /** Cotas contempladas por sorteio, já restritas ao conjunto consultado. */
+    public static final class Resultado {
+        private final int sorteios;
+        private final long[] diretas;
+        private final long[] ajustes;
+
+        private Resultado(int sorteios, long[] diretas, long[] ajustes) {
+            this.sorteios = sorteios;
+            this.diretas = diretas;
+            this.ajustes = ajustes;
+        }
+
+        public int sorteios() {
+            return sorteios;
+        }
+
+        public boolean direta(int sorteio, int cota) {
+            return bit(diretas, sorteio, cota);
+        }
+
+        public boolean ajuste(int sorteio, int cota) {
+            return bit(ajustes, sorteio, cota);
+        }
+
+        /** Cotas contempladas diretamente no sorteio, em ordem crescente. */
+        public int[] cotasDiretas(int sorteio) {
+            return cotas(diretas, sorteio);
+        }
+
+        public int[] cotasAjuste(int sorteio) {
+            return cotas(ajustes, sorteio);
+        }
+
+        /** Quantos sorteios contemplaram a cota diretamente. */
+        public int totalDiretas(int cota) {
+            return total(diretas, cota);
+        }
+
+        public int totalAjustes(int cota) {
+            return total(ajustes, cota);
+        }
+
+        private int total(long[] mascaras, int cota) {
+            int n = 0;
+            for (int s = 0; s < sorteios; s++) {
+                if (bit(mascaras, s, cota)) n++;
+            }
+            return n;
+        }
+
+        private static int[] cotas(long[] mascaras, int sorteio) {
+            int base = sorteio * PALAVRAS;
+            int n = 0;
+            for (int w = 0; w < PALAVRAS; w++) n += Long.bitCount(mascaras[base + w]);
+            int[] r = new int[n];
+            int i = 0;
+            for (int w = 0; w < PALAVRAS; w++) {
+                for (long bits = mascaras[base + w]; bits != 0; bits &= bits - 1) {
+                    r[i++] = (w << 6) + Long.numberOfTrailingZeros(bits);
+                }
+            }
+            return r;
+        }
+    }
+}
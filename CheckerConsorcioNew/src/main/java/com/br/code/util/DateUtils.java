@@ -1,24 +1,32 @@
 package com.br.code.util;
 
-import com.br.code.config.ConsorcioConfig;
-import org.json.JSONObject;
+import com.br.code.model.Draw;
 import java.time.LocalDate;
 import java.util.List;
 
 public class DateUtils {
-    public static LocalDate findLatestDrawBeforeDate(List<JSONObject> draws, LocalDate target) {
-        return draws.stream()
-                .map(d -> LocalDate.parse(d.getString("data"), ConsorcioConfig.getDateFormatter()))
-                .filter(d -> d.isBefore(target))
-                .max(LocalDate::compareTo)
-                .orElse(null);
+    public static LocalDate findLatestDrawBeforeDate(List<Draw> draws, LocalDate target) {
+        long alvo = target.toEpochDay();
+        long melhor = Long.MIN_VALUE;
+        for (Draw d : draws) {
+            if (d.epochDay() < alvo && d.epochDay() > melhor) melhor = d.epochDay();
+        }
+        return melhor == Long.MIN_VALUE ? null : LocalDate.ofEpochDay(melhor);
     }
 
-    public static JSONObject findDrawByDate(List<JSONObject> draws, LocalDate target) {
-        String s = target.format(ConsorcioConfig.getDateFormatter());
-        return draws.stream()
-                .filter(d -> d.getString("data").equals(s))
-                .findFirst()
-                .orElse(null);
+    public static Draw findDrawByDate(List<Draw> draws, LocalDate target) {
+        long alvo = target.toEpochDay();
+        for (Draw d : draws) {
+            if (d.epochDay() == alvo) return d;
+        }
+        return null;
     }
-}
\ No newline at end of file
+
+    public static LocalDate findLatestDrawBeforeDate(DrawIndex index, LocalDate target) {
+        return index.ultimaDataAntesDe(target);
+    }
+
+    public static Draw findDrawByDate(DrawIndex index, LocalDate target) {
+        return index.naData(target);
+    }
+}
@@ -0,0 +1,77 @@
+package com.br.code.util;
+
+import com.br.code.model.Draw;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Índice dos sorteios por data, montado uma vez a partir do histórico.
+ * <p>
+ * As datas já chegam como epoch-day em {@link Draw}; as consultas são
+ * buscas binárias em um {@code long[]} ordenado, em {@code O(log n)}.
+ */
+public class DrawIndex {
+    private final long[] dias;
+    private final Draw[] sorteios;
+
+    private DrawIndex(long[] dias, Draw[] sorteios) {
+        this.dias = dias;
+        this.sorteios = sorteios;
+    }
+
+    public static DrawIndex de(List<Draw> draws) {
+        Draw[] ordenados = draws.toArray(new Draw[0]);
+        // ordenação estável: em datas repetidas vale o primeiro da lista, como na busca linear
+        Arrays.sort(ordenados, Comparator.comparingLong(Draw::epochDay));
+        long[] dias = new long[ordenados.length];
+        for (int i = 0; i < ordenados.length; i++) dias[i] = ordenados[i].epochDay();
+        return new DrawIndex(dias, ordenados);
+    }
+
+    public int tamanho() {
+        return dias.length;
+    }
+
+    /** Sorteios em ordem de data. */
+    public List<Draw> sorteios() {
+        return List.of(sorteios);
+    }
+
+    /** Sub-índice com os sorteios a partir de {@code inicio} (inclusive). */
+    public DrawIndex aPartirDe(LocalDate inicio) {
+        int i = primeiroMaiorOuIgual(inicio.toEpochDay());
+        return new DrawIndex(Arrays.copyOfRange(dias, i, dias.length), Arrays.copyOfRange(sorteios, i, sorteios.length));
+    }
+
+    /** Data do último sorteio estritamente anterior a {@code alvo}, ou {@code null}. */
+    public LocalDate ultimaDataAntesDe(LocalDate alvo) {
+        int i = primeiroMaiorOuIgual(alvo.toEpochDay()) - 1;
+        return i < 0 ? null : LocalDate.ofEpochDay(dias[i]);
+    }
+
+    /** Último sorteio estritamente anterior a {@code alvo}, ou {@code null}. */
+    public Draw ultimoSorteioAntesDe(LocalDate alvo) {
+        int i = primeiroMaiorOuIgual(alvo.toEpochDay()) - 1;
+        // entre sorteios da mesma data vale o primeiro, como em naData
+        return i < 0 ? null : sorteios[primeiroMaiorOuIgual(dias[i])];
+    }
+
+    /** Sorteio realizado exatamente em {@code data}, ou {@code null}. */
+    public Draw naData(LocalDate data) {
+        long dia = data.toEpochDay();
+        int i = primeiroMaiorOuIgual(dia);
+        return i < dias.length && dias[i] == dia ? sorteios[i] : null;
+    }
+
+    private int primeiroMaiorOuIgual(long dia) {
+        int lo = 0, hi = dias.length;
+        while (lo < hi) {
+            int meio = (lo + hi) >>> 1;
+            if (dias[meio] < dia) lo = meio + 1; else hi = meio;
+        }
+        return lo;
+    }
+}
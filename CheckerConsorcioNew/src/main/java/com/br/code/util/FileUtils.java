@@ -1,37 +1,65 @@
 package com.br.code.util;
 
-import com.br.code.config.ConsorcioConfig;
-import com.br.code.model.AssemblyData;
+import com.br.code.model.PerfilCota;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
 public class FileUtils {
-    public static List<AssemblyData> readAssemblySorteados() {
-        List<AssemblyData> list = new ArrayList<>();
-        Path p = Paths.get(ConsorcioConfig.getAssembleiasFile());
-        if (!Files.exists(p)) return list;
-        try (BufferedReader r = Files.newBufferedReader(p)) {
-            String line;
-            while ((line = r.readLine()) != null) {
-                line = line.trim();
-                if (line.isEmpty() || line.startsWith("#") || line.startsWith("dataAssembleia")) continue;
-                String[] parts = line.split(";");
-                if (parts.length >= 2 && parts[0].matches("\\d{8}")) {
-                    LocalDate d = LocalDate.parse(parts[0], ConsorcioConfig.getYyyyMmDdFormatter());
-                    Integer s = parts[1].isEmpty() ? null : Integer.parseInt(parts[1]);
-                    Integer v = parts.length > 2 && !parts[2].isEmpty() ? Integer.parseInt(parts[2]) : null;
-                    list.add(new AssemblyData(d, s, v));
+    /** Uma linha no stderr por rejeição guardada, mais o total quando houver outras. */
+    public static void avisarRejeitadas(Path arquivo, AssemblyReader.Leitura leitura) {
+        for (AssemblyReader.Rejeitada r : leitura.rejeitadas()) {
+            System.err.printf("Linha %d de '%s' ignorada (%s): %s%n", r.linha(), arquivo, r.motivo(), r.conteudo());
+        }
+        long restantes = leitura.totalRejeitadas() - leitura.rejeitadas().size();
+        if (restantes > 0) System.err.printf("... e mais %d linha(s) ignorada(s) em '%s'.%n", restantes, arquivo);
+    }
+
+    /**
+     * Manifesto do modo lote: {@code grupo;cota;credito;lance}, com cabeçalho e
+     * comentários ({@code #}) opcionais. O cabeçalho é a primeira linha de dados
+     * quando a coluna da cota não é um número. O lance aceita fração ({@code 0.25}) ou
+     * percentual ({@code 25%}), e vírgula decimal. Linhas inválidas vão para o
+     * stderr com o número da linha e não interrompem a leitura.
+     */
+    public static List<PerfilCota> lerPerfis(Path manifesto) throws IOException {
+        List<PerfilCota> perfis = new ArrayList<>();
+        try (BufferedReader r = Files.newBufferedReader(manifesto)) {
+            String linha;
+            int numero = 0;
+            boolean primeira = true;
+            while ((linha = r.readLine()) != null) {
+                numero++;
+                linha = linha.trim();
+                if (linha.isEmpty() || linha.startsWith("#")) continue;
+                String[] c = linha.split(";", -1);
+                // cabeçalho: só a primeira linha de dados, e só com a cota não numérica
+                if (primeira) {
+                    primeira = false;
+                    if (c.length == 4 && !c[1].trim().matches("\\d+")) continue;
+                }
+                try {
+                    if (c.length != 4) throw new IllegalArgumentException("esperado grupo;cota;credito;lance");
+                    int cota = Integer.parseInt(c[1].trim());
+                    double credito = numero(c[2]);
+                    String l = c[3].trim();
+                    double lance = l.endsWith("%") ? numero(l.substring(0, l.length() - 1)) / 100 : numero(l);
+                    if (cota < 0 || cota > 999) throw new IllegalArgumentException("cota fora de 0..999");
+                    if (credito <= 0) throw new IllegalArgumentException("crédito deve ser positivo");
+                    if (lance < 0 || lance > 1) throw new IllegalArgumentException("lance fora de 0..1");
+                    perfis.add(new PerfilCota(c[0].trim(), cota, credito, lance));
+                } catch (IllegalArgumentException e) {
+                    System.err.printf("Linha %d de '%s' ignorada (%s): %s%n", numero, manifesto, e.getMessage(), linha);
                 }
             }
-        } catch (IOException e) {
-            System.err.println("Erro ao ler arquivo: " + e.getMessage());
         }
-        return list;
+        return perfis;
+    }
+
+    private static double numero(String s) {
+        return Double.parseDouble(s.trim().replace(',', '.'));
     }
-}
\ No newline at end of file
+}
@@ -1,30 +1,110 @@
 package com.br.code.util;
 
+import com.br.code.metrics.Metrics;
+import com.br.code.model.Draw;
 import org.json.JSONArray;
 import org.json.JSONObject;
+import org.json.JSONTokener;
+
+import java.io.Reader;
+import java.io.StringReader;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
 public class JsonUtils {
-    public static List<JSONObject> parseJsonSafely(String json) {
-        List<JSONObject> list = new ArrayList<>();
+    private static final Metrics.Timer PARSE_HISTORICO = Metrics.timer("json.parse_historico");
+    private static final Metrics.Timer PARSE_SORTEIO = Metrics.timer("json.parse_sorteio");
+    private static final Metrics.Counter SORTEIOS = Metrics.counter("json.sorteios");
+    private static final Metrics.Counter INVALIDOS = Metrics.counter("json.sorteios_invalidos");
+
+    public static List<Draw> parseDrawsSafely(String json) {
+        return json == null ? new ArrayList<>() : parseDrawsSafely(new StringReader(json));
+    }
+
+    /**
+     * Lê o array do histórico elemento a elemento, convertendo cada objeto em
+     * {@link Draw} assim que ele termina: nenhum {@link JSONArray} com o
+     * histórico inteiro é montado. Sorteios sem concurso, data ou dezenas
+     * válidos são ignorados.
+     */
+    public static List<Draw> parseDrawsSafely(Reader reader) {
+        long t0 = System.nanoTime();
+        List<Draw> list = new ArrayList<>();
+        int invalidos = 0;
         try {
-            JSONArray array = new JSONArray(json);
-            for (int i = 0; i < array.length(); i++) {
-                list.add(array.getJSONObject(i));
+            JSONTokener t = new JSONTokener(reader);
+            if (t.nextClean() != '[') throw t.syntaxError("Esperado '['");
+            if (t.nextClean() == ']') return list;
+            t.back();
+            while (true) {
+                Draw d = toDrawOrNull(new JSONObject(t));
+                if (d != null) list.add(d);
+                else invalidos++;
+                char c = t.nextClean();
+                if (c == ']') break;
+                if (c != ',') throw t.syntaxError("Esperado ',' ou ']'");
             }
         } catch (Exception e) {
             System.err.println("JSON inválido: " + e.getMessage());
+        } finally {
+            PARSE_HISTORICO.registrarDesde(t0);
+            SORTEIOS.incrementar(list.size());
+            INVALIDOS.incrementar(invalidos);
         }
         return list;
     }
 
-    public static List<String> parsePrizes(JSONObject o) {
-        List<String> list = new ArrayList<>();
-        JSONArray a = o.getJSONArray("dezenas");
-        for (int i = 0; i < a.length(); i++) {
-            list.add(String.format("%06d", Integer.parseInt(a.getString(i))));
+    public static Draw parseDraw(String json) {
+        return PARSE_SORTEIO.medir(() -> toDrawOrNull(new JSONObject(json)));
+    }
+
+    /** Linha de uma store JSON-lines; {@code null} se estiver truncada ou inválida. */
+    public static Draw parseDrawLineOrNull(String linha) {
+        try {
+            return toDrawOrNull(new JSONObject(linha));
+        } catch (RuntimeException e) {
+            return null;
         }
-        return list;
     }
-}
\ No newline at end of file
+
+    /** Mesmo formato de objeto devolvido pela API, em uma única linha. */
+    public static String toJson(Draw d) {
+        StringBuilder sb = new StringBuilder(96);
+        LocalDate data = d.data();
+        sb.append("{\"concurso\":").append(d.concurso())
+                .append(",\"data\":\"").append(Draw.comZeros(data.getDayOfMonth(), 2))
+                .append('/').append(Draw.comZeros(data.getMonthValue(), 2))
+                .append('/').append(data.getYear())
+                .append("\",\"dezenas\":[");
+        for (int i = 0; i < d.premios().length; i++) {
+            if (i > 0) sb.append(',');
+            sb.append('"').append(d.premio(i)).append('"');
+        }
+        return sb.append("]}").toString();
+    }
+
+    private static Draw toDrawOrNull(JSONObject o) {
+        try {
+            JSONArray a = o.getJSONArray("dezenas");
+            int[] premios = new int[a.length()];
+            for (int i = 0; i < premios.length; i++) {
+                premios[i] = Integer.parseInt(a.getString(i).trim());
+            }
+            return Draw.de(o.getInt("concurso"), parseData(o.getString("data")), premios);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    /** dd/MM/yyyy → epoch-day, sem passar por {@code DateTimeFormatter}. */
+    static long parseData(String s) {
+        if (s.length() != 10 || s.charAt(2) != '/' || s.charAt(5) != '/') {
+            throw new IllegalArgumentException("Data inválida: " + s);
+        }
+        int dia = Integer.parseInt(s, 0, 2, 10);
+        int mes = Integer.parseInt(s, 3, 5, 10);
+        int ano = Integer.parseInt(s, 6, 10, 10);
+        return LocalDate.of(ano, mes, dia).toEpochDay();
+    }
+}
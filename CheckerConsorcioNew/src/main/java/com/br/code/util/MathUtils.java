@@ -1,36 +1,144 @@
 package com.br.code.util;
 
 import com.br.code.config.ConsorcioConfig;
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 public class MathUtils {
+    private static final double LANCE_MEDIO_CONCORRENTE = 22000;
+    private static final double LANCE_DESVIO_CONCORRENTE = 7000;
+    private static final double LOG_VARIANCIA_LANCE = Math.log(1 + (LANCE_DESVIO_CONCORRENTE * LANCE_DESVIO_CONCORRENTE)
+            / (LANCE_MEDIO_CONCORRENTE * LANCE_MEDIO_CONCORRENTE));
+    private static final double MU_LANCE = Math.log(LANCE_MEDIO_CONCORRENTE) - 0.5 * LOG_VARIANCIA_LANCE;
+    private static final double SIGMA_LANCE = Math.sqrt(LOG_VARIANCIA_LANCE);
+    private static final double LANCE_MINIMO_CONCORRENTE = 5_000;
+
+    private static final double PROB_GRUPO_FORTE = 0.20;
+    private static final double FORTE_MIN = 35000, FORTE_AMPLITUDE = 25000;
+    private static final double FRACO_MIN = 12000, FRACO_AMPLITUDE = 13000;
+
     public static double normalCDF(double z) {
         if (z > 3) return 0.99;
         if (z < -3) return 0.01;
+        return cdfNormalPadrao(z);
+    }
+
+    /** Φ(z) sem truncamento (Abramowitz-Stegun 26.2.17, erro absoluto &lt; 7.5e-8). */
+    public static double cdfNormalPadrao(double z) {
         double t = 1 / (1 + 0.2316419 * Math.abs(z));
-        double d = 0.3989423 * Math.exp(-z * z / 2);
-        double prob = d * t * (0.3193815 + t * (-0.3565638 + t * (1.781478 + t * (-1.821256 + t * 1.330274))));
+        double d = pdfNormalPadrao(z);
+        double prob = d * t * (0.319381530 + t * (-0.356563782 + t * (1.781477937 + t * (-1.821255978 + t * 1.330274429))));
         return z > 0 ? 1 - prob : prob;
     }
 
-    public static double simularLanceConcorrente(Random rng) {
-        double mediaReal = 22000;
-        double desvio = 7000;
-        double logged = Math.log(1 + (desvio * desvio) / (mediaReal * mediaReal));
-        double mu = Math.log(mediaReal) - 0.5 * logged;
-        double sigma = Math.sqrt(logged);
-        double lance = Math.exp(mu + sigma * rng.nextGaussian());
-        return Math.max(5_000, Math.min(lance, ConsorcioConfig.getValorCredito() * 0.35));
+    public static double pdfNormalPadrao(double z) {
+        return 0.3989422804014327 * Math.exp(-z * z / 2);
+    }
+
+    /** Φ⁻¹(p) pelo algoritmo de Acklam (erro relativo &lt; 1.2e-9). */
+    public static double inversaNormalPadrao(double p) {
+        if (p <= 0) return Double.NEGATIVE_INFINITY;
+        if (p >= 1) return Double.POSITIVE_INFINITY;
+        final double pBaixo = 0.02425;
+        if (p < pBaixo) {
+            double q = Math.sqrt(-2 * Math.log(p));
+            return (((((-7.784894002430293e-03 * q - 3.223964580411365e-01) * q - 2.400758277161838e+00) * q
+                    - 2.549732539343734e+00) * q + 4.374664141464968e+00) * q + 2.938163982698783e+00)
+                    / ((((7.784695709041462e-03 * q + 3.224671290700398e-01) * q + 2.445134137142996e+00) * q
+                    + 3.754408661907416e+00) * q + 1);
+        }
+        if (p > 1 - pBaixo) {
+            return -inversaNormalPadrao(1 - p);
+        }
+        double q = p - 0.5;
+        double r = q * q;
+        return (((((-3.969683028665376e+01 * r + 2.209460984245205e+02) * r - 2.759285104469687e+02) * r
+                + 1.383577518672690e+02) * r - 3.066479806614716e+01) * r + 2.506628277459239e+00) * q
+                / (((((-5.447609879822406e+01 * r + 1.615858368580409e+02) * r - 1.556989798598866e+02) * r
+                + 6.680131188303614e+01) * r - 1.328068155288572e+01) * r + 1);
+    }
+
+    public static double simularLanceConcorrente(RandomGenerator rng) {
+        return simularLanceConcorrente(rng, ConsorcioConfig.getValorCredito());
+    }
+
+    public static double simularLanceConcorrente(RandomGenerator rng, double valorCredito) {
+        double lance = Math.exp(MU_LANCE + SIGMA_LANCE * rng.nextGaussian());
+        return Math.max(LANCE_MINIMO_CONCORRENTE, Math.min(lance, valorCredito * 0.35));
+    }
+
+    /** P(simularLanceConcorrente &lt; x): log-normal truncada em [5.000, 35% do crédito]. */
+    public static double cdfLanceConcorrente(double x) {
+        return cdfLanceConcorrente(x, ConsorcioConfig.getValorCredito());
+    }
+
+    public static double cdfLanceConcorrente(double x, double valorCredito) {
+        if (x <= LANCE_MINIMO_CONCORRENTE) return 0;
+        if (x > valorCredito * 0.35) return 1;
+        return cdfNormalPadrao((Math.log(x) - MU_LANCE) / SIGMA_LANCE);
     }
 
-    public static double gerarLanceBimodal(Random rng) {
-        boolean grupoForte = rng.nextDouble() < 0.20;
-        return grupoForte ? 35000 + rng.nextDouble() * 25000 : 12000 + rng.nextDouble() * 13000;
+    /**
+     * Maior de {@code n} lances {@link #simularLanceConcorrente} em um único sorteio:
+     * como P(max &lt; x) = F(x)^n, basta inverter F em U^(1/n). Devolve 0 se {@code n <= 0}.
+     */
+    public static double simularMaiorLanceConcorrente(RandomGenerator rng, int n) {
+        return simularMaiorLanceConcorrente(rng, n, ConsorcioConfig.getValorCredito());
+    }
+
+    public static double simularMaiorLanceConcorrente(RandomGenerator rng, int n, double valorCredito) {
+        if (n <= 0) return 0;
+        double u = uniformeDoMaximo(rng, n);
+        double lance = Math.exp(MU_LANCE + SIGMA_LANCE * inversaNormalPadrao(u));
+        return Math.max(LANCE_MINIMO_CONCORRENTE, Math.min(lance, valorCredito * 0.35));
+    }
+
+    public static double gerarLanceBimodal(RandomGenerator rng) {
+        boolean grupoForte = rng.nextDouble() < PROB_GRUPO_FORTE;
+        return grupoForte ? FORTE_MIN + rng.nextDouble() * FORTE_AMPLITUDE : FRACO_MIN + rng.nextDouble() * FRACO_AMPLITUDE;
+    }
+
+    /** P(gerarLanceBimodal &lt; x): mistura 80% U(12k, 25k) + 20% U(35k, 60k). */
+    public static double cdfLanceBimodal(double x) {
+        double fraco = Math.max(0, Math.min(1, (x - FRACO_MIN) / FRACO_AMPLITUDE));
+        double forte = Math.max(0, Math.min(1, (x - FORTE_MIN) / FORTE_AMPLITUDE));
+        return (1 - PROB_GRUPO_FORTE) * fraco + PROB_GRUPO_FORTE * forte;
+    }
+
+    public static double quantilLanceBimodal(double u) {
+        double pFraco = 1 - PROB_GRUPO_FORTE;
+        return u <= pFraco
+                ? FRACO_MIN + FRACO_AMPLITUDE * (u / pFraco)
+                : FORTE_MIN + FORTE_AMPLITUDE * ((u - pFraco) / PROB_GRUPO_FORTE);
+    }
+
+    /**
+     * Maior lance bimodal entre {@code participantes} cotas que dão lance, cada uma,
+     * com probabilidade {@code probLance}. Por cota, P(lance &lt; x) = 1 - q + q·F(x);
+     * o máximo sai de um único uniforme. Devolve 0 quando ninguém dá lance.
+     * <p>
+     * Como {@link #ajustarLanceRacional} é monótono, o maior lance ajustado é o
+     * ajuste do maior lance.
+     */
+    public static double gerarMaiorLanceBimodal(RandomGenerator rng, int participantes, double probLance) {
+        if (participantes <= 0 || probLance <= 0) return 0;
+        double u = uniformeDoMaximo(rng, participantes);
+        double semLance = 1 - probLance;
+        if (u < semLance) return 0;
+        return quantilLanceBimodal(Math.min(1, (u - semLance) / probLance));
     }
 
     public static double ajustarLanceRacional(double lance) {
-        lance = Math.min(lance, ConsorcioConfig.getValorCredito() * 0.50);
+        return ajustarLanceRacional(lance, ConsorcioConfig.getValorCredito());
+    }
+
+    public static double ajustarLanceRacional(double lance, double valorCredito) {
+        lance = Math.min(lance, valorCredito * 0.50);
         lance = Math.round(lance / 1000.0) * 1000.0;
         return Math.max(10000, lance);
     }
-}
\ No newline at end of file
+
+    /** U^(1/n) calculado como (1 - U)^(1/n), que nunca avalia log(0). */
+    private static double uniformeDoMaximo(RandomGenerator rng, int n) {
+        return Math.exp(Math.log1p(-rng.nextDouble()) / n);
+    }
+}
@@ -1,60 +1,225 @@
 package com.br.code.util;
 
 import com.br.code.config.ConsorcioConfig;
-import java.io.*;
-import java.net.HttpURLConnection;
-import java.net.URL;
+import com.br.code.metrics.Metrics;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
 
+/**
+ * Acesso HTTP à API de resultados sobre um único {@link HttpClient}
+ * (HTTP/2 quando o servidor aceita, conexões reaproveitadas entre chamadas).
+ * <p>
+ * As requisições são assíncronas; novas tentativas são agendadas com
+ * {@link CompletableFuture#delayedExecutor} em vez de dormir na thread
+ * chamadora. Só erros de rede, 5xx e 429 são repetidos: diferente da versão
+ * com {@code HttpURLConnection}, que repetia qualquer status diferente de 200,
+ * um 404 (concurso ainda não publicado) volta {@code null} na hora.
+ * <p>
+ * Quem guarda o corpo de uma URL entre chamadas usa
+ * {@link #getLotteryResultsAsync(String, String)}: só para essas URLs o
+ * {@code ETag}/{@code Last-Modified} fica guardado (os validadores, nunca o
+ * corpo), e a chamada seguinte vira condicional: um 304 devolve o corpo em
+ * cache sem transferi-lo de novo. As demais (um concurso, o arquivo completo)
+ * não deixam nada no mapa.
+ */
 public class NetworkUtils {
+    private static final int TENTATIVAS = 3;
+    private static final long ATRASO_INICIAL_MS = 1000;
+    private static final Duration TIMEOUT_LEITURA = Duration.ofSeconds(30);
+
+    private static final Metrics.Counter REQUISICOES = Metrics.counter("http.requisicoes");
+    private static final Metrics.Counter NOVAS_TENTATIVAS = Metrics.counter("http.novas_tentativas");
+    private static final Metrics.Counter NAO_MODIFICADAS = Metrics.counter("http.nao_modificadas");
+    private static final Metrics.Counter BYTES = Metrics.counter("http.bytes_recebidos");
+
+    private static volatile HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(Duration.ofSeconds(15))
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+
+    private static final Map<String, Validadores> VALIDADORES = new ConcurrentHashMap<>();
+
+    private record Validadores(String etag, String lastModified) {}
+
+    /** Resposta 200 ou 304 já descompactada; {@code corpo} é {@code null} no 304. */
+    public record Resposta(int status, String corpo, String etag, String lastModified) {
+        public boolean naoModificada() { return status == 304; }
+    }
+
+    /** Troca o cliente compartilhado (proxy, timeouts ou um servidor local de testes). */
+    public static void setHttpClient(HttpClient novo) {
+        client = novo;
+        VALIDADORES.clear();
+    }
+
     public static String getLotteryResults(String urlStr) throws IOException, InterruptedException {
-        ExponentialBackoff b = new ExponentialBackoff();
-        for (int i = 0; ; i++) {
-            try {
-                URL u = new URL(urlStr);
-                HttpURLConnection c = (HttpURLConnection) u.openConnection();
-                c.setRequestMethod("GET");
-                c.setConnectTimeout(15000);
-                c.setReadTimeout(30000);
-                if (c.getResponseCode() != 200) {
-                    if (i == 2) return null;
-                    b.sleep();
-                    continue;
-                }
-                BufferedReader in = new BufferedReader(new InputStreamReader(c.getInputStream()));
-                StringBuilder sb = new StringBuilder();
-                String l;
-                while ((l = in.readLine()) != null) sb.append(l);
-                in.close();
-                c.disconnect();
-                return sb.toString();
+        return aguardar(getLotteryResultsAsync(urlStr));
+    }
+
+    /**
+     * Corpo da resposta, ou {@code null} se o servidor insistir em um status
+     * diferente de 200 — mesmo contrato da versão síncrona. GET comum, sem
+     * validadores.
+     */
+    public static CompletableFuture<String> getLotteryResultsAsync(String urlStr) {
+        return getConditionalAsync(urlStr, null, null).thenApply(NetworkUtils::corpoSe200);
+    }
+
+    /**
+     * Como {@link #getLotteryResultsAsync(String)}, para quem guarda o corpo
+     * desta URL ({@code corpoEmCache}, {@code null} na primeira chamada). Os
+     * validadores da resposta ficam guardados; com eles e um corpo em cache a
+     * chamada é condicional e um 304 devolve {@code corpoEmCache}. Um 304 sem
+     * corpo para devolver vira um GET comum.
+     */
+    public static CompletableFuture<String> getLotteryResultsAsync(String urlStr, String corpoEmCache) {
+        Validadores v = corpoEmCache == null ? null : VALIDADORES.get(urlStr);
+        CompletableFuture<Resposta> pedido = v == null
+                ? getConditionalAsync(urlStr, null, null)
+                : getConditionalAsync(urlStr, v.etag(), v.lastModified());
+        return pedido.thenCompose(r -> {
+            if (r == null) return CompletableFuture.completedFuture(null);
+            if (r.naoModificada()) {
+                return v != null
+                        ? CompletableFuture.completedFuture(corpoEmCache)
+                        : getConditionalAsync(urlStr, null, null).thenApply(NetworkUtils::corpoSe200);
+            }
+            if (r.etag() != null || r.lastModified() != null) {
+                VALIDADORES.put(urlStr, new Validadores(r.etag(), r.lastModified()));
+            }
+            return CompletableFuture.completedFuture(r.corpo());
+        });
+    }
+
+    private static String corpoSe200(Resposta r) {
+        return r == null || r.naoModificada() ? null : r.corpo();
+    }
+
+    /** GET com {@code If-None-Match}/{@code If-Modified-Since} quando os validadores são informados. */
+    public static CompletableFuture<Resposta> getConditionalAsync(String urlStr, String etag, String lastModified) {
+        HttpRequest.Builder b = HttpRequest.newBuilder(URI.create(urlStr))
+                .timeout(TIMEOUT_LEITURA)
+                .header("Accept-Encoding", "gzip")
+                .GET();
+        if (etag != null) b.header("If-None-Match", etag);
+        if (lastModified != null) b.header("If-Modified-Since", lastModified);
+        return tentar(b.build(), 0, ATRASO_INICIAL_MS);
+    }
+
+    private static CompletableFuture<Resposta> tentar(HttpRequest req, int tentativa, long atrasoMs) {
+        REQUISICOES.incrementar();
+        if (tentativa > 0) NOVAS_TENTATIVAS.incrementar();
+        return client.sendAsync(req, HttpResponse.BodyHandlers.ofByteArray())
+                .handle((resp, erro) -> {
+                    if (erro == null && (resp.statusCode() == 200 || resp.statusCode() == 304)) {
+                        return CompletableFuture.completedFuture(paraResposta(resp));
+                    }
+                    boolean repetir = erro != null || resp.statusCode() >= 500 || resp.statusCode() == 429;
+                    if (!repetir || tentativa + 1 >= TENTATIVAS) {
+                        return erro != null
+                                ? CompletableFuture.<Resposta>failedFuture(erro)
+                                : CompletableFuture.<Resposta>completedFuture(null);
+                    }
+                    return CompletableFuture.runAsync(() -> { },
+                                    CompletableFuture.delayedExecutor(atrasoMs, TimeUnit.MILLISECONDS))
+                            .thenCompose(v -> tentar(req, tentativa + 1, atrasoMs * 2));
+                })
+                .thenCompose(f -> f);
+    }
+
+    private static Resposta paraResposta(HttpResponse<byte[]> resp) {
+        String etag = resp.headers().firstValue("ETag").orElse(null);
+        String lastModified = resp.headers().firstValue("Last-Modified").orElse(null);
+        if (resp.statusCode() == 304) {
+            NAO_MODIFICADAS.incrementar();
+            return new Resposta(304, null, etag, lastModified);
+        }
+        byte[] corpo = resp.body();
+        BYTES.incrementar(corpo.length);
+        if (resp.headers().firstValue("Content-Encoding").filter("gzip"::equalsIgnoreCase).isPresent()) {
+            try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(corpo))) {
+                corpo = in.readAllBytes();
             } catch (IOException e) {
-                if (i == 2) throw e;
-                b.sleep();
+                throw new UncheckedIOException(e);
             }
         }
+        return new Resposta(200, new String(corpo, StandardCharsets.UTF_8), etag, lastModified);
     }
 
+    /**
+     * Arquivo completo com cache em disco. Vencida a validade, o download é
+     * condicional: {@code If-None-Match} com o {@code ETag} guardado ao lado do
+     * cache e {@code If-Modified-Since} com a data de modificação do arquivo.
+     * Se nada mudou, o servidor responde 304 e o arquivo local só tem a
+     * validade renovada.
+     */
     public static String getCachedHistoricalResults() throws IOException, InterruptedException {
+        return getCachedHistoricalResults(System.out::println);
+    }
+
+    /** @param mensagem recebe os avisos de cache ("Cache carregado.") em vez do stdout */
+    public static String getCachedHistoricalResults(Consumer<String> mensagem) throws IOException, InterruptedException {
         Path p = Paths.get(ConsorcioConfig.getCacheFile());
+        Path etagFile = p.resolveSibling(p.getFileName() + ".etag");
         if (Files.exists(p)) {
             LocalDateTime m = LocalDateTime.ofInstant(Files.getLastModifiedTime(p).toInstant(), ZoneId.systemDefault());
             if (LocalDateTime.now().minusHours(ConsorcioConfig.getCacheValidityHours()).isBefore(m)) {
-                System.out.println("Cache carregado.");
+                mensagem.accept("Cache carregado.");
                 return Files.readString(p);
             }
         }
-        String r = getLotteryResults(ConsorcioConfig.getBaseApiUrl());
-        if (r != null) Files.writeString(p, r);
-        return r;
+        String etag = null, desde = null;
+        if (Files.exists(p)) {
+            if (Files.exists(etagFile)) etag = Files.readString(etagFile).trim();
+            desde = DateTimeFormatter.RFC_1123_DATE_TIME.format(
+                    Files.getLastModifiedTime(p).toInstant().atZone(ZoneOffset.UTC));
+        }
+        Resposta r = aguardar(getConditionalAsync(ConsorcioConfig.getBaseApiUrl(), etag, desde));
+        if (r == null) return null;
+        if (r.naoModificada()) {
+            Files.setLastModifiedTime(p, FileTime.fromMillis(System.currentTimeMillis()));
+            mensagem.accept("Cache revalidado (304).");
+            return Files.readString(p);
+        }
+        Files.writeString(p, r.corpo());
+        if (r.etag() != null) Files.writeString(etagFile, r.etag());
+        else Files.deleteIfExists(etagFile);
+        return r.corpo();
     }
 
-    public static class ExponentialBackoff {
-        private long delay = 1000;
-        public void sleep() throws InterruptedException { Thread.sleep(delay); delay *= 2; }
+    private static <T> T aguardar(CompletableFuture<T> f) throws IOException, InterruptedException {
+        try {
+            return f.get();
+        } catch (ExecutionException e) {
+            Throwable c = e.getCause();
+            while (c instanceof CompletionException && c.getCause() != null) c = c.getCause();
+            if (c instanceof UncheckedIOException u) throw u.getCause();
+            if (c instanceof IOException io) throw io;
+            throw new IOException(c);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,101 @@
+package com.br.code.report;
+
+import com.br.code.model.RelatorioCota;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** {@link NdjsonReportWriter}: um objeto JSON válido por linha, mesmo com várias threads. */
+class NdjsonReportWriterTest {
+
+    @TempDir
+    Path dir;
+
+    private static RelatorioCota relatorio(int cota, double taxa) {
+        Map<String, Double> tempos = new LinkedHashMap<>();
+        tempos.put("config", 1.5);
+        tempos.put("simulacao", Double.NaN);
+        RelatorioCota.Sorteio ultimo = new RelatorioCota.Sorteio(LocalDate.of(2025, 10, 25), "DIRETA", 3);
+        RelatorioCota.Simulacao sim = new RelatorioCota.Simulacao("estocastico", 4096, 2, 9, 30,
+                0.5, 1, Double.POSITIVE_INFINITY,
+                List.of(new RelatorioCota.Cenario("Realista", 4096, 40_000, 41_000, 44_000, 0, 0, 300)),
+                40_000, 4096, 0.25, 0.01,
+                14_000, 16_000, 20_000, 24_000, 47_000, 0, 0, 0, 0, 500);
+        return new RelatorioCota("", cota, LocalDate.of(2025, 10, 28),
+                new RelatorioCota.EstatisticaGrupo(252, 180, 40, 32), ultimo,
+                List.of(new RelatorioCota.Assembleia(LocalDate.of(2025, 11, 20), null),
+                        new RelatorioCota.Assembleia(LocalDate.of(2025, 10, 28), ultimo)),
+                taxa, 0.35,
+                List.of(new RelatorioCota.Projecao(YearMonth.of(2026, 1), 0.1, 0.2, 0.15, 0.18, Double.NEGATIVE_INFINITY)),
+                sim, tempos);
+    }
+
+    private List<String> gravar(List<RelatorioCota> relatorios, boolean emParalelo) throws IOException {
+        Path arquivo = dir.resolve("r.ndjson");
+        try (NdjsonReportWriter w = NdjsonReportWriter.abrir(arquivo.toString())) {
+            (emParalelo ? relatorios.parallelStream() : relatorios.stream()).forEach(w::escrever);
+        }
+        return Files.readAllLines(arquivo, StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void umObjetoPorLinha() throws IOException {
+        List<String> linhas = gravar(List.of(relatorio(74, 0.05), relatorio(75, 0.06)), false);
+        assertEquals(2, linhas.size());
+
+        JSONObject o = new JSONObject(linhas.get(0));
+        assertTrue(o.isNull("grupo"));
+        assertEquals(74, o.getInt("cota"));
+        assertEquals("2025-10-28", o.getString("entrada"));
+        assertEquals(180, o.getJSONObject("estatisticaGrupo").getInt("ativos"));
+        assertEquals("DIRETA", o.getJSONObject("ultimoSorteio").getString("status"));
+        assertTrue(o.getJSONArray("assembleias").getJSONObject(0).isNull("sorteio"));
+        assertEquals("2026-01", o.getJSONArray("projecao").getJSONObject(0).getString("mes"));
+        assertEquals(0.05, o.getDouble("taxaMensalGrupo"));
+
+        JSONObject sim = o.getJSONObject("simulacao");
+        assertEquals(9, sim.getJSONObject("meses").getInt("p50"));
+        assertEquals(1, sim.getJSONObject("meses").getDouble("erroP50"));
+        assertEquals(300, sim.getJSONArray("cenarios").getJSONObject(0).getDouble("erroP90"));
+        assertEquals(0.01, sim.getJSONObject("profissional").getDouble("erroChance12Meses"));
+        assertEquals(500, sim.getJSONObject("profissional").getJSONObject("lances").getDouble("erroP90"));
+        assertEquals(75, new JSONObject(linhas.get(1)).getInt("cota"));
+    }
+
+    @Test
+    void naoFinitosViramNull() throws IOException {
+        JSONObject o = new JSONObject(gravar(List.of(relatorio(74, Double.NaN)), false).get(0));
+        assertTrue(o.isNull("taxaMensalGrupo"));
+        assertTrue(o.getJSONArray("projecao").getJSONObject(0).isNull("otimista"));
+        assertTrue(o.getJSONObject("simulacao").getJSONObject("meses").isNull("erroP90"));
+        assertTrue(o.getJSONObject("temposMs").isNull("simulacao"));
+        assertTrue(o.getJSONObject("temposMs").has("simulacao"));
+        assertEquals(1.5, o.getJSONObject("temposMs").getDouble("config"));
+    }
+
+    @Test
+    void linhasNaoSeMisturamEntreThreads() throws IOException {
+        List<RelatorioCota> relatorios = IntStream.range(0, 500).mapToObj(c -> relatorio(c, 0.05)).toList();
+        List<String> linhas = gravar(relatorios, true);
+        assertEquals(500, linhas.size());
+        Set<Integer> cotas = new HashSet<>();
+        for (String l : linhas) cotas.add(new JSONObject(l).getInt("cota"));
+        assertEquals(500, cotas.size());
+    }
+}
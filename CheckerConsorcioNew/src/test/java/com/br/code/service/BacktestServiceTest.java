@@ -0,0 +1,78 @@
+package com.br.code.service;
+
+import com.br.code.config.ConfigSnapshot;
+import com.br.code.model.ContemplationResult;
+import com.br.code.model.CotaBacktest;
+import com.br.code.model.Draw;
+import com.br.code.util.DrawIndex;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Backtest nas datas reais de assembleia contra a conferência cota a cota do relatório. */
+class BacktestServiceTest {
+
+    private static List<Draw> historico() {
+        Random r = new Random(74);
+        List<Draw> sorteios = new ArrayList<>();
+        LocalDate d = LocalDate.of(2025, 9, 3);
+        for (int c = 1; c <= 80; c++, d = d.plusDays(c % 2 == 0 ? 3 : 4)) { // quartas e sábados
+            int[] premios = new int[5];
+            for (int i = 0; i < premios.length; i++) premios[i] = r.nextInt(1_000_000);
+            sorteios.add(Draw.de(c, d.toEpochDay(), premios));
+        }
+        return sorteios;
+    }
+
+    @Test
+    void datasReaisBatemComACotaACota() {
+        List<Draw> historico = historico();
+        List<LocalDate> datas = List.of(LocalDate.of(2025, 11, 28), LocalDate.of(2025, 12, 27),
+                LocalDate.of(2026, 1, 26), LocalDate.of(2026, 1, 26), LocalDate.of(2026, 2, 26),
+                LocalDate.of(2020, 1, 1)); // repetida e anterior ao primeiro sorteio
+        BacktestService.Resultado r = new BacktestService().executar(historico, datas);
+
+        assertTrue(r.datasReais());
+        assertEquals(4, r.assembleias());
+        assertEquals(YearMonth.of(2025, 11), r.inicio());
+        assertEquals(YearMonth.of(2026, 2), r.fim());
+        assertTrue(r.totalDiretas() > 0 && r.totalAjustes() > 0);
+
+        DrawIndex indice = DrawIndex.de(historico);
+        List<LocalDate> validas = List.of(datas.get(0), datas.get(1), datas.get(2), datas.get(4));
+        for (int cota = 0; cota < 1000; cota++) {
+            Properties p = new Properties();
+            p.setProperty("user.consortium.number", Integer.toString(cota));
+            CalculationService calc = new CalculationService(ConfigSnapshot.de(p));
+            int diretas = 0, ajustes = 0;
+            YearMonth primeira = null;
+            for (LocalDate data : validas) {
+                ContemplationResult c = calc.checkContemplation(indice.ultimoSorteioAntesDe(data).centenas());
+                if (c.isDirect()) diretas++;
+                if (c.isAdjusted()) ajustes++;
+                if (c.isContemplated() && primeira == null) primeira = YearMonth.from(data);
+            }
+            CotaBacktest b = r.cota(cota);
+            assertEquals(diretas, b.diretas(), "cota " + cota);
+            assertEquals(ajustes, b.ajustes(), "cota " + cota);
+            assertEquals(primeira, b.primeira(), "cota " + cota);
+        }
+    }
+
+    @Test
+    void semDatasUsaOUltimoSorteioDeCadaMes() {
+        BacktestService.Resultado r = new BacktestService().executar(historico());
+        assertFalse(r.datasReais());
+        assertEquals(BacktestService.ultimoSorteioDeCadaMes(historico()).size(), r.assembleias());
+        assertEquals(YearMonth.of(2025, 9), r.inicio());
+    }
+}
@@ -0,0 +1,203 @@
+package com.br.code.service;
+
+import com.br.code.model.Draw;
+import com.br.code.report.sink.ReportSink;
+import com.br.code.report.sink.Secao;
+import com.br.code.store.BinaryDrawStore;
+import com.br.code.util.JsonUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link HistorySyncService#sincronizar} com uma API falsa e uma
+ * {@link BinaryDrawStore} em diretório temporário.
+ */
+class HistorySyncServiceTest {
+
+    @TempDir
+    Path dir;
+
+    private ApiFalsa api;
+    private BinaryDrawStore store;
+    private Path legado;
+    private final List<String> mensagens = new ArrayList<>();
+
+    /** Concursos de 1 a {@code ultimo} publicados; o resto responde como um 404. */
+    private static final class ApiFalsa extends ApiService {
+        final Map<Integer, String> concursos = new HashMap<>();
+        final List<Integer> pedidos = new ArrayList<>();
+        int downloadsCompletos;
+
+        ApiFalsa(int ultimo) {
+            for (int c = 1; c <= ultimo; c++) concursos.put(c, JsonUtils.toJson(sorteio(c)));
+        }
+
+        @Override
+        public CompletableFuture<String> fetchContestAsync(int concurso) {
+            pedidos.add(concurso);
+            return CompletableFuture.completedFuture(concursos.get(concurso));
+        }
+
+        @Override
+        public String fetchFullHistory() {
+            downloadsCompletos++;
+            return completo();
+        }
+
+        @Override
+        public String fetchHistorical(ReportSink mensagens) {
+            return completo();
+        }
+
+        String completo() {
+            return concursos.keySet().stream().sorted()
+                    .map(concursos::get)
+                    .collect(Collectors.joining(",", "[", "]"));
+        }
+    }
+
+    private static Draw sorteio(int concurso) {
+        return Draw.de(concurso, 18_000 + 3L * concurso, new int[]{concurso, 10_000 + concurso, 234_567, 999_999, 1});
+    }
+
+    private static List<Draw> sorteios(int de, int ate) {
+        List<Draw> lista = new ArrayList<>();
+        for (int c = de; c <= ate; c++) lista.add(sorteio(c));
+        return lista;
+    }
+
+    private static List<Integer> concursos(List<Draw> sorteios) {
+        return sorteios.stream().map(Draw::concurso).toList();
+    }
+
+    private static List<Integer> intervalo(int de, int ate) {
+        return concursos(sorteios(de, ate));
+    }
+
+    @BeforeEach
+    void preparar() {
+        store = new BinaryDrawStore(dir.resolve("historico.bin"));
+        legado = dir.resolve("historico_cache.json");
+    }
+
+    private HistorySyncService servico() {
+        return new HistorySyncService(api, store, legado, new ReportSink() {
+            @Override
+            public void escrever(Secao secao) {
+                mensagens.add(secao.texto().toString().trim());
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+    }
+
+    @Test
+    void anexaOsConcursosQueFaltamEmOrdem() throws IOException {
+        api = new ApiFalsa(110);
+        store.substituir(sorteios(1, 100));
+
+        List<Draw> historico = servico().sincronizar(sorteio(110));
+
+        assertEquals(intervalo(1, 110), concursos(historico));
+        assertEquals(intervalo(1, 110), concursos(store.carregar()));
+        assertEquals(intervalo(101, 109), api.pedidos); // o 110 já veio do latest
+        assertEquals(0, api.downloadsCompletos);
+    }
+
+    @Test
+    void paraNoPrimeiroConcursoQueFalta() throws IOException {
+        api = new ApiFalsa(110);
+        api.concursos.remove(105);
+        store.substituir(sorteios(1, 100));
+
+        List<Draw> historico = servico().sincronizar(sorteio(110));
+
+        assertEquals(intervalo(1, 104), concursos(historico));
+        assertEquals(intervalo(1, 104), concursos(store.carregar()));
+    }
+
+    @Test
+    void paraNoPrimeiroConcursoForaDeOrdem() throws IOException {
+        api = new ApiFalsa(110);
+        api.concursos.put(103, JsonUtils.toJson(sorteio(104)));
+        store.substituir(sorteios(1, 100));
+
+        List<Draw> historico = servico().sincronizar(sorteio(110));
+
+        assertEquals(intervalo(1, 102), concursos(historico));
+        assertEquals(intervalo(1, 102), concursos(store.carregar()));
+    }
+
+    @Test
+    void diferencaGrandeBaixaTudo() throws IOException {
+        int ultimo = 10 + HistorySyncService.MAX_CONCURSOS_INCREMENTAIS + 1;
+        api = new ApiFalsa(ultimo);
+        store.substituir(sorteios(1, 10));
+
+        List<Draw> historico = servico().sincronizar(sorteio(ultimo));
+
+        assertEquals(intervalo(1, ultimo), concursos(historico));
+        assertEquals(intervalo(1, ultimo), concursos(store.carregar()));
+        assertEquals(1, api.downloadsCompletos);
+        assertTrue(api.pedidos.isEmpty());
+    }
+
+    @Test
+    void importaOCacheJsonAntigo() throws IOException {
+        api = new ApiFalsa(30);
+        List<Draw> fora = sorteios(1, 30);
+        fora.add(sorteio(7)); // repetido
+        Collections.reverse(fora);
+        Files.writeString(legado, fora.stream().map(JsonUtils::toJson).collect(Collectors.joining(",", "[", "]")));
+
+        List<Draw> historico = servico().sincronizar(sorteio(30));
+
+        assertEquals(intervalo(1, 30), concursos(historico));
+        assertEquals(intervalo(1, 30), concursos(store.carregar()));
+        assertEquals(0, api.downloadsCompletos);
+        assertTrue(mensagens.stream().anyMatch(m -> m.startsWith("Histórico importado")), mensagens.toString());
+    }
+
+    @Test
+    void storeCorrompidaEhReconstruida() throws IOException {
+        api = new ApiFalsa(40);
+        Files.write(store.getArquivo(), new byte[]{'F', 'E', 'D', 'R', 0, 1, 0, 28, 0, 0, 0, 9, 1, 2, 3, 4});
+
+        List<Draw> historico = servico().sincronizar(sorteio(40));
+
+        assertEquals(intervalo(1, 40), concursos(historico));
+        assertEquals(intervalo(1, 40), concursos(store.carregar()));
+        assertEquals(1, api.downloadsCompletos);
+    }
+
+    @Test
+    void storeComBuracoEhReconstruida() throws IOException {
+        api = new ApiFalsa(40);
+        List<Draw> comBuraco = sorteios(20, 25); // como a janela de datas do FederalAnalysis --store
+        comBuraco.addAll(sorteios(30, 40));
+        store.substituir(comBuraco);
+
+        List<Draw> historico = servico().sincronizar(sorteio(40));
+
+        assertEquals(intervalo(1, 40), concursos(historico));
+        assertEquals(intervalo(1, 40), concursos(store.carregar()));
+        assertEquals(1, api.downloadsCompletos);
+    }
+}
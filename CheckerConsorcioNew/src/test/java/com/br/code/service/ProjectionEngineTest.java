@@ -0,0 +1,72 @@
+package com.br.code.service;
+
+import com.br.code.config.ConfigSnapshot;
+import com.br.code.model.CenarioProjecao;
+import org.junit.jupiter.api.Test;
+
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Fixa a saída do {@link ProjectionEngine} nas fórmulas fechadas dos
+ * cenários de taxa fixa e no produto mês a mês da {@link ProjectionTable}
+ * para o realista.
+ */
+class ProjectionEngineTest {
+
+    private static final double TAXA = 12.0 / 252;
+    private static final double LANCE = 0.35;
+    private static final int MESES = 84;
+
+    private static double[] constantes() {
+        double[] r = new double[MESES + 1];
+        Arrays.fill(r, 1);
+        return r;
+    }
+
+    @Test
+    void cenariosDeTaxaFixaSeguemAFormulaFechada() {
+        ProjectionSeries serie = ProjectionEngine.projetar(YearMonth.of(2025, 11), MESES, TAXA, LANCE,
+                constantes(), CenarioProjecao.PADRAO);
+        for (int m = 0; m <= MESES; m++) {
+            assertEquals(1 - Math.pow(1 - TAXA, m), serie.chance(CenarioProjecao.SORTEIO, m), 1e-12);
+            assertEquals(1 - Math.pow(1 - TAXA, m) * Math.pow(1 - LANCE, m),
+                    serie.chance(CenarioProjecao.SORTEIO_E_LANCE, m), 1e-12);
+            assertEquals(1 - Math.pow(1 - TAXA, m) * Math.pow(1 - LANCE * 0.8, m),
+                    serie.chance(CenarioProjecao.CONSERVADOR, m), 1e-12);
+            assertEquals(1 - Math.pow(1 - TAXA * 1.5, m) * Math.pow(1 - LANCE * 1.1, m),
+                    serie.chance(CenarioProjecao.OTIMISTA, m), 1e-12);
+            // sem desistência, o realista é o sorteio + lance
+            assertEquals(serie.chance(CenarioProjecao.SORTEIO_E_LANCE, m), serie.chance(CenarioProjecao.REALISTA, m), 1e-12);
+        }
+        assertEquals(YearMonth.of(2032, 10), serie.mes(MESES));
+    }
+
+    @Test
+    void realistaAcumulaATaxaDaTabelaMesAMes() {
+        CalculationService calc = new CalculationService(ConfigSnapshot.de(new Properties()));
+        ProjectionTable t = calc.getProjecao();
+        ProjectionSeries serie = calc.getCenarios();
+
+        double naoContemplado = 1;
+        for (int m = 1; m <= t.meses(); m++) {
+            naoContemplado *= (1 - t.pSorteio(m)) * (1 - t.pLance(m));
+            assertEquals(1 - naoContemplado, serie.chance(CenarioProjecao.REALISTA, m), 1e-12, "mês " + m);
+            assertEquals(1 - Math.pow(1 - t.taxaBase(), m), serie.chance(CenarioProjecao.SORTEIO, m), 1e-12);
+            assertEquals(t.mes(m), serie.mes(m));
+        }
+    }
+
+    @Test
+    void taxaDeSorteioTemTeto() {
+        double[] rel = constantes();
+        for (int m = 1; m <= MESES; m++) rel[m] = 0.01;
+        ProjectionSeries serie = ProjectionEngine.projetar(YearMonth.of(2025, 11), MESES, TAXA, 0,
+                rel, List.of(CenarioProjecao.REALISTA));
+        assertEquals(1 - Math.pow(0.9, 12), serie.chance(0, 12), 1e-12);
+    }
+}
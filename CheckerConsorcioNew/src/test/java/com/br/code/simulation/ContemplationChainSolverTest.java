@@ -0,0 +1,58 @@
+package com.br.code.simulation;
+
+import com.br.code.config.ConfigSnapshot;
+import com.br.code.service.CalculationService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Confere a distribuição exata do {@link ContemplationChainSolver} com a
+ * simulação estocástica ({@link MonteCarloSimulator#simulate}) sobre o
+ * {@link ParallelTrialEngine}, com semente fixa.
+ */
+class ContemplationChainSolverTest {
+
+    private static final long SEMENTE = 20251028L;
+    private static final long ENSAIOS = 200_000;
+    /**
+     * Valor crítico de Kolmogorov-Smirnov a 99,9% para {@link #ENSAIOS}
+     * amostras ({@code 1,95 / √n ≈ 0,0044}), arredondado para cima.
+     */
+    private static final double TOLERANCIA_KS = 0.005;
+
+    private static MonteCarloSimulator simulador(int threads) {
+        CalculationService calc = new CalculationService(ConfigSnapshot.de(new Properties()));
+        return new MonteCarloSimulator(calc, new ParallelTrialEngine(threads), SEMENTE);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "0.0476, 0.40",  // padrão do config.properties (12 / 252)
+            "0.0200, 0.30",
+            "0.1000, 0.75"
+    })
+    void distribuicaoExataConcordaComSimulacao(double pSorteio, double pLance) {
+        MonteCarloSimulator simulator = simulador(2);
+        ContemplationChainSolver.MonthDistribution exata = simulator.resolverExato(pSorteio, pLance);
+        IntHistogram simulada = simulator.simulate(pSorteio, pLance, ENSAIOS);
+
+        double ks = exata.distanciaKS(simulada);
+        assertTrue(ks < TOLERANCIA_KS, "distância KS " + ks);
+        assertEquals(exata.percentilInt(0.50), simulada.percentil(0.50), 1.0);
+    }
+
+    @Test
+    void pmfSomaUm() {
+        ContemplationChainSolver.MonthDistribution exata = simulador(1).resolverExato(0.0476, 0.40);
+        double soma = 0;
+        for (int m = 1; m <= ContemplationChainSolver.MAX_MESES; m++) soma += exata.pmf(m);
+        assertEquals(1.0, soma, 1e-9);
+        assertEquals(1.0, exata.cdf(ContemplationChainSolver.MAX_MESES), 1e-9);
+    }
+}
@@ -0,0 +1,65 @@
+package com.br.code.simulation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DoubleHistogramTest {
+
+    private static double percentil(double[] ordenados, double p) {
+        return ordenados[(int) Math.min(ordenados.length - 1, (long) (ordenados.length * p))];
+    }
+
+    @Test
+    void percentilAUmaFaixaDaListaOrdenada() {
+        SplittableRandom rng = new SplittableRandom(2);
+        double[] valores = new double[20_000];
+        DoubleHistogram h = new DoubleHistogram(0, 200_000, 400);
+        for (int i = 0; i < valores.length; i++) {
+            valores[i] = Math.exp(10 + rng.nextDouble() * 2); // ~22 mil a ~162 mil
+            h.add(valores[i]);
+        }
+        Arrays.sort(valores);
+        assertEquals(500, h.erroMaximo(), 1e-9);
+        for (double p : new double[]{0, 0.05, 0.25, 0.5, 0.75, 0.95, 1}) {
+            assertEquals(percentil(valores, p), h.percentil(p), h.erroMaximo(), "p" + p);
+        }
+    }
+
+    @Test
+    void exatoQuandoAFaixaTemUmSoValor() {
+        DoubleHistogram h = new DoubleHistogram(0, 100_000, 100);
+        for (int i = 0; i < 30; i++) h.add(25_000);
+        for (int i = 0; i < 70; i++) h.add(41_000);
+        assertEquals(25_000, h.percentil(0.10), 0.0);
+        assertEquals(41_000, h.percentil(0.50), 0.0);
+    }
+
+    @Test
+    void mergeIgualAInserirTudoNoMesmo() {
+        SplittableRandom rng = new SplittableRandom(3);
+        DoubleHistogram a = new DoubleHistogram(0, 1, 50), b = new DoubleHistogram(0, 1, 50), tudo = new DoubleHistogram(0, 1, 50);
+        for (int i = 0; i < 5_000; i++) {
+            double v = rng.nextDouble();
+            (i % 3 == 0 ? a : b).add(v);
+            tudo.add(v);
+        }
+        a.merge(b);
+        assertEquals(tudo.total(), a.total());
+        for (double p = 0; p <= 1; p += 0.05) assertEquals(tudo.percentil(p), a.percentil(p), 1e-12, "p" + p);
+    }
+
+    @Test
+    void extremosLimitadosAoObservado() {
+        DoubleHistogram h = new DoubleHistogram(0, 10, 5);
+        h.add(-3);
+        h.add(27);
+        assertEquals(-3, h.percentil(0), 0.0);
+        assertEquals(27, h.percentil(1), 0.0);
+        assertThrows(IllegalArgumentException.class, () -> h.merge(new DoubleHistogram(0, 10, 4)));
+    }
+}
@@ -0,0 +1,67 @@
+package com.br.code.simulation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IntHistogramTest {
+
+    /** Mesmo critério de posição do histograma: o elemento {@code floor(n * p)} da lista ordenada. */
+    private static int percentil(int[] ordenados, double p) {
+        return ordenados[(int) Math.min(ordenados.length - 1, (long) (ordenados.length * p))];
+    }
+
+    @Test
+    void percentilExatoDentroDaFaixa() {
+        SplittableRandom rng = new SplittableRandom(1);
+        int[] valores = new int[10_001];
+        IntHistogram h = new IntHistogram(1, 84);
+        for (int i = 0; i < valores.length; i++) {
+            valores[i] = rng.nextInt(1, 85);
+            h.add(valores[i]);
+        }
+        Arrays.sort(valores);
+        for (double p : new double[]{0, 0.05, 0.25, 0.5, 0.75, 0.9, 0.99, 1}) {
+            assertEquals(percentil(valores, p), h.percentilInt(p), "p" + p);
+        }
+        assertEquals(0, h.erroMaximo());
+    }
+
+    @Test
+    void mergeSomaAsContagens() {
+        IntHistogram a = new IntHistogram(1, 10), b = new IntHistogram(1, 10), tudo = new IntHistogram(1, 10);
+        for (int v = 1; v <= 10; v++) {
+            for (int i = 0; i < v; i++) {
+                a.add(v);
+                tudo.add(v);
+            }
+            b.add(11 - v);
+            tudo.add(11 - v);
+        }
+        assertEquals(a, a.merge(b));
+        assertEquals(tudo.total(), a.total());
+        for (int v = 1; v <= 10; v++) assertEquals(tudo.contagem(v), a.contagem(v));
+        assertEquals(tudo.percentilInt(0.5), a.percentilInt(0.5));
+    }
+
+    @Test
+    void foraDaFaixaVaiParaOsExtremos() {
+        IntHistogram h = new IntHistogram(1, 36);
+        h.add(-5);
+        h.add(0);
+        h.add(99);
+        assertEquals(2, h.contagem(1));
+        assertEquals(1, h.contagem(36));
+        assertEquals(0, h.contagem(99));
+    }
+
+    @Test
+    void faixasDiferentesNaoCombinam() {
+        assertThrows(IllegalArgumentException.class, () -> new IntHistogram(1, 36).merge(new IntHistogram(1, 84)));
+        assertThrows(IllegalStateException.class, () -> new IntHistogram(1, 36).percentilInt(0.5));
+    }
+}
@@ -0,0 +1,60 @@
+package com.br.code.simulation;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/** O resultado do {@link ParallelTrialEngine} depende só da semente e do número de ensaios. */
+class ParallelTrialEngineTest {
+
+    private static final long SEMENTE = 74L;
+    /** Não múltiplo de {@link ParallelTrialEngine#TAMANHO_BLOCO}: o último bloco é parcial. */
+    private static final long ENSAIOS = 10 * ParallelTrialEngine.TAMANHO_BLOCO + 123;
+
+    private static IntHistogram meses(int threads, long ensaios) {
+        return new ParallelTrialEngine(threads).executar(ensaios, SEMENTE,
+                () -> new IntHistogram(1, 36),
+                (rng, acc) -> acc.add(rng.nextInt(1, 40)),
+                IntHistogram::merge);
+    }
+
+    private static DoubleHistogram lances(int threads) {
+        return new ParallelTrialEngine(threads).executarBlocos(ENSAIOS, SEMENTE,
+                () -> new DoubleHistogram(0, 100_000, 200),
+                (rng, n, acc) -> {
+                    for (int i = 0; i < n; i++) acc.add(rng.nextDouble() * 120_000);
+                },
+                DoubleHistogram::merge);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 4})
+    void mesmoHistogramaComQualquerNumeroDeThreads(int threads) {
+        IntHistogram um = meses(1, ENSAIOS);
+        IntHistogram varios = meses(threads, ENSAIOS);
+        assertEquals(ENSAIOS, varios.total());
+        for (int m = 1; m <= 36; m++) assertEquals(um.contagem(m), varios.contagem(m), "mês " + m);
+
+        DoubleHistogram l1 = lances(1), ln = lances(threads);
+        assertEquals(l1.total(), ln.total());
+        for (double p = 0.01; p < 1; p += 0.01) assertEquals(l1.percentil(p), ln.percentil(p), 0.0, "p" + p);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    void adaptativoRepeteOsPrimeirosEnsaiosDaExecucaoFixa(int threads) {
+        ParallelTrialEngine motor = new ParallelTrialEngine(threads);
+        long[] rodadas = {0};
+        IntHistogram adaptativo = motor.executarAdaptativo(ParallelTrialEngine.TAMANHO_BLOCO, 1_000_000, SEMENTE,
+                () -> new IntHistogram(1, 36),
+                (rng, n, acc) -> {
+                    for (int i = 0; i < n; i++) acc.add(rng.nextInt(1, 40));
+                },
+                IntHistogram::merge,
+                acc -> ++rodadas[0] == 3); // 1, 2 e 4 blocos
+        assertEquals(4L * ParallelTrialEngine.TAMANHO_BLOCO, adaptativo.total());
+        IntHistogram fixo = meses(1, adaptativo.total());
+        for (int m = 1; m <= 36; m++) assertEquals(fixo.contagem(m), adaptativo.contagem(m), "mês " + m);
+    }
+}
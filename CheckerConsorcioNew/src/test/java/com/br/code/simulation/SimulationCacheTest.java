@@ -0,0 +1,141 @@
+package com.br.code.simulation;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** {@link SimulationCache}: camada em disco, chaves em cálculo e arquivos ilegíveis. */
+class SimulationCacheTest {
+
+    @TempDir
+    Path dir;
+
+    private static final SimulationCache.Codec<long[]> CODEC = new SimulationCache.Codec<>() {
+        @Override
+        public void escrever(long[] valor, DataOutputStream out) throws IOException {
+            out.writeInt(valor.length);
+            for (long v : valor) out.writeLong(v);
+        }
+
+        @Override
+        public long[] ler(DataInputStream in) throws IOException {
+            long[] v = new long[in.readInt()];
+            for (int i = 0; i < v.length; i++) v[i] = in.readLong();
+            return v;
+        }
+    };
+
+    private final AtomicInteger calculos = new AtomicInteger();
+
+    private long[] calcular() {
+        calculos.incrementAndGet();
+        return new long[]{7, 42, Long.MAX_VALUE};
+    }
+
+    @Test
+    void valorGravadoEmDiscoEhLidoPorOutraInstancia() {
+        String chave = SimulationCache.impressaoDigital("v1", 0.1, 5000);
+        long[] primeiro = new SimulationCache<>(4, dir, CODEC).obter(chave, this::calcular);
+
+        assertTrue(Files.exists(dir.resolve(chave + ".sim")));
+        long[] lido = new SimulationCache<>(4, dir, CODEC).obter(chave, this::calcular);
+
+        assertEquals(1, calculos.get());
+        assertArrayEquals(new long[]{7, 42, Long.MAX_VALUE}, lido);
+        assertArrayEquals(primeiro, lido);
+    }
+
+    @Test
+    void chaveEmCalculoNaoEhCalculadaDeNovo() throws Exception {
+        SimulationCache<long[]> cache = new SimulationCache<>(4, null, CODEC);
+        CountDownLatch iniciou = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            CompletableFuture<long[]> primeiro = CompletableFuture.supplyAsync(() -> cache.obter("k", () -> {
+                iniciou.countDown();
+                try {
+                    liberar.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return calcular();
+            }), pool);
+            assertTrue(iniciou.await(5, TimeUnit.SECONDS));
+
+            Thread[] segunda = new Thread[1];
+            CompletableFuture<long[]> segundo = CompletableFuture.supplyAsync(() -> {
+                segunda[0] = Thread.currentThread();
+                return cache.obter("k", this::calcular);
+            }, pool);
+            // espera a segunda chamada ficar parada no join do cálculo em andamento
+            long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while ((segunda[0] == null || segunda[0].getState() != Thread.State.WAITING) && System.nanoTime() < limite) {
+                Thread.sleep(5);
+            }
+            liberar.countDown();
+
+            assertSame(primeiro.get(5, TimeUnit.SECONDS), segundo.get(5, TimeUnit.SECONDS));
+            assertEquals(1, calculos.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void falhaNoCalculoNaoFicaNoCache() {
+        SimulationCache<long[]> cache = new SimulationCache<>(4, null, CODEC);
+        assertThrows(IllegalStateException.class, () -> cache.obter("k", () -> {
+            throw new IllegalStateException("falhou");
+        }));
+        cache.obter("k", this::calcular);
+        assertEquals(1, calculos.get());
+    }
+
+    @Test
+    void arquivoCorrompidoEhTratadoComoAusente() throws IOException {
+        String chave = SimulationCache.impressaoDigital("v1", 3);
+        Path arquivo = dir.resolve(chave + ".sim");
+        Files.write(arquivo, new byte[]{1, 2, 3});
+
+        new SimulationCache<>(4, dir, CODEC).obter(chave, this::calcular);
+        assertEquals(1, calculos.get());
+
+        // o recálculo regravou o arquivo; agora truncado no meio do valor
+        byte[] valido = Files.readAllBytes(arquivo);
+        Files.write(arquivo, Arrays.copyOf(valido, valido.length - 4));
+        new SimulationCache<>(4, dir, CODEC).obter(chave, this::calcular);
+        assertEquals(2, calculos.get());
+        assertEquals(valido.length, Files.size(arquivo));
+    }
+
+    @Test
+    void arquivoDeOutraChaveEhIgnorado() throws IOException {
+        String a = SimulationCache.impressaoDigital("a"), b = SimulationCache.impressaoDigital("b");
+        assertNotEquals(a, b);
+        new SimulationCache<>(4, dir, CODEC).obter(a, this::calcular);
+        Files.copy(dir.resolve(a + ".sim"), dir.resolve(b + ".sim"));
+
+        new SimulationCache<>(4, dir, CODEC).obter(b, this::calcular);
+        assertEquals(2, calculos.get());
+    }
+}
@@ -0,0 +1,109 @@
+package com.br.code.store;
+
+import com.br.code.model.Draw;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Formato de 28 bytes por registro da {@link BinaryDrawStore}: leitura, append e validação. */
+class BinaryDrawStoreTest {
+
+    @TempDir
+    Path dir;
+
+    private static List<Draw> sorteios(int de, int ate) {
+        List<Draw> lista = new ArrayList<>();
+        for (int c = de; c <= ate; c++) {
+            lista.add(Draw.de(c, 20_000 + c * 3L, new int[]{c * 7, 123_456, 999_999, 0, c % 1000}));
+        }
+        return lista;
+    }
+
+    private static void assertMesmos(List<Draw> esperados, List<Draw> lidos) {
+        assertEquals(esperados.size(), lidos.size());
+        for (int i = 0; i < esperados.size(); i++) {
+            Draw e = esperados.get(i), l = lidos.get(i);
+            assertEquals(e.concurso(), l.concurso());
+            assertEquals(e.epochDay(), l.epochDay());
+            assertArrayEquals(e.premios(), l.premios());
+            assertArrayEquals(e.centenas(), l.centenas());
+        }
+    }
+
+    @Test
+    void gravaELe() throws IOException {
+        BinaryDrawStore store = new BinaryDrawStore(dir.resolve("h.bin"));
+        List<Draw> todos = sorteios(1, 100);
+        todos.add(Draw.de(101, 20_400, new int[]{111_111, 222_222})); // concurso com só dois prêmios
+        store.substituir(todos);
+
+        assertEquals(BinaryDrawStore.TAMANHO_CABECALHO + 101L * BinaryDrawStore.TAMANHO_REGISTRO,
+                Files.size(store.getArquivo()));
+        assertMesmos(todos, store.carregar());
+    }
+
+    @Test
+    void anexaAposOUltimo() throws IOException {
+        BinaryDrawStore store = new BinaryDrawStore(dir.resolve("h.bin"));
+        store.substituir(sorteios(1, 10));
+        store.anexar(sorteios(11, 15));
+        store.anexar(List.of());
+
+        assertMesmos(sorteios(1, 15), store.carregar());
+    }
+
+    @Test
+    void anexarSemArquivoCriaAStore() throws IOException {
+        BinaryDrawStore store = new BinaryDrawStore(dir.resolve("h.bin"));
+        store.anexar(sorteios(1, 3));
+        assertMesmos(sorteios(1, 3), store.carregar());
+    }
+
+    @Test
+    void crcCorrompidoEhRecusado() throws IOException {
+        BinaryDrawStore store = new BinaryDrawStore(dir.resolve("h.bin"));
+        store.substituir(sorteios(1, 10));
+        try (FileChannel ch = FileChannel.open(store.getArquivo(), StandardOpenOption.WRITE)) {
+            ch.write(ByteBuffer.allocate(4).putInt(0, 424_242), BinaryDrawStore.TAMANHO_CABECALHO + 4L * BinaryDrawStore.TAMANHO_REGISTRO + 8);
+        }
+        IOException e = assertThrows(IOException.class, store::carregar);
+        assertTrue(e.getMessage().contains("CRC32"), e.getMessage());
+        assertThrows(IOException.class, () -> store.anexar(sorteios(11, 11)));
+    }
+
+    @Test
+    void arquivoQueNaoEhStoreEhRecusado() throws IOException {
+        Path p = dir.resolve("h.bin");
+        Files.writeString(p, "[{\"concurso\":1}]");
+        assertThrows(IOException.class, () -> new BinaryDrawStore(p).carregar());
+    }
+
+    @Test
+    void bytesAlemDaQuantidadeSaoIgnorados() throws IOException {
+        BinaryDrawStore store = new BinaryDrawStore(dir.resolve("h.bin"));
+        store.substituir(sorteios(1, 10));
+        // append interrompido: registros gravados, cabeçalho ainda com a quantidade antiga
+        try (FileChannel ch = FileChannel.open(store.getArquivo(), StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ch.write(ByteBuffer.allocate(BinaryDrawStore.TAMANHO_REGISTRO * 2 + 5).putInt(0, 11));
+        }
+        assertMesmos(sorteios(1, 10), store.carregar());
+
+        store.anexar(sorteios(11, 12));
+        assertMesmos(sorteios(1, 12), store.carregar());
+        assertEquals(BinaryDrawStore.TAMANHO_CABECALHO + 12L * BinaryDrawStore.TAMANHO_REGISTRO,
+                Files.size(store.getArquivo()));
+    }
+}
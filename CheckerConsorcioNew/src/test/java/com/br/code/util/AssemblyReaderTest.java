@@ -0,0 +1,98 @@
+package com.br.code.util;
+
+import com.br.code.model.AssemblyData;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class AssemblyReaderTest {
+
+    @TempDir
+    Path dir;
+
+    private Path arquivo(String... linhas) throws IOException {
+        return Files.write(dir.resolve("assembleias.txt"), List.of(linhas));
+    }
+
+    private static List<AssemblyData> ler(Path p, LocalDate aPartirDe, String grupo, AssemblyReader.Leitura leitura)
+            throws IOException {
+        try (Stream<AssemblyData> s = AssemblyReader.stream(p, aPartirDe, grupo, leitura)) {
+            return s.toList();
+        }
+    }
+
+    @Test
+    void rejeicoesComNumeroDaLinhaEMotivo() throws IOException {
+        Path p = arquivo(
+                "dataAssembleia;CotaSorteada;CotaVencedoraLanceLivre;",  // 1 cabeçalho
+                "# comentário",                                          // 2
+                "20251128;6;;",                                          // 3
+                "",                                                      // 4
+                "28/12/2025;174;;",                                      // 5 data
+                "20260230;1;;",                                          // 6 data inexistente
+                "20260126",                                              // 7 sem colunas
+                "20260226;13a;162",                                      // 8 cota
+                "20260326;1;2;G1;extra",                                 // 9 colunas demais
+                "  20260426 ; 7 ; 9 ; G1 ;  ");                          // 10 espaços e ; final
+        AssemblyReader.Leitura leitura = new AssemblyReader.Leitura();
+        List<AssemblyData> lidas = ler(p, null, null, leitura);
+
+        assertEquals(List.of(
+                new AssemblyData(LocalDate.of(2025, 11, 28), 6, null, null),
+                new AssemblyData(LocalDate.of(2026, 4, 26), 7, 9, "G1")), lidas);
+        assertEquals(10, leitura.linhas());
+        assertEquals(2, leitura.aceitas());
+        assertEquals(5, leitura.totalRejeitadas());
+        List<AssemblyReader.Rejeitada> r = leitura.rejeitadas();
+        assertEquals(List.of(5L, 6L, 7L, 8L, 9L), r.stream().map(AssemblyReader.Rejeitada::linha).toList());
+        assertEquals("data não está em yyyyMMdd", r.get(0).motivo());
+        assertEquals("data não está em yyyyMMdd", r.get(1).motivo());
+        assertEquals("esperado data;sorteada;vencedora", r.get(2).motivo());
+        assertEquals("cota não numérica", r.get(3).motivo());
+        assertEquals("colunas demais", r.get(4).motivo());
+        assertEquals("20260226;13a;162", r.get(3).conteudo());
+    }
+
+    @Test
+    void filtrosDeDataEGrupoNaLeitura() throws IOException {
+        Path p = arquivo(
+                "20251027;1;;G1",
+                "20251028;2;;G1",
+                "20251128;3;;G2",
+                "20251228;4;;",
+                "20260128;5;;G1");
+        AssemblyReader.Leitura leitura = new AssemblyReader.Leitura();
+        List<AssemblyData> lidas = ler(p, LocalDate.of(2025, 10, 28), "G1", leitura);
+
+        // a data da entrada conta; linhas sem grupo passam por qualquer filtro de grupo
+        assertEquals(List.of(2, 4, 5), lidas.stream().map(AssemblyData::sorteada).toList());
+        assertEquals(1, leitura.anteriores());
+        assertEquals(1, leitura.outrosGrupos());
+        assertEquals(0, leitura.totalRejeitadas());
+
+        AssemblyReader.Leitura semFiltro = new AssemblyReader.Leitura();
+        assertEquals(5, ler(p, null, "", semFiltro).size());
+        assertEquals(0, semFiltro.anteriores() + semFiltro.outrosGrupos());
+    }
+
+    @Test
+    void guardaSoAsPrimeirasRejeicoes() throws IOException {
+        String[] linhas = new String[AssemblyReader.MAX_REJEITADAS_GUARDADAS + 20];
+        for (int i = 0; i < linhas.length; i++) linhas[i] = "x;" + i;
+        AssemblyReader.Leitura leitura = new AssemblyReader.Leitura();
+        assertEquals(List.of(), AssemblyReader.lerTodas(arquivo(linhas), leitura));
+        assertEquals(linhas.length, leitura.totalRejeitadas());
+        assertEquals(AssemblyReader.MAX_REJEITADAS_GUARDADAS, leitura.rejeitadas().size());
+        assertNull(leitura.rejeitadas().stream().filter(r -> r.linha() > AssemblyReader.MAX_REJEITADAS_GUARDADAS)
+                .findFirst().orElse(null));
+    }
+}
@@ -0,0 +1,88 @@
+package com.br.code.util;
+
+import com.br.code.config.ConfigSnapshot;
+import com.br.code.model.ContemplationResult;
+import com.br.code.model.Draw;
+import com.br.code.service.CalculationService;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link ContemplationMasks} confere as mesmas cotas que
+ * {@link CalculationService#checkContemplation(short[])} faz uma a uma.
+ */
+class ContemplationMasksTest {
+
+    /** Prêmios escolhidos para centenas nas bordas: 000, 001, 998, 999 e vizinhas entre si. */
+    private static final List<Draw> SORTEIOS = List.of(
+            Draw.de(1, 20_000, new int[]{0, 999_999, 123_456, 500_501, 64_127}),
+            Draw.de(2, 20_007, new int[]{1_998, 2_001, 998_123, 63_064, 127_128}),
+            Draw.de(3, 20_014, new int[]{74_074, 76_072, 100_990, 500, 777}),
+            Draw.de(4, 20_021, new int[]{11_111, 22_222, 33_333}) // só três prêmios
+    );
+
+    private static CalculationService paraCota(int cota) {
+        Properties p = new Properties();
+        p.setProperty("user.consortium.number", Integer.toString(cota));
+        return new CalculationService(ConfigSnapshot.de(p));
+    }
+
+    @Test
+    void mesmaConferenciaQueCotaACota() {
+        ContemplationMasks mascaras = ContemplationMasks.de(SORTEIOS);
+        int[] todas = IntStream.range(0, ContemplationMasks.CENTENAS).toArray();
+        ContemplationMasks.Resultado lote = mascaras.avaliar(todas);
+        for (int cota = 0; cota < ContemplationMasks.CENTENAS; cota++) {
+            CalculationService calc = paraCota(cota);
+            for (int s = 0; s < SORTEIOS.size(); s++) {
+                ContemplationResult r = calc.checkContemplation(SORTEIOS.get(s).centenas());
+                String onde = "cota " + cota + ", sorteio " + s;
+                assertEquals(r.isDirect(), mascaras.direta(s, cota), onde);
+                assertEquals(r.isAdjusted(), mascaras.ajuste(s, cota), onde);
+                assertEquals(r.isDirect(), lote.direta(s, cota), onde);
+                assertEquals(r.isAdjusted(), lote.ajuste(s, cota), onde);
+            }
+        }
+    }
+
+    @Test
+    void ajusteNaoDaVoltaEntre999E000() {
+        ContemplationMasks m = ContemplationMasks.de(SORTEIOS);
+        // sorteio 0: centenas 000 e 999 sorteadas
+        assertTrue(m.direta(0, 0));
+        assertTrue(m.direta(0, 999));
+        assertTrue(m.ajuste(0, 1));
+        assertTrue(m.ajuste(0, 2));
+        assertTrue(m.ajuste(0, 997));
+        assertTrue(m.ajuste(0, 998));
+        assertFalse(m.ajuste(0, 0), "sorteada não conta como ajuste");
+        // sorteio 1: 001 e 998 sorteadas; 000 e 999 só por ajuste, sem volta
+        assertTrue(m.ajuste(1, 0));
+        assertTrue(m.ajuste(1, 999));
+        assertFalse(m.contemplada(1, 5));
+        assertFalse(m.contemplada(1, 995));
+        // sorteio 2: 000 sorteada, sem vizinhas no fim da faixa
+        assertTrue(m.direta(2, 0));
+        assertFalse(m.contemplada(2, 998));
+        assertFalse(m.contemplada(2, 999));
+    }
+
+    @Test
+    void loteSoDevolveAsCotasConsultadas() {
+        ContemplationMasks.Resultado r = ContemplationMasks.de(SORTEIOS).avaliar(new int[]{74, 999, -1, 1000});
+        assertArrayEquals(new int[]{74}, r.cotasDiretas(2));
+        assertArrayEquals(new int[]{999}, r.cotasDiretas(0));
+        assertArrayEquals(new int[]{999}, r.cotasAjuste(1));
+        assertArrayEquals(new int[]{}, r.cotasAjuste(2)); // 076 e 072 não estão na consulta
+        assertEquals(1, r.totalDiretas(74));
+        assertEquals(1, r.totalAjustes(999));
+    }
+}
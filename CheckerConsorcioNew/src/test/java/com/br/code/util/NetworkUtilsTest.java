@@ -0,0 +1,148 @@
+package com.br.code.util;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link NetworkUtils} contra um {@link HttpServer} local: gzip, 304,
+ * novas tentativas com espera e erros que não se repetem.
+ */
+class NetworkUtilsTest {
+
+    private HttpServer servidor;
+    private String base;
+
+    @BeforeEach
+    void subir() throws IOException {
+        servidor = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        servidor.start();
+        base = "http://127.0.0.1:" + servidor.getAddress().getPort();
+        NetworkUtils.setHttpClient(HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(2))
+                .build());
+    }
+
+    @AfterEach
+    void derrubar() {
+        servidor.stop(0);
+    }
+
+    private static void responder(HttpExchange t, int status, byte[] corpo) throws IOException {
+        t.sendResponseHeaders(status, corpo == null ? -1 : corpo.length);
+        if (corpo != null) {
+            try (OutputStream out = t.getResponseBody()) {
+                out.write(corpo);
+            }
+        }
+        t.close();
+    }
+
+    @Test
+    void corpoGzipEhDescompactado() throws Exception {
+        servidor.createContext("/gzip", t -> {
+            ByteArrayOutputStream buf = new ByteArrayOutputStream();
+            try (GZIPOutputStream gz = new GZIPOutputStream(buf)) {
+                gz.write("{\"concurso\":5900}".getBytes(StandardCharsets.UTF_8));
+            }
+            t.getResponseHeaders().add("Content-Encoding", "gzip");
+            responder(t, 200, buf.toByteArray());
+        });
+        assertEquals("{\"concurso\":5900}", NetworkUtils.getLotteryResults(base + "/gzip"));
+    }
+
+    @Test
+    void naoModificadoDevolveCorpoEmCache() throws Exception {
+        List<String> ifNoneMatch = new CopyOnWriteArrayList<>();
+        servidor.createContext("/latest", t -> {
+            String condicao = t.getRequestHeaders().getFirst("If-None-Match");
+            ifNoneMatch.add(String.valueOf(condicao));
+            if ("\"v1\"".equals(condicao)) {
+                responder(t, 304, null);
+                return;
+            }
+            t.getResponseHeaders().add("ETag", "\"v1\"");
+            responder(t, 200, "primeiro".getBytes(StandardCharsets.UTF_8));
+        });
+        String url = base + "/latest";
+        String corpo = NetworkUtils.getLotteryResultsAsync(url, null).join();
+        assertEquals("primeiro", corpo);
+        assertEquals("primeiro", NetworkUtils.getLotteryResultsAsync(url, corpo).join());
+        assertEquals(List.of("null", "\"v1\""), ifNoneMatch);
+    }
+
+    @Test
+    void getSemCacheNaoEnviaValidadores() throws Exception {
+        List<String> ifNoneMatch = new CopyOnWriteArrayList<>();
+        servidor.createContext("/5900", t -> {
+            ifNoneMatch.add(String.valueOf(t.getRequestHeaders().getFirst("If-None-Match")));
+            t.getResponseHeaders().add("ETag", "\"c\"");
+            responder(t, 200, "c".getBytes(StandardCharsets.UTF_8));
+        });
+        NetworkUtils.getLotteryResults(base + "/5900");
+        NetworkUtils.getLotteryResultsAsync(base + "/5900", "c").join();
+        assertEquals(List.of("null", "null"), ifNoneMatch);
+    }
+
+    @Test
+    void erro5xxE429SaoRepetidosComEspera() throws Exception {
+        List<Long> chegadas = new CopyOnWriteArrayList<>();
+        AtomicInteger pedidos = new AtomicInteger();
+        servidor.createContext("/instavel", t -> {
+            chegadas.add(System.nanoTime());
+            switch (pedidos.incrementAndGet()) {
+                case 1 -> responder(t, 503, null);
+                case 2 -> responder(t, 429, null);
+                default -> responder(t, 200, "ok".getBytes(StandardCharsets.UTF_8));
+            }
+        });
+        assertEquals("ok", NetworkUtils.getLotteryResults(base + "/instavel"));
+        assertEquals(3, pedidos.get());
+        List<Long> esperasMs = new ArrayList<>();
+        for (int i = 1; i < chegadas.size(); i++) esperasMs.add((chegadas.get(i) - chegadas.get(i - 1)) / 1_000_000);
+        assertTrue(esperasMs.get(0) >= 950, "primeira espera " + esperasMs.get(0) + " ms");
+        assertTrue(esperasMs.get(1) >= 1950, "segunda espera " + esperasMs.get(1) + " ms");
+    }
+
+    @Test
+    void erro404VoltaNullSemRepetir() throws Exception {
+        AtomicInteger pedidos = new AtomicInteger();
+        servidor.createContext("/9999", t -> {
+            pedidos.incrementAndGet();
+            responder(t, 404, null);
+        });
+        assertNull(NetworkUtils.getLotteryResults(base + "/9999"));
+        assertEquals(1, pedidos.get());
+    }
+
+    @Test
+    void erroDeRedeViraIOException() throws Exception {
+        int porta;
+        try (ServerSocket livre = new ServerSocket(0)) {
+            porta = livre.getLocalPort();
+        }
+        assertThrows(IOException.class, () -> NetworkUtils.getLotteryResults("http://127.0.0.1:" + porta + "/x"));
+    }
+}
@@ -14,10 +14,20 @@ import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.zip.CRC32;
 
 /**
  * Análise estatística da Loteria Federal com exportação Excel + CSV + gráfico Top20
@@ -32,7 +42,17 @@ public class FederalAnalysis {
             DateTimeFormatter.ofPattern("dd-MM-yyyy")
     };
 
-    private record Draw(LocalDate date, List<String> premios) {}
+    private record Draw(int concurso, LocalDate date, List<String> premios) {}
+
+    /*
+     * Store binária compartilhada com o CheckerConsorcioNew (BinaryDrawStore):
+     * cabeçalho de 16 bytes (magic "FEDR", versão, tamanho do registro,
+     * quantidade, CRC32) e registros de 28 bytes (concurso, epochDay, 5 prêmios).
+     */
+    private static final int STORE_MAGIC = 0x46454452;
+    private static final short STORE_VERSAO = 1;
+    private static final int STORE_CABECALHO = 16;
+    private static final int STORE_REGISTRO = 28;
 
     private static LocalDate parseDate(String s) {
         for (DateTimeFormatter fmt : DATE_FORMATS) {
@@ -43,6 +63,97 @@ public class FederalAnalysis {
         return null;
     }
 
+    /** Mapeia a store e confere cabeçalho e CRC; devolve só a região dos registros. */
+    private static ByteBuffer mapStore(FileChannel ch, Path path) throws IOException {
+        MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+        if (ch.size() < STORE_CABECALHO || buf.getInt(0) != STORE_MAGIC
+                || buf.getShort(4) != STORE_VERSAO || buf.getShort(6) != STORE_REGISTRO) {
+            throw new IOException(path + " não é uma store binária de sorteios");
+        }
+        int n = buf.getInt(8);
+        if (n < 0 || STORE_CABECALHO + (long) n * STORE_REGISTRO > ch.size()) {
+            throw new IOException(path + ": arquivo truncado");
+        }
+        ByteBuffer registros = buf.slice(STORE_CABECALHO, n * STORE_REGISTRO);
+        CRC32 crc = new CRC32();
+        crc.update(registros.duplicate());
+        if ((int) crc.getValue() != buf.getInt(12)) {
+            throw new IOException(path + ": CRC32 não confere");
+        }
+        return registros;
+    }
+
+    /** Lê a store binária por {@link MappedByteBuffer}, sem parse de JSON. */
+    private static List<Draw> readStore(Path path, LocalDate from, LocalDate to) throws IOException {
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buf = mapStore(ch, path);
+            long de = from.toEpochDay(), ate = to.toEpochDay();
+            List<Draw> draws = new ArrayList<>();
+            for (int pos = 0; pos < buf.limit(); pos += STORE_REGISTRO) {
+                long epochDay = buf.getInt(pos + 4);
+                if (epochDay < de || epochDay > ate) continue;
+                List<String> premios = new ArrayList<>(5);
+                for (int i = 0; i < 5; i++) {
+                    int p = buf.getInt(pos + 8 + 4 * i);
+                    if (p >= 0) premios.add(String.format("%06d", p));
+                }
+                if (premios.size() == 5) draws.add(new Draw(buf.getInt(pos), LocalDate.ofEpochDay(epochDay), premios));
+            }
+            draws.sort(Comparator.comparing(Draw::date));
+            return draws;
+        }
+    }
+
+    /**
+     * Acrescenta os sorteios baixados à store, por número de concurso: o que já
+     * está gravado (inclusive concursos fora da janela baixada, ou a store
+     * inteira do checker) é mantido. Sorteios sem número de concurso ficam de
+     * fora. Um arquivo que não é uma store válida não é sobrescrito. A gravação
+     * vai para um temporário e substitui a store com um move atômico, como no
+     * {@code BinaryDrawStore.substituir} do checker.
+     * <p>
+     * A janela baixada aqui começa em 2025, então a store criada ou estendida
+     * pode ter buracos. O checker confere que a store é contígua a partir do
+     * concurso 1 e, se não for, a reconstrói com o histórico completo.
+     */
+    private static void writeStore(Path path, List<Draw> draws) throws IOException {
+        TreeMap<Integer, ByteBuffer> porConcurso = new TreeMap<>();
+        if (Files.exists(path)) {
+            try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+                ByteBuffer existentes = mapStore(ch, path);
+                for (int pos = 0; pos < existentes.limit(); pos += STORE_REGISTRO) {
+                    ByteBuffer r = ByteBuffer.allocate(STORE_REGISTRO).put(existentes.slice(pos, STORE_REGISTRO));
+                    porConcurso.put(existentes.getInt(pos), r.flip());
+                }
+            }
+        }
+        int antes = porConcurso.size();
+        for (Draw d : draws) {
+            if (d.concurso() <= 0) continue;
+            ByteBuffer r = ByteBuffer.allocate(STORE_REGISTRO)
+                    .putInt(d.concurso()).putInt((int) d.date().toEpochDay());
+            for (String p : d.premios()) r.putInt(Integer.parseInt(p));
+            porConcurso.put(d.concurso(), r.flip());
+        }
+
+        ByteBuffer registros = ByteBuffer.allocate(porConcurso.size() * STORE_REGISTRO);
+        for (ByteBuffer r : porConcurso.values()) registros.put(r);
+        registros.flip();
+        CRC32 crc = new CRC32();
+        crc.update(registros.duplicate());
+        ByteBuffer cab = ByteBuffer.allocate(STORE_CABECALHO)
+                .putInt(STORE_MAGIC).putShort(STORE_VERSAO).putShort((short) STORE_REGISTRO)
+                .putInt(porConcurso.size()).putInt((int) crc.getValue());
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ch.write(new ByteBuffer[]{cab.flip(), registros});
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        System.out.println("Store binária gravada em: " + path + " (" + porConcurso.size() + " sorteios, +"
+                + (porConcurso.size() - antes) + " novos)");
+    }
+
     private static List<Draw> fetchDraws(LocalDate from, LocalDate to) throws IOException, InterruptedException {
         HttpClient client = HttpClient.newHttpClient();
         HttpRequest request = HttpRequest.newBuilder()
@@ -116,7 +227,7 @@ public class FederalAnalysis {
             }
 
             if (premios.size() >= 5) {
-                draws.add(new Draw(date, premios.subList(0, 5)));
+                draws.add(new Draw(obj.optInt("concurso", -1), date, premios.subList(0, 5)));
             }
         }
 
@@ -270,16 +381,32 @@ public class FederalAnalysis {
         String saveXlsx = "resultados.xlsx";
         LocalDate from = LocalDate.of(2025, 1, 1);
         LocalDate to = LocalDate.now();
+        Path store = null;
 
         for (int i = 0; i < args.length; i++) {
             switch (args[i]) {
                 case "--target" -> target = args[++i];
                 case "--save-xlsx" -> saveXlsx = args[++i];
+                case "--store" -> store = Paths.get(args[++i]);
             }
         }
 
         try {
-            List<Draw> draws = fetchDraws(from, to);
+            List<Draw> draws;
+            // store de menos de 24h evita o download e o parse do JSON; também aceita a store do checker
+            if (store != null && Files.exists(store)
+                    && Files.getLastModifiedTime(store).toInstant().isAfter(Instant.now().minus(Duration.ofHours(24)))) {
+                draws = readStore(store, from, to);
+            } else {
+                draws = fetchDraws(from, to);
+                if (store != null) {
+                    try {
+                        writeStore(store, draws);
+                    } catch (IOException e) {
+                        System.err.println("Store não gravada: " + e.getMessage());
+                    }
+                }
+            }
             if (draws.isEmpty()) {
                 System.out.println("Nenhum sorteio encontrado.");
                 return;